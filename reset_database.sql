@@ -2,6 +2,11 @@
 -- Run this in your MySQL database to fix all issues
 
 -- 1. Drop all tables (in correct order to avoid foreign key issues)
+DROP TABLE IF EXISTS user_changes;
+DROP TABLE IF EXISTS job_leases;
+DROP TABLE IF EXISTS transaction_search_grams;
+DROP TABLE IF EXISTS import_jobs;
+DROP TABLE IF EXISTS transaction_rollups;
 DROP TABLE IF EXISTS spending_alerts;
 DROP TABLE IF EXISTS savings_goals;
 DROP TABLE IF EXISTS recurring_transactions;
@@ -11,6 +16,7 @@ DROP TABLE IF EXISTS income;
 DROP TABLE IF EXISTS transactions;
 DROP TABLE IF EXISTS categories;
 DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS id_generators;
 
 -- 2. Create users table (matches User.java entity)
 CREATE TABLE users (
@@ -33,8 +39,22 @@ CREATE TABLE categories (
 );
 
 -- 4. Create transactions table (matches Transaction.java entity - SINGLE_TABLE inheritance)
+-- Ids come from the pooled "transactions" row in id_generators so inserts can be JDBC-batched.
+-- There is no AUTO_INCREMENT: anything inserting rows outside Hibernate must reserve its ids
+-- from id_generators too, or the next block Hibernate hands out will collide with them.
+CREATE TABLE id_generators (
+    generator_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+-- On an existing database, seed this a full block (allocationSize = 500) above the current
+-- maximum: the pooled optimizer treats a value V it reads as the top of its block and hands
+-- out V-499..V, so MAX(id) + 1 would reuse ids already taken.
+--   ALTER TABLE transactions MODIFY id BIGINT NOT NULL;
+--   INSERT INTO id_generators VALUES ('transactions', (SELECT COALESCE(MAX(id), 0) + 500 FROM transactions));
+INSERT INTO id_generators (generator_name, next_value) VALUES ('transactions', 1);
+
 CREATE TABLE transactions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     amount DOUBLE NOT NULL,
     description TEXT,
     date DATE NOT NULL,
@@ -58,13 +78,18 @@ CREATE TABLE income (
 );
 
 -- 7. Create spending_alerts table (matches SpendingAlert.java entity)
+-- alert_key is user:type:subject:period; generators upsert on it instead of inserting repeats.
+-- On an existing database:
+--   ALTER TABLE spending_alerts ADD COLUMN alert_key VARCHAR(191) NULL UNIQUE, ADD COLUMN updated_at TIMESTAMP NULL;
 CREATE TABLE spending_alerts (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    alert_key VARCHAR(191) UNIQUE,
     alert_type VARCHAR(255),
     message TEXT,
     threshold DOUBLE,
     current_value DOUBLE,
     created_at TIMESTAMP,
+    updated_at TIMESTAMP NULL,
     is_read BOOLEAN DEFAULT FALSE,
     category_id BIGINT,
     user_id BIGINT NOT NULL,
@@ -120,19 +145,99 @@ CREATE TABLE financial_insights (
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL
 );
 
--- 11. Create indexes for better performance
+-- 11. Create transaction_rollups table (matches TransactionRollup.java entity)
+-- Per-user monthly aggregates maintained on every transaction write; category_id 0 = uncategorized.
+-- Backfill an existing database with POST /api/rollups/rebuild per user, or:
+--   INSERT INTO transaction_rollups (user_id, month_start, category_id, transaction_type, total_amount, txn_count, min_amount, max_amount)
+--   SELECT user_id, DATE_SUB(date, INTERVAL DAYOFMONTH(date) - 1 DAY), COALESCE(category_id, 0), transaction_type,
+--          SUM(amount), COUNT(*), MIN(amount), MAX(amount)
+--   FROM transactions
+--   GROUP BY user_id, DATE_SUB(date, INTERVAL DAYOFMONTH(date) - 1 DAY), COALESCE(category_id, 0), transaction_type;
+CREATE TABLE transaction_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    category_id BIGINT NOT NULL DEFAULT 0,
+    transaction_type VARCHAR(31) NOT NULL,
+    total_amount DOUBLE NOT NULL DEFAULT 0.0,
+    txn_count BIGINT NOT NULL DEFAULT 0,
+    min_amount DOUBLE NOT NULL DEFAULT 0.0,
+    max_amount DOUBLE NOT NULL DEFAULT 0.0,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_rollup_bucket (user_id, month_start, category_id, transaction_type)
+);
+
+-- 12. Create import_jobs table (matches ImportJob.java entity)
+-- checkpoint_record is the last statement record whose chunk was committed.
+CREATE TABLE import_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    file_name VARCHAR(255),
+    format VARCHAR(255),
+    file_size BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(255),
+    records_read BIGINT NOT NULL DEFAULT 0,
+    imported BIGINT NOT NULL DEFAULT 0,
+    duplicates BIGINT NOT NULL DEFAULT 0,
+    rejected BIGINT NOT NULL DEFAULT 0,
+    checkpoint_record BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    user_id BIGINT NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- 13. Create transaction_search_grams table (maintained by TransactionSearchService, no entity)
+-- Per-user trigram index over transaction descriptions; words are indexed with a leading space.
+-- Backfill an existing database with POST /api/search/rebuild per user.
+CREATE TABLE transaction_search_grams (
+    user_id BIGINT NOT NULL,
+    gram VARCHAR(3) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, gram, transaction_id),
+    INDEX idx_search_grams_transaction (transaction_id),
+    FOREIGN KEY (transaction_id) REFERENCES transactions(id) ON DELETE CASCADE
+);
+
+-- 14. Create job_leases table (matches JobLease.java entity)
+-- One row per scheduled job run (and per user-id shard of a fanned-out run); a node owns
+-- a lease until expires_at, and completed_at marks work that must not run again.
+CREATE TABLE job_leases (
+    lease_name VARCHAR(191) PRIMARY KEY,
+    owner VARCHAR(191) NOT NULL,
+    acquired_at TIMESTAMP NULL,
+    expires_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL
+);
+
+-- 15. Create user_changes table (matches UserChange.java entity)
+-- Users whose transactions, categories or savings goals changed since the AI insight jobs
+-- last processed them. Mark every user once on an existing database so the first runs cover them:
+--   INSERT INTO user_changes (user_id, dirty_since, changed_at, version)
+--   SELECT id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1 FROM users;
+CREATE TABLE user_changes (
+    user_id BIGINT PRIMARY KEY,
+    dirty_since TIMESTAMP NULL,
+    changed_at TIMESTAMP NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- 16. Create indexes for better performance
 CREATE INDEX idx_transactions_user_date ON transactions(user_id, date);
+CREATE INDEX idx_transactions_user_amount ON transactions(user_id, amount);
 CREATE INDEX idx_transactions_category ON transactions(category_id);
 CREATE INDEX idx_categories_user ON categories(user_id);
 CREATE INDEX idx_spending_alerts_user ON spending_alerts(user_id);
 CREATE INDEX idx_savings_goals_user ON savings_goals(user_id);
 CREATE INDEX idx_recurring_transactions_user ON recurring_transactions(user_id);
-CREATE INDEX idx_financial_insights_user ON financial_insights(user_id);
+CREATE INDEX idx_financial_insights_user_type ON financial_insights(user_id, insight_type, calculated_at);
+CREATE INDEX idx_import_jobs_user_created ON import_jobs(user_id, created_at);
 
--- 12. Verify tables were created
+-- 17. Verify tables were created
 SHOW TABLES;
 
--- 13. Show table structures
+-- 18. Show table structures
 DESCRIBE users;
 DESCRIBE categories;
 DESCRIBE transactions;
@@ -141,4 +246,10 @@ DESCRIBE income;
 DESCRIBE spending_alerts;
 DESCRIBE savings_goals;
 DESCRIBE recurring_transactions;
-DESCRIBE financial_insights; 
\ No newline at end of file
+DESCRIBE financial_insights;
+DESCRIBE transaction_rollups;
+DESCRIBE import_jobs;
+DESCRIBE transaction_search_grams;
+DESCRIBE job_leases;
+DESCRIBE user_changes;
+DESCRIBE id_generators; 
\ No newline at end of file
@@ -1,11 +1,17 @@
 package personal_expense_tracker_com.example.personal_expense_tracker;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.io.IOException;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import personal_expense_tracker_com.example.personal_expense_tracker.config.AuthInterceptor;
 
 @Configuration
@@ -35,4 +41,28 @@ public class WebConfig {
             }
         };
     }
+
+    // Actuator endpoints have their own handler mapping, which MVC interceptors never see, so
+    // the same check runs as a filter there. Only /actuator/health stays open.
+    @Bean
+    public FilterRegistrationBean<Filter> actuatorAuthFilter() {
+        Filter filter = (request, response, chain) -> {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            boolean allowed;
+            try {
+                allowed = httpRequest.getRequestURI().equals("/actuator/health")
+                        || authInterceptor.preHandle(httpRequest, (HttpServletResponse) response, null);
+            } catch (IOException | ServletException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+            if (allowed) {
+                chain.doFilter(request, response);
+            }
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/actuator/*");
+        return registration;
+    }
 }
@@ -92,9 +92,7 @@ public class SpendingAlertController {
     @PostMapping("/generate/all")
     public ResponseEntity<Void> generateAllAlerts(HttpServletRequest request) {
         User currentUser = (User) request.getAttribute("currentUser");
-        spendingAlertService.generateBudgetAlerts(currentUser);
-        spendingAlertService.generateWeekendSpendingAlert(currentUser);
-        spendingAlertService.generateUnusualSpendingAlert(currentUser);
+        spendingAlertService.generateSpendingAlerts(currentUser);
         return ResponseEntity.ok().build();
     }
 } 
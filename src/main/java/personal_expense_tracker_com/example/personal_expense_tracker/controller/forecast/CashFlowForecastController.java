@@ -0,0 +1,42 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.controller.forecast;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.forecast.CashFlowForecast;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.forecast.CashFlowForecastService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.forecast.ForecastOccurrence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/forecast")
+public class CashFlowForecastController {
+
+    @Autowired
+    private CashFlowForecastService forecastService;
+
+    @GetMapping
+    public ResponseEntity<CashFlowForecast> getForecast(@RequestParam(defaultValue = "3") int months,
+                                                        HttpServletRequest request) {
+        try {
+            User currentUser = (User) request.getAttribute("currentUser");
+            return ResponseEntity.ok(forecastService.getForecast(months, currentUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<ForecastOccurrence>> getOccurrences(@RequestParam(defaultValue = "3") int months,
+                                                                   HttpServletRequest request) {
+        try {
+            User currentUser = (User) request.getAttribute("currentUser");
+            return ResponseEntity.ok(forecastService.getOccurrences(months, currentUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.controller.importer;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.ImportJob;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.importer.ImportJobRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.importer.StatementFormat;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.importer.StatementImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/imports")
+public class StatementImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementImportController.class);
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    // Multipart uploads are spooled to disk by the servlet container, so the file is read
+    // back as a stream rather than held in memory.
+    @PostMapping
+    public ResponseEntity<ImportJob> importStatement(@RequestParam("file") MultipartFile file,
+                                                     @RequestParam(required = false) String format,
+                                                     @RequestParam(required = false) Long resumeJobId,
+                                                     HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        try (InputStream input = file.getInputStream()) {
+            StatementFormat statementFormat = format != null
+                ? StatementFormat.valueOf(format.toUpperCase(Locale.ROOT))
+                : StatementFormat.fromFileName(file.getOriginalFilename());
+            ImportJob job = statementImportService.runImport(input, file.getOriginalFilename(), file.getSize(),
+                statementFormat, resumeJobId, currentUser);
+            return ResponseEntity.ok(job);
+        } catch (IllegalArgumentException e) {
+            logger.error("Statement import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            logger.error("Could not read uploaded statement: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJob>> getRecentImports(HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        return ResponseEntity.ok(importJobRepository.findTop20ByUserOrderByCreatedAtDesc(currentUser));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJob> getImport(@PathVariable Long id, HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        return importJobRepository.findByIdAndUser(id, currentUser)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
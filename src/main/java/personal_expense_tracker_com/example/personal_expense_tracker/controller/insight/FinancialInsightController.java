@@ -3,6 +3,7 @@ package personal_expense_tracker_com.example.personal_expense_tracker.controller
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.insight.FinancialInsightService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.insight.InsightSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,8 +23,12 @@ public class FinancialInsightController {
     public ResponseEntity<List<FinancialInsight>> getLatestInsights(
             @RequestParam(defaultValue = "10") int limit, HttpServletRequest request) {
         User currentUser = (User) request.getAttribute("currentUser");
-        List<FinancialInsight> insights = financialInsightService.getLatestInsights(limit, currentUser);
-        return ResponseEntity.ok(insights);
+        InsightSnapshot snapshot = financialInsightService.getLatestInsights(limit, currentUser);
+        // Clients poll again while a newer set is being generated
+        return ResponseEntity.ok()
+            .header("X-Insights-Stale", String.valueOf(snapshot.isStale()))
+            .header("X-Insights-Refreshing", String.valueOf(snapshot.isRefreshing()))
+            .body(snapshot.getInsights());
     }
 
     @GetMapping("/type/{insightType}")
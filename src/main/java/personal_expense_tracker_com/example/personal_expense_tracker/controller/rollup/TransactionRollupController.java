@@ -0,0 +1,32 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.controller.rollup;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.RollupVerification;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.TransactionRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/rollups")
+public class TransactionRollupController {
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild(HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        int buckets = rollupService.rebuild(currentUser);
+        return ResponseEntity.ok(Map.of("buckets", buckets));
+    }
+
+    @GetMapping("/verify")
+    public ResponseEntity<RollupVerification> verify(HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        return ResponseEntity.ok(rollupService.verify(currentUser));
+    }
+}
@@ -0,0 +1,40 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.controller.search;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchPage;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+public class TransactionSearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private TransactionSearchService searchService;
+
+    @GetMapping("/transactions")
+    public ResponseEntity<TransactionSearchPage> searchTransactions(@RequestParam String q,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                    HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchService.search(currentUser, q, page, size));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild(HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        int indexed = searchService.rebuild(currentUser);
+        return ResponseEntity.ok(Map.of("transactions", indexed));
+    }
+}
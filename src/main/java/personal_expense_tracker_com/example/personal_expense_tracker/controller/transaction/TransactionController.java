@@ -4,18 +4,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.category.CategoryService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.BatchIngestResult;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.MonthSummary;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionBatchService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionFilter;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionQueryService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionPage;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionService;
 import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/transactions")
@@ -24,40 +42,81 @@ public class TransactionController {
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
     private final TransactionService transactionService;
     private final CategoryService categoryService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionQueryService transactionQueryService;
+    private final TransactionSearchService transactionSearchService;
+    private final ObjectWriter transactionWriter;
 
     @Autowired
-    public TransactionController(TransactionService transactionService, CategoryService categoryService) {
+    public TransactionController(TransactionService transactionService, CategoryService categoryService,
+                                 TransactionBatchService transactionBatchService,
+                                 TransactionQueryService transactionQueryService,
+                                 TransactionSearchService transactionSearchService, ObjectMapper objectMapper) {
         this.transactionService = transactionService;
         this.categoryService = categoryService;
+        this.transactionBatchService = transactionBatchService;
+        this.transactionQueryService = transactionQueryService;
+        this.transactionSearchService = transactionSearchService;
+        // Let the generator buffer decide when to hit the socket instead of flushing per row
+        this.transactionWriter = objectMapper.writerFor(Transaction.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping
     public List<Transaction> getAllTransactions(HttpServletRequest request) {
         User currentUser = (User) request.getAttribute("currentUser");
-        logger.debug("Getting all transactions for user: {}", currentUser.getFirebaseUid());
-        
         List<Transaction> transactions = transactionService.findAllByUser(currentUser);
         logger.debug("Retrieved {} transactions for user: {}", transactions.size(), currentUser.getFirebaseUid());
-        
-        // Additional debug logging for category issues
-        for (Transaction transaction : transactions) {
-            try {
-                if (transaction.getCategory() != null) {
-                    logger.debug("Transaction {}: Category ID={}, Name={}", 
-                        transaction.getId(), 
-                        transaction.getCategory().getId(), 
-                        transaction.getCategory().getCategoryName());
-                } else {
-                    logger.warn("Transaction {}: Category is NULL", transaction.getId());
-                }
-            } catch (Exception e) {
-                logger.error("Error accessing category for transaction {}: {}", transaction.getId(), e.getMessage());
-            }
-        }
-        
         return transactions;
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPage> getTransactionPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit,
+            HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        try {
+            return ResponseEntity.ok(transactionService.findPageByUser(currentUser, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected transaction page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // One keyset-paginated query combining the filters of /by-date, /greater-than, /less-than,
+    // /by-category, /by-description and /order-by-amount
+    @GetMapping("/query")
+    public ResponseEntity<TransactionPage> queryTransactions(TransactionFilter filter, HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        try {
+            return ResponseEntity.ok(transactionQueryService.query(filter, currentUser));
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected transaction query: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Same JSON array as GET /transactions, written row by row as the result set is read
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamTransactions(HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = transactionWriter.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                transactionService.streamAllByUser(currentUser, transaction -> {
+                    try {
+                        transactionWriter.writeValue(generator, transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/monthly-balance")
     public ResponseEntity<BigDecimal> getNetBalanceThisMonth(HttpServletRequest request) {
         User currentUser = (User) request.getAttribute("currentUser");
@@ -65,6 +124,23 @@ public class TransactionController {
         return new ResponseEntity<>(netBalance, HttpStatus.OK);
     }
 
+    @GetMapping("/month-summary")
+    public ResponseEntity<MonthSummary> getMonthSummary(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        YearMonth period = YearMonth.now();
+        try {
+            if (year != null && month != null) {
+                period = YearMonth.of(year, month);
+            }
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(transactionService.getMonthSummary(period, currentUser));
+    }
+
     @GetMapping("/monthly-balances")
     public ResponseEntity<List<Map<String, Object>>> getMonthlyBalances(
         @RequestParam int year, HttpServletRequest request) {
@@ -103,10 +179,15 @@ public class TransactionController {
         return new ResponseEntity<>(transactions, HttpStatus.OK);
     }
 
+    /**
+     * @deprecated runs the same matching as /api/search/transactions but returns every match;
+     * use that endpoint, or /transactions/query?text=, to page through them.
+     */
+    @Deprecated
     @GetMapping("/by-description")
     public ResponseEntity<List<Transaction>> getTransactionsByDescription(@RequestParam String keyword, HttpServletRequest request) {
         User currentUser = (User) request.getAttribute("currentUser");
-        List<Transaction> transactions = transactionService.findByDescriptionContainingIgnoreCaseAndUser(keyword, currentUser);
+        List<Transaction> transactions = transactionSearchService.searchAll(currentUser, keyword);
         return new ResponseEntity<>(transactions, HttpStatus.OK);
     }
 
@@ -172,6 +253,19 @@ public class TransactionController {
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchIngestResult> createTransactions(@RequestBody List<Transaction> transactions, HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        logger.debug("Received batch of {} transactions", transactions.size());
+        try {
+            BatchIngestResult result = transactionBatchService.ingest(transactions, currentUser);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.error("Batch ingest rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Transaction> updateTransaction(@PathVariable Long id, @RequestBody Transaction updatedTransaction, HttpServletRequest request) {
         User currentUser = (User) request.getAttribute("currentUser");
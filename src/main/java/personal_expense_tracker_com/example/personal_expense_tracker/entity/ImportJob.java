@@ -0,0 +1,135 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Progress and checkpoint of one bank-statement import. Counters and checkpointRecord are
+ * committed together with each written chunk, so a failed import can be resumed by
+ * re-uploading the same file.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fileName;
+    private String format;
+    private long fileSize;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private long recordsRead;
+    private long imported;
+    private long duplicates;
+    private long rejected;
+    private long checkpointRecord;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    public ImportJob() {}
+
+    public ImportJob(String fileName, String format, long fileSize, User user) {
+        this.fileName = fileName;
+        this.format = format;
+        this.fileSize = fileSize;
+        this.user = user;
+        this.status = Status.RUNNING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getCheckpointRecord() {
+        return checkpointRecord;
+    }
+
+    /**
+     * Advances the checkpoint past a written chunk and adds its counts.
+     */
+    public void recordChunk(long lastRecord, long imported, long duplicates, long rejected) {
+        this.checkpointRecord = lastRecord;
+        this.recordsRead = lastRecord;
+        this.imported += imported;
+        this.duplicates += duplicates;
+        this.rejected += rejected;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
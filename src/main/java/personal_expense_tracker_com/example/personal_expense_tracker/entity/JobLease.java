@@ -0,0 +1,51 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Claim on one scheduled-job run, or on one user-range shard of it, shared by all app nodes.
+ * A lease is held until expiresAt and kept alive by its owner while work runs; once
+ * completedAt is set the run or shard is done and no node takes it again.
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    @Column(length = 191)
+    private String leaseName;
+
+    @Column(length = 191)
+    private String owner;
+
+    private LocalDateTime acquiredAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime completedAt;
+
+    public JobLease() {}
+
+    public String getLeaseName() {
+        return leaseName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDateTime getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -129,7 +129,10 @@ public class RecurringTransaction {
 
     // Method to calculate next due date based on recurrence pattern
     public LocalDate calculateNextDueDate() {
-        LocalDate current = this.nextDueDate;
+        return occurrenceAfter(this.nextDueDate);
+    }
+
+    public LocalDate occurrenceAfter(LocalDate current) {
         switch (this.recurrencePattern) {
             case DAILY:
                 return current.plusDays(1);
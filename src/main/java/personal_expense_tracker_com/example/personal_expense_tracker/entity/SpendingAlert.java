@@ -12,11 +12,17 @@ public class SpendingAlert {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // user:type:subject:period; one row per key, refreshed in place while the condition holds
+    @Column(unique = true, length = 191)
+    @JsonIgnore
+    private String alertKey;
+
     private String alertType;
     private String message;
     private double threshold;
     private double currentValue;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private boolean isRead = false;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,6 +61,10 @@ public class SpendingAlert {
         return id;
     }
 
+    public String getAlertKey() {
+        return alertKey;
+    }
+
     public String getAlertType() {
         return alertType;
     }
@@ -95,6 +105,10 @@ public class SpendingAlert {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public boolean isRead() {
         return isRead;
     }
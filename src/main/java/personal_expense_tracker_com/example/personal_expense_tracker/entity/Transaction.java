@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 
 @Entity
+@Table(name = "transactions")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "transaction_type", discriminatorType = DiscriminatorType.STRING)
 @JsonTypeInfo(
@@ -19,15 +20,26 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 })
 public abstract class Transaction {
 
+    // Pooled table generator instead of IDENTITY so Hibernate can batch inserts;
+    // one id_generators round trip hands out allocationSize ids.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_id_generator")
+    @TableGenerator(
+        name = "transaction_id_generator",
+        table = "id_generators",
+        pkColumnName = "generator_name",
+        valueColumnName = "next_value",
+        pkColumnValue = "transactions",
+        allocationSize = 500
+    )
     private Long id;
 
     private double amount;
     private String description;
     private LocalDate date;
     
-    @ManyToOne(fetch = FetchType.EAGER, optional = true)
+    // LAZY so reads that don't need the category skip it; list finders fetch it with an entity graph
+    @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "category_id", nullable = true)
     private Category category;
 
@@ -0,0 +1,83 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Per-user monthly aggregate of transactions for one category and type.
+ * Rows are maintained incrementally by TransactionRollupService; categoryId is 0 for uncategorized rows.
+ */
+@Entity
+@Table(
+    name = "transaction_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "unique_rollup_bucket",
+            columnNames = {"user_id", "month_start", "category_id", "transaction_type"}
+        )
+    }
+)
+public class TransactionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "category_id", nullable = false)
+    private long categoryId;
+
+    @Column(name = "transaction_type", nullable = false)
+    private String transactionType;
+
+    private double totalAmount;
+    private long txnCount;
+    private double minAmount;
+    private double maxAmount;
+
+    public TransactionRollup() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTxnCount() {
+        return txnCount;
+    }
+
+    public double getMinAmount() {
+        return minAmount;
+    }
+
+    public double getMaxAmount() {
+        return maxAmount;
+    }
+}
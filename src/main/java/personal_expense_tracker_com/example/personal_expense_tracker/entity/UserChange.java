@@ -0,0 +1,39 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marks a user whose transactions, categories or goals changed since the AI insight jobs last
+ * processed them. dirtySince is the first unprocessed write, changedAt the latest one, and
+ * version counts writes so a job only clears the mark if nothing changed while it ran.
+ */
+@Entity
+@Table(name = "user_changes")
+public class UserChange {
+
+    @Id
+    private Long userId;
+
+    private LocalDateTime dirtySince;
+    private LocalDateTime changedAt;
+    private long version;
+
+    public UserChange() {}
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDirtySince() {
+        return dirtySince;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
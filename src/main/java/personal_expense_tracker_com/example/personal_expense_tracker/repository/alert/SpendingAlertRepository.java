@@ -3,11 +3,14 @@ package personal_expense_tracker_com.example.personal_expense_tracker.repository
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.SpendingAlert;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,4 +41,31 @@ public interface SpendingAlertRepository extends JpaRepository<SpendingAlert, Lo
     
     @Query("SELECT COUNT(sa) FROM SpendingAlert sa WHERE sa.isRead = false")
     long countUnreadAlerts();
+
+    // (id, alertType, last refreshed) rows for applying retention policies
+    @Query("SELECT sa.id, sa.alertType, COALESCE(sa.updatedAt, sa.createdAt) FROM SpendingAlert sa WHERE sa.user.id = :userId")
+    List<Object[]> findRetentionRowsForUser(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SpendingAlert sa WHERE sa.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SpendingAlert sa WHERE sa.alertKey IN :alertKeys")
+    int deleteByAlertKeyIn(@Param("alertKeys") Collection<String> alertKeys);
+
+    // A repeat of an existing alert key refreshes its figures; created_at and is_read are kept
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO spending_alerts (alert_key, alert_type, message, threshold, current_value, created_at, updated_at, is_read, category_id, user_id)
+        VALUES (:alertKey, :alertType, :message, :threshold, :currentValue, :now, :now, FALSE, :categoryId, :userId)
+        ON DUPLICATE KEY UPDATE message = VALUES(message), threshold = VALUES(threshold),
+                                current_value = VALUES(current_value), updated_at = VALUES(updated_at)
+    """, nativeQuery = true)
+    int upsert(@Param("alertKey") String alertKey, @Param("alertType") String alertType, @Param("message") String message,
+               @Param("threshold") double threshold, @Param("currentValue") double currentValue,
+               @Param("categoryId") Long categoryId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
 } 
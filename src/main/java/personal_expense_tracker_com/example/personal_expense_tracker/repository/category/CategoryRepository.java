@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     List<Category> findByCategoryNameAndUser(String categoryName, User user);
 
+    List<Category> findByIdInAndUser(Collection<Long> ids, User user);
+
     @Query("SELECT c FROM Category c WHERE c.categoryName = :categoryName")
     Optional<Category> findByCategoryName(@Param("categoryName") String categoryName);
 
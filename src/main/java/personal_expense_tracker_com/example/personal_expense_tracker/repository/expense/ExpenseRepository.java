@@ -1,4 +1,5 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.repository.expense;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,28 +14,41 @@ import java.util.Optional;
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
+    // Category is LAZY on the entity; every finder that returns rows fetches it in the same statement
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Expense> findAll();
+
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByUser(User user);
     
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByUserOrderByDateDesc(User user);
 
     @Query("SELECT e FROM Expense e WHERE e.id = :id AND e.user = :user")
+    @EntityGraph(attributePaths = "category")
     Optional<Expense> findByIdAndUser(@Param("id") Long id, @Param("user") User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByCategoryCategoryNameAndUser(String categoryName, User user);
 
     @Query("SELECT e FROM Expense e WHERE e.category.categoryName = :categoryName")
+    @EntityGraph(attributePaths = "category")
     List<Expense> findExpensesByCategoryName(@Param("categoryName") String categoryName);
 
-    List<Expense> findByDescriptionContainingAndUser(String keyword, User user);
-
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByUserOrderByDateAsc(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByDateBetweenAndUser(LocalDate start, LocalDate end, User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByDateBetween(LocalDate start, LocalDate end);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByAmountGreaterThanAndUser(Double amount, User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findTop5ByUserOrderByDateDesc(User user);
 
     Long countByCategoryCategoryNameAndUser(String name, User user);
@@ -46,9 +60,11 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     Double getTotalExpenses();
     
     @Query("SELECT e FROM Expense e WHERE e.category.id = :categoryId AND e.user = :user")
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByCategoryIdAndUser(@Param("categoryId") Long categoryId, @Param("user") User user);
     
     @Query("SELECT e FROM Expense e WHERE e.category.id = :categoryId")
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByCategoryId(@Param("categoryId") Long categoryId);
     
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.category.id = :categoryId AND e.user = :user")
@@ -57,11 +73,14 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.date BETWEEN :startDate AND :endDate AND e.user = :user")
     Double getTotalExpensesByDateRangeForUser(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("user") User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByAmountGreaterThan(Double amount);
     
+    @EntityGraph(attributePaths = "category")
     List<Expense> findTop5ByOrderByDateDesc();
 
     @Query("SELECT e FROM Expense e WHERE e.category.id = :categoryId AND e.date BETWEEN :startDate AND :endDate AND e.user = :user")
+    @EntityGraph(attributePaths = "category")
     List<Expense> findByCategoryIdAndDateBetweenAndUser(@Param("categoryId") Long categoryId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("user") User user);
 }
 
@@ -0,0 +1,17 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.repository.importer;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.ImportJob;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndUser(Long id, User user);
+
+    List<ImportJob> findTop20ByUserOrderByCreatedAtDesc(User user);
+}
@@ -1,4 +1,5 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.repository.income;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,28 +13,41 @@ import java.util.Optional;
 @Repository
 public interface IncomeRepository extends JpaRepository<Income, Long> {
 
+    // Category is LAZY on the entity; every finder that returns rows fetches it in the same statement
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Income> findAll();
+
+    @EntityGraph(attributePaths = "category")
     List<Income> findByUser(User user);
     
+    @EntityGraph(attributePaths = "category")
     List<Income> findByUserOrderByDateDesc(User user);
 
     @Query("SELECT i FROM Income i WHERE i.id = :id AND i.user = :user")
+    @EntityGraph(attributePaths = "category")
     Optional<Income> findByIdAndUser(@Param("id") Long id, @Param("user") User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Income> findByCategoryCategoryNameAndUser(String categoryName, User user);
 
     @Query("SELECT i FROM Income i WHERE i.category.categoryName = :categoryName")
+    @EntityGraph(attributePaths = "category")
     List<Income> findIncomesByCategoryName(@Param("categoryName") String categoryName);
 
-    List<Income> findByDescriptionContainingAndUser(String keyword, User user);
-
+    @EntityGraph(attributePaths = "category")
     List<Income> findByUserOrderByDateAsc(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Income> findByDateBetweenAndUser(LocalDate start, LocalDate end, User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Income> findByDateBetween(LocalDate start, LocalDate end);
 
+    @EntityGraph(attributePaths = "category")
     List<Income> findByAmountGreaterThanAndUser(Double amount, User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Income> findTop5ByUserOrderByDateDesc(User user);
 
     Long countByCategoryCategoryNameAndUser(String name, User user);
@@ -47,6 +61,7 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
     void deleteIncomeById(Long id);
     
     @Query("SELECT i FROM Income i WHERE i.category.id = :categoryId AND i.user = :user")
+    @EntityGraph(attributePaths = "category")
     List<Income> findByCategoryIdAndUser(@Param("categoryId") Long categoryId, @Param("user") User user);
     
     @Query("SELECT SUM(i.amount) FROM Income i WHERE i.category.id = :categoryId AND i.user = :user")
@@ -55,6 +70,7 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
     @Query("SELECT SUM(i.amount) FROM Income i WHERE i.date BETWEEN :startDate AND :endDate AND i.user = :user")
     Double getTotalIncomeByDateRangeForUser(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("user") User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Income> findTop5ByOrderByDateDesc();
 
 }
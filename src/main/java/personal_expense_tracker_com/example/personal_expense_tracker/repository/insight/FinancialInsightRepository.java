@@ -3,11 +3,14 @@ package personal_expense_tracker_com.example.personal_expense_tracker.repository
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -40,4 +43,13 @@ public interface FinancialInsightRepository extends JpaRepository<FinancialInsig
     
     @Query("SELECT fi FROM FinancialInsight fi ORDER BY fi.calculatedAt DESC LIMIT :limit")
     List<FinancialInsight> findLatestInsights(@Param("limit") int limit);
+
+    // (id, insightType, calculatedAt) rows for applying retention policies
+    @Query("SELECT fi.id, fi.insightType, fi.calculatedAt FROM FinancialInsight fi WHERE fi.user.id = :userId")
+    List<Object[]> findRetentionRowsForUser(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FinancialInsight fi WHERE fi.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 } 
@@ -0,0 +1,69 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.repository.job;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Lease statements compare against the database clock, so nodes with drifting clocks still
+ * agree on when a lease has expired.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    List<JobLease> findByLeaseNameStartingWith(String prefix);
+
+    // Creates the row already expired, so the claim below decides who gets it
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO job_leases (lease_name, owner, acquired_at, expires_at)
+        VALUES (:name, '', CURRENT_TIMESTAMP, TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP))
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE job_leases
+        SET owner = :owner, acquired_at = CURRENT_TIMESTAMP, expires_at = TIMESTAMPADD(SECOND, :ttlSeconds, CURRENT_TIMESTAMP)
+        WHERE lease_name = :name AND completed_at IS NULL
+          AND (owner = :owner OR expires_at < CURRENT_TIMESTAMP)
+    """, nativeQuery = true)
+    int claim(@Param("name") String name, @Param("owner") String owner, @Param("ttlSeconds") long ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE job_leases SET expires_at = TIMESTAMPADD(SECOND, :ttlSeconds, CURRENT_TIMESTAMP)
+        WHERE lease_name = :name AND owner = :owner AND completed_at IS NULL
+    """, nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("ttlSeconds") long ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE job_leases SET completed_at = CURRENT_TIMESTAMP, expires_at = CURRENT_TIMESTAMP
+        WHERE lease_name = :name AND owner = :owner
+    """, nativeQuery = true)
+    int complete(@Param("name") String name, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+        UPDATE job_leases SET expires_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP)
+        WHERE lease_name = :name AND owner = :owner AND completed_at IS NULL
+    """, nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM job_leases WHERE expires_at < TIMESTAMPADD(DAY, -:days, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int purgeOlderThanDays(@Param("days") int days);
+}
@@ -2,12 +2,15 @@ package personal_expense_tracker_com.example.personal_expense_tracker.repository
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -27,6 +30,18 @@ public interface RecurringTransactionRepository extends JpaRepository<RecurringT
     @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.nextDueDate <= :date AND rt.isActive = true")
     List<RecurringTransaction> findDueTransactions(@Param("date") LocalDate date);
     
+    // Keyset pages of due template ids, for processing in chunks
+    @Query("SELECT rt.id FROM RecurringTransaction rt WHERE rt.nextDueDate <= :date AND rt.isActive = true AND rt.id > :afterId ORDER BY rt.id")
+    List<Long> findDueIdsAfter(@Param("date") LocalDate date, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.id IN :ids AND rt.nextDueDate <= :date AND rt.isActive = true")
+    List<RecurringTransaction> findDueByIdIn(@Param("ids") Collection<Long> ids, @Param("date") LocalDate date);
+
+    // Moves the template on only if no other run has since, so each occurrence is materialized once
+    @Modifying
+    @Query("UPDATE RecurringTransaction rt SET rt.nextDueDate = :next WHERE rt.id = :id AND rt.nextDueDate = :expected")
+    int advanceNextDueDate(@Param("id") Long id, @Param("expected") LocalDate expected, @Param("next") LocalDate next);
+
     @Query("SELECT rt FROM RecurringTransaction rt WHERE rt.category.id = :categoryId AND rt.isActive = true AND rt.user = :user")
     List<RecurringTransaction> findByCategoryIdAndUser(@Param("categoryId") Long categoryId, @Param("user") User user);
     
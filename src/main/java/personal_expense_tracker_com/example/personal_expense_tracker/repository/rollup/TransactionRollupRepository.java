@@ -0,0 +1,150 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.repository.rollup;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.TransactionRollup;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+
+    @Query("SELECT r FROM TransactionRollup r WHERE r.user = :user ORDER BY r.monthStart, r.categoryId, r.transactionType")
+    List<TransactionRollup> findByUser(@Param("user") User user);
+
+    @Query("""
+        SELECT r.totalAmount
+        FROM TransactionRollup r
+        WHERE r.user.id = :userId AND r.monthStart = :monthStart
+          AND r.categoryId = :categoryId AND r.transactionType = :type
+    """)
+    Optional<Double> findBucketTotal(@Param("userId") Long userId,
+                                     @Param("monthStart") LocalDate monthStart,
+                                     @Param("categoryId") long categoryId,
+                                     @Param("type") String type);
+
+    // Each row is [transaction_type, total]
+    @Query("""
+        SELECT r.transactionType, SUM(r.totalAmount)
+        FROM TransactionRollup r
+        WHERE r.user = :user AND r.monthStart >= :from AND r.monthStart <= :to
+        GROUP BY r.transactionType
+    """)
+    List<Object[]> sumByTypeForMonths(@Param("user") User user,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    // Each row is [month_start, transaction_type, total]
+    @Query("""
+        SELECT r.monthStart, r.transactionType, SUM(r.totalAmount)
+        FROM TransactionRollup r
+        WHERE r.user = :user AND r.monthStart >= :from AND r.monthStart <= :to
+        GROUP BY r.monthStart, r.transactionType
+    """)
+    List<Object[]> sumByMonthAndTypeForMonths(@Param("user") User user,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_rollups
+            (user_id, month_start, category_id, transaction_type, total_amount, txn_count, min_amount, max_amount)
+        VALUES (:userId, :monthStart, :categoryId, :type, :amount, 1, :amount, :amount)
+        ON DUPLICATE KEY UPDATE
+            total_amount = total_amount + VALUES(total_amount),
+            txn_count = txn_count + 1,
+            min_amount = LEAST(min_amount, VALUES(min_amount)),
+            max_amount = GREATEST(max_amount, VALUES(max_amount))
+    """, nativeQuery = true)
+    void addToBucket(@Param("userId") Long userId,
+                     @Param("monthStart") LocalDate monthStart,
+                     @Param("categoryId") long categoryId,
+                     @Param("type") String type,
+                     @Param("amount") double amount);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_rollups
+            (user_id, month_start, category_id, transaction_type, total_amount, txn_count, min_amount, max_amount)
+        VALUES (:userId, :monthStart, :categoryId, :type, :total, :count, :min, :max)
+        ON DUPLICATE KEY UPDATE
+            total_amount = total_amount + VALUES(total_amount),
+            txn_count = txn_count + VALUES(txn_count),
+            min_amount = LEAST(min_amount, VALUES(min_amount)),
+            max_amount = GREATEST(max_amount, VALUES(max_amount))
+    """, nativeQuery = true)
+    void addAggregateToBucket(@Param("userId") Long userId,
+                              @Param("monthStart") LocalDate monthStart,
+                              @Param("categoryId") long categoryId,
+                              @Param("type") String type,
+                              @Param("total") double total,
+                              @Param("count") long count,
+                              @Param("min") double min,
+                              @Param("max") double max);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM transaction_rollups
+        WHERE user_id = :userId AND month_start = :monthStart
+          AND category_id = :categoryId AND transaction_type = :type
+    """, nativeQuery = true)
+    void deleteBucket(@Param("userId") Long userId,
+                      @Param("monthStart") LocalDate monthStart,
+                      @Param("categoryId") long categoryId,
+                      @Param("type") String type);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_rollups
+            (user_id, month_start, category_id, transaction_type, total_amount, txn_count, min_amount, max_amount)
+        SELECT t.user_id, :monthStart, COALESCE(t.category_id, 0), t.transaction_type,
+               SUM(t.amount), COUNT(*), MIN(t.amount), MAX(t.amount)
+        FROM transactions t
+        WHERE t.user_id = :userId
+          AND t.date >= :monthStart AND t.date < :monthEnd
+          AND COALESCE(t.category_id, 0) = :categoryId
+          AND t.transaction_type = :type
+        GROUP BY t.user_id, COALESCE(t.category_id, 0), t.transaction_type
+    """, nativeQuery = true)
+    void insertBucketFromTransactions(@Param("userId") Long userId,
+                                      @Param("monthStart") LocalDate monthStart,
+                                      @Param("monthEnd") LocalDate monthEnd,
+                                      @Param("categoryId") long categoryId,
+                                      @Param("type") String type);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // TIMESTAMPADD rather than DATE_SUB(... INTERVAL ...), which the H2 test database lacks
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_rollups
+            (user_id, month_start, category_id, transaction_type, total_amount, txn_count, min_amount, max_amount)
+        SELECT t.user_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), COALESCE(t.category_id, 0),
+               t.transaction_type, SUM(t.amount), COUNT(*), MIN(t.amount), MAX(t.amount)
+        FROM transactions t
+        WHERE t.user_id = :userId
+        GROUP BY t.user_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date),
+                 COALESCE(t.category_id, 0), t.transaction_type
+    """, nativeQuery = true)
+    int insertAllBucketsFromTransactions(@Param("userId") Long userId);
+
+    // Same grouping as insertAllBucketsFromTransactions; each row is
+    // [month_start, category_id, transaction_type, total, count, min, max]
+    @Query(value = """
+        SELECT TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), COALESCE(t.category_id, 0),
+               t.transaction_type, SUM(t.amount), COUNT(*), MIN(t.amount), MAX(t.amount)
+        FROM transactions t
+        WHERE t.user_id = :userId
+        GROUP BY TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date),
+                 COALESCE(t.category_id, 0), t.transaction_type
+    """, nativeQuery = true)
+    List<Object[]> aggregateTransactionsByBucket(@Param("userId") Long userId);
+}
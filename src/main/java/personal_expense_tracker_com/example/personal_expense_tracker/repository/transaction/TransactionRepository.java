@@ -1,12 +1,13 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,86 +19,153 @@ import personal_expense_tracker_com.example.personal_expense_tracker.entity.User
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    // Category is LAZY on the entity; every finder that returns rows fetches it in the same statement
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Transaction> findAll();
+
+    @EntityGraph(attributePaths = "category")
+    List<Transaction> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     Page<Transaction> findAll(Pageable pageable); 
 
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByDateBetween(LocalDate start, LocalDate end);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByDateBetweenAndUser(LocalDate start, LocalDate end, User user);
     
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByAmountGreaterThan(Double amount);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByAmountGreaterThanAndUser(Double amount, User user);
     
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByAmountLessThan(Double amount);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByAmountLessThanAndUser(Double amount, User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByCategoryCategoryName(String name);
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByCategoryCategoryNameAndUser(String name, User user);
 
-    List<Transaction> findByDescriptionContainingIgnoreCase(String keyword);
-    List<Transaction> findByDescriptionContainingIgnoreCaseAndUser(String keyword, User user);
-
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findAllByOrderByDateDesc();
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findAllByOrderByAmountDesc();
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findAllByUserOrderByAmountDesc(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUser(User user);
 
-    Optional<Transaction> findByIdAndUser(Long id, User user);
-
-    @Query("SELECT SUM(t.amount) FROM Transaction t")
-    Double getTotalAmount();
-
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user = :user")
-    Double getTotalAmountForUser(@Param("user") User user);
+    // Keyset pagination over (date DESC, id DESC); served by idx_transactions_user_date
+    // since InnoDB secondary indexes carry the primary key as a suffix.
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user ORDER BY t.date DESC, t.id DESC")
+    @EntityGraph(attributePaths = "category")
+    List<Transaction> findFirstPageByUser(@Param("user") User user, Pageable pageable);
 
     @Query("""
-        SELECT COALESCE(SUM(t.amount), 0)
-        FROM Transaction t
-        WHERE FUNCTION('YEAR', t.date) = FUNCTION('YEAR', CURRENT_DATE)
-          AND FUNCTION('MONTH', t.date) = FUNCTION('MONTH', CURRENT_DATE)
+        SELECT t FROM Transaction t
+        WHERE t.user = :user
+          AND (t.date < :date OR (t.date = :date AND t.id < :id))
+        ORDER BY t.date DESC, t.id DESC
     """)
-    BigDecimal getTotalIncomeThisMonth();
+    @EntityGraph(attributePaths = "category")
+    List<Transaction> findPageByUserAfter(@Param("user") User user,
+                                          @Param("date") LocalDate date,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
 
-    @Query("""
-        SELECT COALESCE(SUM(t.amount), 0)
-        FROM Transaction t
-        WHERE FUNCTION('YEAR', t.date) = FUNCTION('YEAR', CURRENT_DATE)
-          AND FUNCTION('MONTH', t.date) = FUNCTION('MONTH', CURRENT_DATE)
-          AND t.user = :user
-    """)
-    BigDecimal getTotalIncomeThisMonthForUser(@Param("user") User user);
+    @EntityGraph(attributePaths = "category")
+    Optional<Transaction> findByIdAndUser(Long id, User user);
 
+    // Duplicate detection for statement imports; each row is [date, type, amount, description]
     @Query("""
-        SELECT COALESCE(SUM(t.amount), 0)
+        SELECT t.date, CASE WHEN TYPE(t) = Expense THEN 'EXPENSE' ELSE 'INCOME' END, t.amount, t.description
         FROM Transaction t
-        WHERE FUNCTION('YEAR', t.date) = FUNCTION('YEAR', CURRENT_DATE)
-          AND FUNCTION('MONTH', t.date) = FUNCTION('MONTH', CURRENT_DATE)
-          AND t.user = :user
+        WHERE t.user = :user AND t.date >= :start AND t.date <= :end
     """)
-    BigDecimal getTotalExpensesThisMonthForUser(@Param("user") User user);
+    List<Object[]> findFingerprintsBetween(@Param("user") User user,
+                                           @Param("start") LocalDate start,
+                                           @Param("end") LocalDate end);
+
+    @Query("SELECT SUM(t.amount) FROM Transaction t")
+    Double getTotalAmount();
+
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user = :user")
+    Double getTotalAmountForUser(@Param("user") User user);
+
+    // Half-open date ranges keep the predicate sargable on idx_transactions_user_date;
+    // each row is [transaction_type, total].
+    @Query(value = """
+        SELECT t.transaction_type, COALESCE(SUM(t.amount), 0)
+        FROM transactions t
+        WHERE t.user_id = :userId
+          AND t.date >= :start AND t.date < :end
+        GROUP BY t.transaction_type
+    """, nativeQuery = true)
+    List<Object[]> sumByTypeBetweenForUser(@Param("userId") Long userId,
+                                           @Param("start") LocalDate start,
+                                           @Param("end") LocalDate end);
+
+    @Query(value = """
+        SELECT t.transaction_type, COALESCE(SUM(t.amount), 0)
+        FROM transactions t
+        WHERE t.date >= :start AND t.date < :end
+        GROUP BY t.transaction_type
+    """, nativeQuery = true)
+    List<Object[]> sumByTypeBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // One grouped scan of idx_transactions_user_date for a type and half-open date range; each row
+    // is [date, category_id, total] with 0 for uncategorized. Callers derive per-day, per-weekday
+    // and per-category totals from it.
+    @Query(value = """
+        SELECT t.date, COALESCE(t.category_id, 0), SUM(t.amount)
+        FROM transactions t
+        WHERE t.user_id = :userId AND t.transaction_type = :type
+          AND t.date >= :start AND t.date < :end
+        GROUP BY t.date, COALESCE(t.category_id, 0)
+    """, nativeQuery = true)
+    List<Object[]> sumByDayAndCategoryBetween(@Param("userId") Long userId,
+                                              @Param("type") String type,
+                                              @Param("start") LocalDate start,
+                                              @Param("end") LocalDate end);
+
+    // Each row is [category_id, total] with 0 for uncategorized
+    @Query(value = """
+        SELECT COALESCE(t.category_id, 0), SUM(t.amount)
+        FROM transactions t
+        WHERE t.user_id = :userId AND t.transaction_type = :type
+        GROUP BY COALESCE(t.category_id, 0)
+    """, nativeQuery = true)
+    List<Object[]> sumByCategoryForUser(@Param("userId") Long userId, @Param("type") String type);
+
+    // Newest first, walking idx_transactions_user_date backwards; category 0 is uncategorized
+    @Query(value = """
+        SELECT t.amount
+        FROM transactions t
+        WHERE t.user_id = :userId AND t.transaction_type = :type
+          AND COALESCE(t.category_id, 0) = :categoryId AND t.id <> :excludeId
+        ORDER BY t.date DESC, t.id DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Number> findRecentAmounts(@Param("userId") Long userId,
+                                   @Param("type") String type,
+                                   @Param("categoryId") Long categoryId,
+                                   @Param("excludeId") Long excludeId,
+                                   @Param("limit") int limit);
 
     @Query("SELECT t.category.categoryName, t FROM Transaction t ORDER BY t.category.categoryName")
     List<Object[]> findAllTransactionsGroupedByCategory();
 
-    @Query("""
-        SELECT FUNCTION('YEAR', t.date) as year,
-               FUNCTION('MONTH', t.date) as month,
-               SUM(t.amount) as balance
-        FROM Transaction t
-        WHERE FUNCTION('YEAR', t.date) = :year
-        GROUP BY FUNCTION('YEAR', t.date), FUNCTION('MONTH', t.date)
-        ORDER BY FUNCTION('YEAR', t.date), FUNCTION('MONTH', t.date)
-    """)
-    List<Object[]> getMonthlyNetBalances(@Param("year") int year);
-
-    @Query("""
-        SELECT FUNCTION('YEAR', t.date) as year,
-               FUNCTION('MONTH', t.date) as month,
-               SUM(t.amount) as balance
-        FROM Transaction t
-        WHERE FUNCTION('YEAR', t.date) = :year
-          AND t.user = :user
-        GROUP BY FUNCTION('YEAR', t.date), FUNCTION('MONTH', t.date)
-        ORDER BY FUNCTION('YEAR', t.date), FUNCTION('MONTH', t.date)
-    """)
-    List<Object[]> getMonthlyNetBalancesForUser(@Param("year") int year, @Param("user") User user);
+    // Each row is [month, transaction_type, total]
+    @Query(value = """
+        SELECT MONTH(t.date), t.transaction_type, SUM(t.amount)
+        FROM transactions t
+        WHERE t.date >= :start AND t.date < :end
+        GROUP BY MONTH(t.date), t.transaction_type
+    """, nativeQuery = true)
+    List<Object[]> sumByMonthAndTypeBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
 }
@@ -0,0 +1,40 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.repository.user;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.UserChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+
+    // Joins the writer's transaction, so a rolled-back write leaves no mark behind
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_changes (user_id, dirty_since, changed_at, version)
+        VALUES (:userId, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1)
+        ON DUPLICATE KEY UPDATE changed_at = CURRENT_TIMESTAMP, version = version + 1
+    """, nativeQuery = true)
+    int markChanged(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserChange c WHERE c.userId = :userId AND c.version = :version")
+    int clearIfUnchanged(@Param("userId") Long userId, @Param("version") long version);
+
+    // Keyset pages of changed active users within one id-range shard
+    @Query("""
+        SELECT u FROM User u JOIN UserChange c ON c.userId = u.id
+        WHERE u.isActive = true AND u.id > :afterId AND u.id <= :maxId
+        ORDER BY u.id
+    """)
+    List<User> findChangedActiveUsers(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable pageable);
+}
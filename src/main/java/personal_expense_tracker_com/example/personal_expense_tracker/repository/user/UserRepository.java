@@ -1,9 +1,15 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.repository.user;
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +25,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     List<User> findByIsActiveTrue();
+
+    // Keyset pages within one id-range shard, for scheduled jobs that walk users in id order
+    List<User> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long maxId, Pageable pageable);
+
+    List<User> findByIsActiveTrueAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long maxId, Pageable pageable);
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+
+    // Relies on the unique firebase_uid; a concurrent insert of the same user becomes a no-op
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO users (firebase_uid, email, display_name, created_at, is_active)
+        VALUES (:firebaseUid, :email, :displayName, :createdAt, TRUE)
+        ON DUPLICATE KEY UPDATE id = id
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("firebaseUid") String firebaseUid,
+                       @Param("email") String email,
+                       @Param("displayName") String displayName,
+                       @Param("createdAt") LocalDateTime createdAt);
 } 
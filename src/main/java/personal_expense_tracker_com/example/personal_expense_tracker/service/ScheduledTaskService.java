@@ -1,17 +1,16 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.service;
 
-import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.recurring.RecurringTransactionService;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.alert.SpendingAlertService;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.insight.FinancialInsightService;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.savings.SavingsGoalService;
-import personal_expense_tracker_com.example.personal_expense_tracker.service.user.UserService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.job.JobLeaseService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.job.UserFanOutExecutor;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.retention.RetentionService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.user.UserChangeTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
-
-import java.util.List;
 
 @Service
 public class ScheduledTaskService {
@@ -29,78 +28,86 @@ public class ScheduledTaskService {
     private SavingsGoalService savingsGoalService;
     
     @Autowired
-    private UserService userService;
+    private UserFanOutExecutor userFanOutExecutor;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private UserChangeTracker userChangeTracker;
 
     @Autowired
-    private UserRepository userRepository;
+    private RetentionService retentionService;
 
-    @Scheduled(cron = "0 0 6 * * ?")
+    // Cron expressions are constants so each job can name its run after the fire time it was scheduled for
+    private static final String RECURRING_TRANSACTIONS_CRON = "0 0 6 * * ?";
+    private static final String SPENDING_ALERTS_CRON = "0 0 8 * * ?";
+    private static final String FINANCIAL_INSIGHTS_CRON = "0 0 9 * * ?";
+    private static final String SAVINGS_GOAL_ALERTS_CRON = "0 0 7 * * ?";
+    private static final String RETENTION_CRON = "0 0 2 ? * SUN";
+    private static final String DAILY_AI_INSIGHTS_CRON = "0 0 2 * * ?";
+    private static final String PERIODIC_AI_INSIGHTS_CRON = "0 0 */6 * * ?";
+    private static final String JOB_LEASE_PURGE_CRON = "0 0 3 * * ?";
+
+    // Every node fires each trigger; leases make sure only one of them does the work
+    @Scheduled(cron = RECURRING_TRANSACTIONS_CRON)
     public void processRecurringTransactions() {
-        recurringTransactionService.processDueRecurringTransactions();
+        jobLeaseService.runOnce("recurring-transactions", jobLeaseService.scheduledFireTime(RECURRING_TRANSACTIONS_CRON),
+            recurringTransactionService::processDueRecurringTransactions);
     }
 
-    // Generate spending alerts daily at 8 AM
-    @Scheduled(cron = "0 0 8 * * ?")
+    // Generate weekend and unusual-spending alerts daily at 8 AM; budget alerts are raised as expenses are written
+    @Scheduled(cron = SPENDING_ALERTS_CRON)
     public void generateSpendingAlerts() {
-        List<User> users = userService.getAllUsers();
-        for (User user : users) {
-            spendingAlertService.generateBudgetAlerts(user);
-            spendingAlertService.generateWeekendSpendingAlert(user);
-            spendingAlertService.generateUnusualSpendingAlert(user);
-        }
+        userFanOutExecutor.run("spending-alerts", jobLeaseService.scheduledFireTime(SPENDING_ALERTS_CRON), false,
+            spendingAlertService::generateSpendingPatternAlerts);
     }
 
     // Generate financial insights daily at 9 AM
-    @Scheduled(cron = "0 0 9 * * ?")
+    @Scheduled(cron = FINANCIAL_INSIGHTS_CRON)
     public void generateFinancialInsights() {
-        List<User> users = userService.getAllUsers();
-        for (User user : users) {
-            financialInsightService.generateAllInsights(user);
-        }
+        userFanOutExecutor.run("financial-insights", jobLeaseService.scheduledFireTime(FINANCIAL_INSIGHTS_CRON), false,
+            financialInsightService::generateAllInsights);
     }
 
     // Generate savings goal alerts daily at 7 AM
-    @Scheduled(cron = "0 0 7 * * ?")
+    @Scheduled(cron = SAVINGS_GOAL_ALERTS_CRON)
     public void generateSavingsGoalAlerts() {
-        List<User> users = userService.getAllUsers();
-        for (User user : users) {
-            savingsGoalService.generateSavingsGoalAlerts(user);
-            savingsGoalService.checkGoalCompletion(user);
-        }
+        userFanOutExecutor.run("savings-goal-alerts", jobLeaseService.scheduledFireTime(SAVINGS_GOAL_ALERTS_CRON), false,
+            user -> {
+                savingsGoalService.generateSavingsGoalAlerts(user);
+                savingsGoalService.checkGoalCompletion(user);
+            });
     }
 
-    // Weekly cleanup of old insights (every Sunday at 2 AM)
-    @Scheduled(cron = "0 0 2 ? * SUN")
+    // Weekly cleanup of old insights and alerts per the retention.* policies (every Sunday at 2 AM)
+    @Scheduled(cron = RETENTION_CRON)
     public void cleanupOldInsights() {
-        // This could be implemented to remove insights older than a certain period
-        // For now, we'll keep all insights
+        retentionService.purgeAll(jobLeaseService.scheduledFireTime(RETENTION_CRON));
     }
 
-    // Generate AI insights for all active users daily at 2 AM
-    @Scheduled(cron = "0 0 2 * * ?")
+    // Generate AI insights daily at 2 AM for active users whose data changed since their last insights
+    @Scheduled(cron = DAILY_AI_INSIGHTS_CRON)
     public void generateDailyAIInsights() {
-        List<User> activeUsers = userRepository.findByIsActiveTrue();
-        
-        for (User user : activeUsers) {
-            try {
-                financialInsightService.generateAIInsights(user);
-            } catch (Exception e) {
-                System.err.println("Failed to generate AI insights for user: " + user.getId() + " - " + e.getMessage());
-            }
-        }
+        generateAIInsightsForChangedUsers("daily-ai-insights", DAILY_AI_INSIGHTS_CRON);
     }
 
-    // Generate AI insights every 6 hours for active users
-    @Scheduled(fixedRate = 6 * 60 * 60 * 1000) // 6 hours in milliseconds
+    // Generate AI insights every 6 hours for changed active users; a cron rather than a fixed
+    // rate so all nodes agree on the run key
+    @Scheduled(cron = PERIODIC_AI_INSIGHTS_CRON)
     public void generatePeriodicAIInsights() {
-        List<User> activeUsers = userRepository.findByIsActiveTrue();
-        
-        for (User user : activeUsers) {
-            try {
-                financialInsightService.generateAIInsights(user);
-            } catch (Exception e) {
-                System.err.println("Failed to generate periodic AI insights for user: " + user.getId() + " - " + e.getMessage());
-            }
-        }
+        generateAIInsightsForChangedUsers("periodic-ai-insights", PERIODIC_AI_INSIGHTS_CRON);
+    }
+
+    private void generateAIInsightsForChangedUsers(String jobName, String cron) {
+        userFanOutExecutor.run(jobName, jobLeaseService.scheduledFireTime(cron), userChangeTracker::findChangedActiveUsers,
+            user -> userChangeTracker.processIfChanged(user, financialInsightService::generateAIInsights));
+    }
+
+    // Drop job leases older than a week daily at 3 AM
+    @Scheduled(cron = JOB_LEASE_PURGE_CRON)
+    public void purgeJobLeases() {
+        jobLeaseService.runOnce("job-lease-purge", jobLeaseService.scheduledFireTime(JOB_LEASE_PURGE_CRON),
+            () -> jobLeaseService.purgeOlderThanDays(7));
     }
-} 
+}
@@ -0,0 +1,69 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.alert;
+
+import java.time.YearMonth;
+import java.util.Collection;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.rollup.TransactionRollupRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.RollupKey;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionAggregationService;
+
+/**
+ * Raises budget alerts as expenses are written rather than in a daily scan. The running total
+ * for a (user, category, month) is its transaction_rollups bucket, which every write already
+ * updates atomically in its own transaction. TransactionWriteHooks calls {@link #recordChanged}
+ * right after the rollup call, and the bucket's new total is checked against the category's monthly budget with
+ * {@link SpendingAlertService#checkBudget}. The alert commits or rolls back with the expense.
+ *
+ * Every bucket a write touches is checked: the one an expense lands in, and the one a delete
+ * or an update takes it out of, where a lowered total withdraws or downgrades the alert.
+ */
+@Service
+public class BudgetMonitor {
+
+    private final TransactionRollupRepository rollupRepository;
+    private final CategoryRepository categoryRepository;
+    private final SpendingAlertService spendingAlertService;
+
+    public BudgetMonitor(TransactionRollupRepository rollupRepository, CategoryRepository categoryRepository,
+                         SpendingAlertService spendingAlertService) {
+        this.rollupRepository = rollupRepository;
+        this.categoryRepository = categoryRepository;
+        this.spendingAlertService = spendingAlertService;
+    }
+
+    @Transactional
+    public void recordChanged(RollupKey key) {
+        if (!TransactionAggregationService.EXPENSE.equals(key.getType()) || key.getCategoryId() == 0L) {
+            return;
+        }
+        categoryRepository.findById(key.getCategoryId())
+            .filter(category -> category.getBudget() > 0)
+            .ifPresent(category -> check(category, key));
+    }
+
+    @Transactional
+    public void recordChanged(Collection<RollupKey> keys) {
+        keys.stream().distinct().forEach(this::recordChanged);
+    }
+
+    /**
+     * Rechecks the category's budget for the month, for when the budget itself changes; a
+     * raised or removed budget withdraws alerts that no longer hold.
+     */
+    @Transactional
+    public void recheck(Category category, YearMonth month) {
+        check(category, new RollupKey(category.getUser().getId(), month.atDay(1), category.getId(),
+            TransactionAggregationService.EXPENSE));
+    }
+
+    private void check(Category category, RollupKey key) {
+        double total = rollupRepository.findBucketTotal(key.getUserId(), key.getMonthStart(), key.getCategoryId(),
+            key.getType()).orElse(0.0);
+        spendingAlertService.checkBudget(category, YearMonth.from(key.getMonthStart()), total, category.getUser());
+    }
+}
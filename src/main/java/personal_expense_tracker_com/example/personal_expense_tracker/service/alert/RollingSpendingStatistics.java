@@ -0,0 +1,71 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.alert;
+
+/**
+ * Rolling statistics of one stream of expense amounts in constant space: an exponentially
+ * weighted mean and variance, and a quantile tracked by stochastic approximation. Each update
+ * nudges the quantile up by step * q when the amount lies above it and down by step * (1 - q)
+ * otherwise, so it settles where a fraction q of recent amounts fall below. The step scales with
+ * the current spread so the estimate moves at the same relative speed for coffees and for rent.
+ *
+ * Not thread-safe; {@link SpendingAnomalyDetector} confines each instance to its worker thread.
+ */
+class RollingSpendingStatistics {
+
+    // A run of identical amounts (a subscription) has no spread; without a floor any change would score as extreme
+    private static final double MIN_RELATIVE_SPREAD = 0.1;
+
+    private final double alpha;
+    private final double quantile;
+    private long count;
+    private double mean;
+    private double variance;
+    private double quantileEstimate;
+
+    RollingSpendingStatistics(double alpha, double quantile) {
+        this.alpha = alpha;
+        this.quantile = quantile;
+    }
+
+    void add(double amount) {
+        if (count++ == 0) {
+            mean = amount;
+            quantileEstimate = amount;
+            return;
+        }
+        double step = alpha * spread();
+        quantileEstimate += amount > quantileEstimate ? step * quantile : -step * (1 - quantile);
+
+        double diff = amount - mean;
+        double increment = alpha * diff;
+        mean += increment;
+        variance = (1 - alpha) * (variance + diff * increment);
+    }
+
+    /**
+     * Standard deviations the amount lies above the mean, with the spread floored at a tenth of the mean.
+     */
+    double zScore(double amount) {
+        double spread = spread();
+        return spread > 0 ? (amount - mean) / spread : 0.0;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMean() {
+        return mean;
+    }
+
+    double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    double getQuantileEstimate() {
+        return quantileEstimate;
+    }
+
+    private double spread() {
+        return Math.max(Math.sqrt(variance), Math.abs(mean) * MIN_RELATIVE_SPREAD);
+    }
+}
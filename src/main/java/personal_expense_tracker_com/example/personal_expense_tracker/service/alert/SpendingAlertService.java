@@ -2,20 +2,33 @@ package personal_expense_tracker_com.example.personal_expense_tracker.service.al
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.SpendingAlert;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
-import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.alert.SpendingAlertRepository;
-import personal_expense_tracker_com.example.personal_expense_tracker.repository.expense.ExpenseRepository;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.SpendingBreakdown;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionAggregationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.DayOfWeek;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Alerts are keyed by (user, type, subject, period), where the subject is a category or goal
+ * and the period is the month, week or day the condition was evaluated for. Generators run
+ * daily while a condition holds, so they upsert on that key: a repeat refreshes the existing
+ * alert's figures instead of adding a row.
+ *
+ * Spending comes from grouped queries in {@link TransactionAggregationService}: one for this
+ * month's per-category totals and one for the days around this week. Budget alerts are also
+ * raised as expenses are written, by {@link BudgetMonitor}, so the daily run only covers the
+ * weekend and day-over-day patterns.
+ */
 @Service
 public class SpendingAlertService {
 
@@ -23,7 +36,7 @@ public class SpendingAlertService {
     private SpendingAlertRepository spendingAlertRepository;
     
     @Autowired
-    private ExpenseRepository expenseRepository;
+    private TransactionAggregationService aggregationService;
     
     @Autowired
     private CategoryRepository categoryRepository;
@@ -65,53 +78,114 @@ public class SpendingAlertService {
         }
     }
 
+    public void generateSpendingAlerts(User user) {
+        generateSpendingAlerts(user, LocalDate.now());
+    }
+
+    /**
+     * Budget, weekend and unusual-spending alerts together.
+     */
+    public void generateSpendingAlerts(User user, LocalDate today) {
+        generateBudgetAlerts(user, today);
+        generateSpendingPatternAlerts(user, today);
+    }
+
+    public void generateSpendingPatternAlerts(User user) {
+        generateSpendingPatternAlerts(user, LocalDate.now());
+    }
+
+    /**
+     * Weekend and unusual-spending alerts, sharing one breakdown of this week's expenses.
+     */
+    public void generateSpendingPatternAlerts(User user, LocalDate today) {
+        SpendingBreakdown week = expensesAround(user, today);
+        generateWeekendSpendingAlert(user, today, week);
+        generateUnusualSpendingAlert(user, today, week);
+    }
+
     public void generateBudgetAlerts(User user) {
+        generateBudgetAlerts(user, LocalDate.now());
+    }
+
+    /**
+     * Checks every budgeted category against its spending in today's calendar month.
+     */
+    public void generateBudgetAlerts(User user, LocalDate today) {
+        YearMonth month = YearMonth.from(today);
         List<Category> categories = categoryRepository.findByUser(user);
+        SpendingBreakdown spending = aggregationService.breakdown(user, TransactionAggregationService.EXPENSE,
+            month.atDay(1), month.atEndOfMonth());
         
         for (Category category : categories) {
-            if (category.getBudget() > 0) {
-                double totalSpent = calculateCategorySpending(category.getId(), user);
-                double budgetUtilization = (totalSpent / category.getBudget()) * 100;
-                
-                if (budgetUtilization >= 100) {
-                    createAlert(
-                        SpendingAlert.AlertType.BUDGET_EXCEEDED.toString(),
-                        String.format("You've exceeded your %s budget by %.2f%%", 
-                                    category.getCategoryName(), budgetUtilization - 100),
-                        category.getBudget(),
-                        totalSpent,
-                        category,
-                        user
-                    );
-                } else if (budgetUtilization >= 80) {
-                    createAlert(
-                        SpendingAlert.AlertType.BUDGET_WARNING.toString(),
-                        String.format("You've used %.1f%% of your %s budget", 
-                                    budgetUtilization, category.getCategoryName()),
-                        category.getBudget(),
-                        totalSpent,
-                        category,
-                        user
-                    );
-                }
-            }
+            checkBudget(category, month, spending.forCategory(category.getId()), user);
+        }
+    }
+
+    /**
+     * Keeps one budget alert per category and month at the level spending is at now:
+     * BUDGET_EXCEEDED at 100% of the category's monthly budget, BUDGET_WARNING from 80%. The
+     * other level, or both below 80% or without a budget, is withdrawn, so an alert goes away
+     * once spending is deleted, moved elsewhere or the budget is raised.
+     */
+    public void checkBudget(Category category, YearMonth month, double totalSpent, User user) {
+        String exceeded = SpendingAlert.AlertType.BUDGET_EXCEEDED.toString();
+        String warning = SpendingAlert.AlertType.BUDGET_WARNING.toString();
+        double budgetUtilization = category.getBudget() > 0 ? (totalSpent / category.getBudget()) * 100 : 0;
+
+        if (budgetUtilization >= 100) {
+            raiseAlert(
+                exceeded,
+                categorySubject(category),
+                month.toString(),
+                String.format("You've exceeded your %s budget by %.2f%%", 
+                            category.getCategoryName(), budgetUtilization - 100),
+                category.getBudget(),
+                totalSpent,
+                category,
+                user
+            );
+            withdrawAlerts(List.of(warning), categorySubject(category), month.toString(), user);
+        } else if (budgetUtilization >= 80) {
+            raiseAlert(
+                warning,
+                categorySubject(category),
+                month.toString(),
+                String.format("You've used %.1f%% of your %s budget", 
+                            budgetUtilization, category.getCategoryName()),
+                category.getBudget(),
+                totalSpent,
+                category,
+                user
+            );
+            withdrawAlerts(List.of(exceeded), categorySubject(category), month.toString(), user);
+        } else {
+            withdrawAlerts(List.of(exceeded, warning), categorySubject(category), month.toString(), user);
         }
     }
 
     public void generateWeekendSpendingAlert(User user) {
-        LocalDate today = LocalDate.now();
+        generateWeekendSpendingAlert(user, LocalDate.now());
+    }
+
+    public void generateWeekendSpendingAlert(User user, LocalDate today) {
+        generateWeekendSpendingAlert(user, today, expensesAround(user, today));
+    }
+
+    private void generateWeekendSpendingAlert(User user, LocalDate today, SpendingBreakdown week) {
         LocalDate weekStart = today.with(DayOfWeek.MONDAY);
         LocalDate weekEnd = today.with(DayOfWeek.SUNDAY);
         
-        double weekdaySpending = calculateSpendingForPeriod(weekStart, today.with(DayOfWeek.FRIDAY), user);
-        double weekendSpending = calculateSpendingForPeriod(today.with(DayOfWeek.SATURDAY), weekEnd, user);
+        double weekdaySpending = week.totalBetween(weekStart, today.with(DayOfWeek.FRIDAY));
+        double weekendSpending = week.totalBetween(today.with(DayOfWeek.SATURDAY), weekEnd);
         
         if (weekendSpending > 0 && weekdaySpending > 0) {
             double weekendPercentage = (weekendSpending / (weekdaySpending + weekendSpending)) * 100;
             
             if (weekendPercentage > 50) {
-                createAlert(
+                raiseAlert(
                     SpendingAlert.AlertType.WEEKEND_SPENDING.toString(),
+                    null,
+                    weekStart.toString(),
                     String.format("Your weekend spending is %.1f%% of your weekly spending", weekendPercentage),
                     weekdaySpending,
                     weekendSpending,
@@ -123,15 +197,24 @@ public class SpendingAlertService {
     }
 
     public void generateUnusualSpendingAlert(User user) {
-        LocalDate today = LocalDate.now();
+        generateUnusualSpendingAlert(user, LocalDate.now());
+    }
+
+    public void generateUnusualSpendingAlert(User user, LocalDate today) {
+        generateUnusualSpendingAlert(user, today, expensesAround(user, today));
+    }
+
+    private void generateUnusualSpendingAlert(User user, LocalDate today, SpendingBreakdown week) {
         LocalDate yesterday = today.minusDays(1);
         
-        double todaySpending = calculateSpendingForPeriod(today, today, user);
-        double yesterdaySpending = calculateSpendingForPeriod(yesterday, yesterday, user);
+        double todaySpending = week.onDay(today);
+        double yesterdaySpending = week.onDay(yesterday);
         
         if (yesterdaySpending > 0 && todaySpending > (yesterdaySpending * 2)) {
-            createAlert(
+            raiseAlert(
                 SpendingAlert.AlertType.UNUSUAL_SPENDING.toString(),
+                null,
+                today.toString(),
                 String.format("Your spending today (%.2f) is %.1fx higher than yesterday (%.2f)", 
                             todaySpending, todaySpending / yesterdaySpending, yesterdaySpending),
                 yesterdaySpending,
@@ -142,23 +225,41 @@ public class SpendingAlertService {
         }
     }
 
-    private double calculateCategorySpending(Long categoryId, User user) {
-        List<Expense> expenses = expenseRepository.findByCategoryIdAndUser(categoryId, user);
-        return expenses.stream()
-                      .mapToDouble(Expense::getAmount)
-                      .sum();
+    // Monday through Sunday of today's week, plus yesterday when today is a Monday
+    private SpendingBreakdown expensesAround(User user, LocalDate today) {
+        LocalDate from = today.minusDays(1).isBefore(today.with(DayOfWeek.MONDAY))
+            ? today.minusDays(1) : today.with(DayOfWeek.MONDAY);
+        return aggregationService.breakdown(user, TransactionAggregationService.EXPENSE, from, today.with(DayOfWeek.SUNDAY));
     }
 
-    private double calculateSpendingForPeriod(LocalDate startDate, LocalDate endDate, User user) {
-        List<Expense> expenses = expenseRepository.findByDateBetweenAndUser(startDate, endDate, user);
-        return expenses.stream()
-                      .mapToDouble(Expense::getAmount)
-                      .sum();
+    /**
+     * Creates the alert for this key, or refreshes its message and figures when it already exists.
+     *
+     * @param subject what the alert is about, such as "category:12" or "goal:3"; null for the user as a whole
+     * @param period  the month, week or day the condition was evaluated for; null for one-off alerts
+     */
+    public void raiseAlert(String alertType, String subject, String period, String message, double threshold,
+                           double currentValue, Category category, User user) {
+        spendingAlertRepository.upsert(alertKey(user, alertType, subject, period), alertType, message, threshold,
+            currentValue, category != null ? category.getId() : null, user.getId(), LocalDateTime.now());
     }
 
-    public void createAlert(String alertType, String message, double threshold, 
-                           double currentValue, Category category, User user) {
-        SpendingAlert alert = new SpendingAlert(alertType, message, threshold, currentValue, category, user);
-        spendingAlertRepository.save(alert);
+    /**
+     * Deletes the alerts of the given types raised for {@code subject} and {@code period}.
+     */
+    public void withdrawAlerts(List<String> alertTypes, String subject, String period, User user) {
+        List<String> keys = new ArrayList<>(alertTypes.size());
+        for (String alertType : alertTypes) {
+            keys.add(alertKey(user, alertType, subject, period));
+        }
+        spendingAlertRepository.deleteByAlertKeyIn(keys);
+    }
+
+    public static String categorySubject(Category category) {
+        return "category:" + category.getId();
+    }
+
+    static String alertKey(User user, String alertType, String subject, String period) {
+        return user.getId() + ":" + alertType + ":" + (subject != null ? subject : "-") + ":" + (period != null ? period : "-");
     }
 } 
@@ -0,0 +1,235 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.alert;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.SpendingAlert;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionAggregationService;
+
+/**
+ * Scores each new expense against {@link RollingSpendingStatistics} kept per (user, category) and
+ * raises an UNUSUAL_SPENDING alert, keyed on the category and the expense's date, when the amount
+ * is at least alerts.anomaly.z-threshold deviations above the rolling mean and above the rolling
+ * alerts.anomaly.quantile. Keys seen fewer than alerts.anomaly.min-samples times only learn.
+ *
+ * Expenses are handed over once their transaction commits and scored in order on a single worker
+ * thread, which also owns the statistics, so a save never waits on scoring and a rollback never
+ * trains the model. A key missing from memory is seeded from its latest alerts.anomaly.seed-size
+ * amounts in one indexed query; past alerts.anomaly.max-keys the least recently used key is
+ * dropped and reseeded on its next expense. Outcomes are counted in
+ * spending.anomaly.scored{outcome}.
+ */
+@Service
+public class SpendingAnomalyDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpendingAnomalyDetector.class);
+
+    private final TransactionRepository transactionRepository;
+    private final SpendingAlertService spendingAlertService;
+    private final MeterRegistry meterRegistry;
+    private final double alpha;
+    private final double quantile;
+    private final double zThreshold;
+    private final int minSamples;
+    private final int seedSize;
+    private final ThreadPoolExecutor worker;
+    private final Map<Key, RollingSpendingStatistics> statistics;
+
+    public SpendingAnomalyDetector(TransactionRepository transactionRepository, SpendingAlertService spendingAlertService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${alerts.anomaly.alpha:0.1}") double alpha,
+                                   @Value("${alerts.anomaly.quantile:0.95}") double quantile,
+                                   @Value("${alerts.anomaly.z-threshold:3.0}") double zThreshold,
+                                   @Value("${alerts.anomaly.min-samples:10}") int minSamples,
+                                   @Value("${alerts.anomaly.seed-size:50}") int seedSize,
+                                   @Value("${alerts.anomaly.max-keys:100000}") int maxKeys,
+                                   @Value("${alerts.anomaly.queue-capacity:10000}") int queueCapacity) {
+        this.transactionRepository = transactionRepository;
+        this.spendingAlertService = spendingAlertService;
+        this.meterRegistry = meterRegistry;
+        this.alpha = alpha;
+        this.quantile = quantile;
+        this.zThreshold = zThreshold;
+        this.minSamples = minSamples;
+        this.seedSize = seedSize;
+        this.statistics = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RollingSpendingStatistics> eldest) {
+                return size() > maxKeys;
+            }
+        };
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "spending-anomaly");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Scores the expense once the current transaction commits, or right away when none is active.
+     */
+    public void score(Expense expense) {
+        Observation observation = Observation.of(expense);
+        afterCommit(() -> score(observation));
+    }
+
+    /**
+     * Scores the expenses among the transactions, in order, once the current transaction commits;
+     * used for batch writes of new spending.
+     */
+    public void scoreAll(List<? extends Transaction> transactions) {
+        List<Observation> observations = transactions.stream()
+            .filter(Expense.class::isInstance)
+            .map(transaction -> Observation.of((Expense) transaction))
+            .toList();
+        if (!observations.isEmpty()) {
+            afterCommit(() -> observations.forEach(this::score));
+        }
+    }
+
+    /**
+     * Folds the expenses among the transactions into statistics already in memory without scoring
+     * them; used for imports and recurring catch-up, whose rows are mostly historical.
+     */
+    public void observe(List<? extends Transaction> transactions) {
+        List<Map.Entry<Key, Double>> amounts = transactions.stream()
+            .filter(Expense.class::isInstance)
+            .map(transaction -> Map.entry(Key.of(transaction), transaction.getAmount()))
+            .toList();
+        if (!amounts.isEmpty()) {
+            afterCommit(() -> amounts.forEach(amount -> observe(amount.getKey(), amount.getValue())));
+        }
+    }
+
+    private void score(Observation observation) {
+        try {
+            RollingSpendingStatistics stats = statisticsFor(observation);
+            String outcome;
+            if (stats.getCount() < minSamples) {
+                outcome = "warming";
+            } else if (stats.zScore(observation.amount()) >= zThreshold && observation.amount() > stats.getQuantileEstimate()) {
+                raiseAlert(observation, stats);
+                outcome = "anomalous";
+            } else {
+                outcome = "normal";
+            }
+            stats.add(observation.amount());
+            count(outcome);
+        } catch (RuntimeException e) {
+            count("failed");
+            logger.warn("Could not score expense {} for user {}: {}", observation.expenseId(),
+                observation.user().getId(), e.getMessage());
+        }
+    }
+
+    private void observe(Key key, double amount) {
+        RollingSpendingStatistics stats = statistics.get(key);
+        if (stats != null) {
+            stats.add(amount);
+        }
+    }
+
+    private RollingSpendingStatistics statisticsFor(Observation observation) {
+        RollingSpendingStatistics stats = statistics.get(observation.key());
+        if (stats == null) {
+            stats = new RollingSpendingStatistics(alpha, quantile);
+            List<Number> newestFirst = transactionRepository.findRecentAmounts(observation.key().userId(),
+                TransactionAggregationService.EXPENSE, observation.key().categoryId(), observation.expenseId(), seedSize);
+            for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                stats.add(newestFirst.get(i).doubleValue());
+            }
+            statistics.put(observation.key(), stats);
+        }
+        return stats;
+    }
+
+    private void raiseAlert(Observation observation, RollingSpendingStatistics stats) {
+        Category category = observation.category();
+        spendingAlertService.raiseAlert(
+            SpendingAlert.AlertType.UNUSUAL_SPENDING.toString(),
+            category != null ? SpendingAlertService.categorySubject(category) : "category:0",
+            observation.date().toString(),
+            String.format("Your %s expense of %.2f is well above your usual %.2f; %.0f%% of your recent %s expenses were under %.2f",
+                observation.categoryName(), observation.amount(), stats.getMean(), quantile * 100,
+                observation.categoryName(), stats.getQuantileEstimate()),
+            stats.getQuantileEstimate(),
+            observation.amount(),
+            category,
+            observation.user()
+        );
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(task);
+                }
+            });
+        } else {
+            submit(task);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException e) {
+            count("dropped");
+            logger.debug("Spending anomaly queue is full; dropping an expense");
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("spending.anomaly.scored", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private record Key(Long userId, Long categoryId) {
+
+        static Key of(Transaction transaction) {
+            Category category = transaction.getCategory();
+            return new Key(transaction.getUser().getId(), category != null ? category.getId() : 0L);
+        }
+    }
+
+    // Copied out of the entity inside the transaction, so the worker never touches a lazy proxy
+    private record Observation(Key key, Long expenseId, double amount, LocalDate date, User user,
+                               Category category, String categoryName) {
+
+        static Observation of(Expense expense) {
+            Category category = expense.getCategory();
+            String categoryName = category == null ? "uncategorized"
+                : category.getCategoryName() != null ? category.getCategoryName() : "category " + category.getId();
+            return new Observation(Key.of(expense), expense.getId(), expense.getAmount(), expense.getDate(),
+                expense.getUser(), category, categoryName);
+        }
+    }
+}
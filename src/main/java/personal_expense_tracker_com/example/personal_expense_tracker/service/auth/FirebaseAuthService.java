@@ -1,8 +1,5 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.service.auth;
 
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.user.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,8 +7,6 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ExecutionException;
-
 @Service
 public class FirebaseAuthService {
 
@@ -20,24 +15,18 @@ public class FirebaseAuthService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired
+    private FirebaseTokenVerifier tokenVerifier;
+
     public User authenticateUser(String idToken) throws Exception {
         try {
-            logger.debug("Checking if Firebase is initialized...");
-            if (FirebaseApp.getApps().isEmpty()) {
-                logger.error("FirebaseApp with name [DEFAULT] doesn't exist.");
-                throw new Exception("Firebase is not initialized");
-            }
-            
-            logger.debug("Verifying Firebase token...");
-            FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdTokenAsync(idToken).get();
-            String firebaseUid = decodedToken.getUid();
-            String email = decodedToken.getEmail();
-            String displayName = decodedToken.getName() != null ? decodedToken.getName() : email;
-
-            logger.debug("Token verified successfully for user: {}", firebaseUid);
-            return userService.getOrCreateUser(firebaseUid, email, displayName);
-        } catch (InterruptedException | ExecutionException e) {
-            logger.error("Error verifying Firebase token: {}", e.getMessage(), e);
+            VerifiedTokenCache.VerifiedToken token = verify(idToken);
+            return userService.getOrCreateUser(token.getFirebaseUid(), token.getEmail(), token.getDisplayName());
+        } catch (IllegalArgumentException e) {
+            logger.debug("Rejected Firebase token: {}", e.getMessage());
             throw new Exception("Invalid Firebase token: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Unexpected error during authentication: {}", e.getMessage(), e);
@@ -47,27 +36,30 @@ public class FirebaseAuthService {
 
     public String getFirebaseUidFromToken(String idToken) throws Exception {
         try {
-            if (FirebaseApp.getApps().isEmpty()) {
-                throw new Exception("Firebase is not initialized");
-            }
-            
-            FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdTokenAsync(idToken).get();
-            return decodedToken.getUid();
-        } catch (InterruptedException | ExecutionException e) {
+            return verify(idToken).getFirebaseUid();
+        } catch (IllegalArgumentException e) {
             throw new Exception("Invalid Firebase token: " + e.getMessage());
         }
     }
 
     public boolean isValidToken(String idToken) {
         try {
-            if (FirebaseApp.getApps().isEmpty()) {
-                return false;
-            }
-            
-            FirebaseAuth.getInstance().verifyIdTokenAsync(idToken).get();
+            verify(idToken);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
-} 
+
+    // Served from the token cache when this exact token was verified before and has not expired
+    private VerifiedTokenCache.VerifiedToken verify(String idToken) {
+        VerifiedTokenCache.VerifiedToken cached = tokenCache.get(idToken);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedTokenCache.VerifiedToken verified = tokenVerifier.verify(idToken);
+        tokenCache.put(idToken, verified);
+        logger.debug("Token verified successfully for user: {}", verified.getFirebaseUid());
+        return verified;
+    }
+}
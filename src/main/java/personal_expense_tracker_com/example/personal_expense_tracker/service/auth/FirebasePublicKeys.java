@@ -0,0 +1,123 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.auth;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory copy of the keys Firebase signs ID tokens with, keyed by kid. The set is read from
+ * firebase.auth.public-keys-location, a JSON object of kid to PEM entry (an X.509 CERTIFICATE,
+ * as Google publishes them, or a PUBLIC KEY), so a local file can stand in for Google's
+ * endpoint in tests.
+ *
+ * The set is refreshed in the background on firebase.auth.public-keys-refresh-ms. A token
+ * signed with an unknown kid triggers at most one early refresh per minute, which covers key
+ * rotation between scheduled refreshes.
+ */
+@Component
+public class FirebasePublicKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirebasePublicKeys.class);
+    private static final long MIN_REFRESH_INTERVAL_MS = 60_000L;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAttempt;
+
+    public FirebasePublicKeys(ResourceLoader resourceLoader,
+                              @Value("${firebase.auth.public-keys-location}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${firebase.auth.public-keys-refresh-ms:3600000}",
+               initialDelayString = "${firebase.auth.public-keys-refresh-ms:3600000}")
+    public void refresh() {
+        lastRefreshAttempt = System.currentTimeMillis();
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream input = resource.getInputStream()) {
+            Map<String, PublicKey> loaded = parse(objectMapper.readTree(input));
+            if (loaded.isEmpty()) {
+                logger.warn("No signing keys found at {}, keeping the previous {} keys", location, keys.size());
+                return;
+            }
+            keys = loaded;
+            logger.debug("Loaded {} Firebase signing keys from {}", loaded.size(), location);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // A failed refresh keeps serving the previous keys
+            logger.warn("Could not refresh Firebase signing keys from {}: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * The key for this kid, or null when it is not in the current set even after an allowed refresh.
+     */
+    public PublicKey get(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastRefreshAttempt >= MIN_REFRESH_INTERVAL_MS) {
+            synchronized (this) {
+                if (!keys.containsKey(kid) && System.currentTimeMillis() - lastRefreshAttempt >= MIN_REFRESH_INTERVAL_MS) {
+                    logger.info("Unknown signing key {}, refreshing key set early", kid);
+                    refresh();
+                }
+            }
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static Map<String, PublicKey> parse(JsonNode document) throws GeneralSecurityException {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> entries = document.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            parsed.put(entry.getKey(), toPublicKey(entry.getValue().asText()));
+        }
+        return parsed;
+    }
+
+    private static PublicKey toPublicKey(String pem) throws GeneralSecurityException {
+        if (pem.contains("BEGIN CERTIFICATE")) {
+            return CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII)))
+                .getPublicKey();
+        }
+        String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(body)));
+    }
+}
@@ -0,0 +1,121 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.auth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Verifies Firebase ID tokens locally: RS256 signature against {@link FirebasePublicKeys},
+ * then issuer, audience, expiry, issued-at and subject as Firebase documents them. Nothing
+ * here blocks on the network once the key set is loaded.
+ *
+ * The project id comes from firebase.project-id, or from the service account file when unset.
+ */
+@Component
+public class FirebaseTokenVerifier {
+
+    private static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+    private static final long CLOCK_SKEW_SECONDS = 60;
+
+    private final FirebasePublicKeys publicKeys;
+    private final String projectId;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FirebaseTokenVerifier(FirebasePublicKeys publicKeys, @Value("${firebase.project-id:}") String projectId) {
+        this.publicKeys = publicKeys;
+        this.projectId = projectId.isBlank() ? projectIdFromServiceAccount() : projectId;
+    }
+
+    /**
+     * Claims of a valid token.
+     *
+     * @throws IllegalArgumentException naming the first check the token failed
+     */
+    public VerifiedTokenCache.VerifiedToken verify(String idToken) {
+        if (projectId == null || projectId.isBlank()) {
+            throw new IllegalStateException("Firebase project id is not configured");
+        }
+        String[] parts = idToken == null ? new String[0] : idToken.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Token is not a JWT");
+        }
+
+        JsonNode header = decodeJson(parts[0]);
+        if (!"RS256".equals(header.path("alg").asText())) {
+            throw new IllegalArgumentException("Token must be signed with RS256");
+        }
+        String kid = header.path("kid").asText("");
+        PublicKey key = kid.isEmpty() ? null : publicKeys.get(kid);
+        if (key == null) {
+            throw new IllegalArgumentException("Token is signed with an unknown key");
+        }
+        if (!signatureMatches(key, parts)) {
+            throw new IllegalArgumentException("Token signature is invalid");
+        }
+
+        JsonNode claims = decodeJson(parts[1]);
+        long now = System.currentTimeMillis() / 1000L;
+        long expiresAt = claims.path("exp").asLong(0);
+        if (!(ISSUER_PREFIX + projectId).equals(claims.path("iss").asText())) {
+            throw new IllegalArgumentException("Token has an unexpected issuer");
+        }
+        if (!projectId.equals(claims.path("aud").asText())) {
+            throw new IllegalArgumentException("Token has an unexpected audience");
+        }
+        if (expiresAt + CLOCK_SKEW_SECONDS <= now) {
+            throw new IllegalArgumentException("Token has expired");
+        }
+        if (claims.path("iat").asLong(Long.MAX_VALUE) > now + CLOCK_SKEW_SECONDS) {
+            throw new IllegalArgumentException("Token is issued in the future");
+        }
+        String uid = claims.path("sub").asText("");
+        if (uid.isEmpty() || uid.length() > 128) {
+            throw new IllegalArgumentException("Token has an invalid subject");
+        }
+
+        String email = claims.hasNonNull("email") ? claims.get("email").asText() : null;
+        String displayName = claims.hasNonNull("name") ? claims.get("name").asText() : email;
+        return new VerifiedTokenCache.VerifiedToken(uid, email, displayName, expiresAt * 1000L);
+    }
+
+    private static boolean signatureMatches(PublicKey key, String[] parts) {
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(key);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            return signature.verify(Base64.getUrlDecoder().decode(parts[2]));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private JsonNode decodeJson(String segment) {
+        try {
+            JsonNode node = objectMapper.readTree(Base64.getUrlDecoder().decode(segment));
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("Token segment is not a JSON object");
+            }
+            return node;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token is malformed", e);
+        }
+    }
+
+    private String projectIdFromServiceAccount() {
+        try (InputStream serviceAccount = getClass().getResourceAsStream("/firebase-service-account.json")) {
+            return serviceAccount == null ? null : objectMapper.readTree(serviceAccount).path("project_id").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
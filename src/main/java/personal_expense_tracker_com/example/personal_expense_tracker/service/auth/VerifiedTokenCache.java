@@ -0,0 +1,125 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Remembers ID tokens that already passed Firebase verification, keyed by the SHA-256 of the
+ * token so raw credentials are never held, until the token's own exp claim. A repeat request
+ * with the same token skips verification entirely.
+ *
+ * Bounded by auth.token-cache.max-entries with least-recently-used eviction. Hits and misses
+ * are published as auth.token.cache{result=hit|miss}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, VerifiedToken> tokens;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${auth.token-cache.max-entries:10000}") int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.tokens = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("auth.token.cache").tag("result", "hit")
+            .description("Requests whose ID token was already verified").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache").tag("result", "miss")
+            .description("Requests that needed a full ID token verification").register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", this, VerifiedTokenCache::size).register(meterRegistry);
+    }
+
+    /**
+     * The verified claims for this token, or null when it has not been seen or has expired.
+     */
+    public VerifiedToken get(String idToken) {
+        String key = hash(idToken);
+        synchronized (tokens) {
+            VerifiedToken token = tokens.get(key);
+            if (token != null && token.getExpiresAtMillis() > System.currentTimeMillis()) {
+                hits.increment();
+                return token;
+            }
+            if (token != null) {
+                tokens.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String idToken, VerifiedToken token) {
+        if (token.getExpiresAtMillis() <= System.currentTimeMillis()) {
+            return;
+        }
+        String key = hash(idToken);
+        synchronized (tokens) {
+            tokens.put(key, token);
+        }
+    }
+
+    public int size() {
+        synchronized (tokens) {
+            return tokens.size();
+        }
+    }
+
+    private static String hash(String idToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(idToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Claims kept from a verified token.
+     */
+    public static final class VerifiedToken {
+
+        private final String firebaseUid;
+        private final String email;
+        private final String displayName;
+        private final long expiresAtMillis;
+
+        public VerifiedToken(String firebaseUid, String email, String displayName, long expiresAtMillis) {
+            this.firebaseUid = firebaseUid;
+            this.email = email;
+            this.displayName = displayName;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getFirebaseUid() {
+            return firebaseUid;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+}
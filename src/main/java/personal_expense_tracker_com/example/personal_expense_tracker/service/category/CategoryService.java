@@ -5,18 +5,22 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionWriteHooks;
 
 @Service
 public class CategoryService {
     
     private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
     private CategoryRepository categoryRepository;
+    private TransactionWriteHooks writeHooks;
 
-    public CategoryService(CategoryRepository categoryRepository){
+    public CategoryService(CategoryRepository categoryRepository, TransactionWriteHooks writeHooks){
         this.categoryRepository = categoryRepository;
+        this.writeHooks = writeHooks;
     }
 
     public Category addCategory(Category category, User user) {
@@ -25,7 +29,9 @@ public class CategoryService {
             category.setUser(user);
         }
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        writeHooks.categoryAdded(user);
+        return saved;
     }
     
 
@@ -43,16 +49,21 @@ public class CategoryService {
             Category existingCategory = optionalCategory.get();
             existingCategory.setCategoryName(updatedCategory.getCategoryName());
             existingCategory.setBudget(updatedCategory.getBudget()); 
-            return categoryRepository.save(existingCategory);
+            Category saved = categoryRepository.save(existingCategory);
+            writeHooks.categoryUpdated(saved, user);
+            return saved;
         } else {
             return null;
         }
     }
 
+    @Transactional
     public void deleteCategory(Long id, User user) {
         Optional<Category> optionalCategory = categoryRepository.findByIdAndUser(id, user);
         if (optionalCategory.isPresent()) {
             categoryRepository.deleteById(id);
+            categoryRepository.flush();
+            writeHooks.categoryRemoved(user);
         } else {
             throw new NoSuchElementException("Category not found with ID: " + id + " for user");  
         }
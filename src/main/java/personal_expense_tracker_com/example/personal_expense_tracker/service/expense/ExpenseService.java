@@ -1,16 +1,23 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.service.expense;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.expense.ExpenseRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.RollupKey;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.TransactionRollupService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionWriteHooks;
 
 @Service
 public class ExpenseService {
@@ -21,6 +28,15 @@ public class ExpenseService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionWriteHooks writeHooks;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
     public List<Expense> getAllExpenses(User user) {
         return expenseRepository.findByUserOrderByDateDesc(user);
     }
@@ -29,8 +45,11 @@ public class ExpenseService {
         return expenseRepository.findByUserOrderByDateDesc(user);
     }
 
+    @Transactional
     public Expense addExpense(Expense expense) {
-        return expenseRepository.save(expense);
+        Expense saved = expenseRepository.save(expense);
+        writeHooks.added(saved);
+        return saved;
     }
 
     public Optional<Expense> getExpenseById(Long id) {
@@ -41,9 +60,11 @@ public class ExpenseService {
         return expenseRepository.findByIdAndUser(id, user);
     }
 
+    @Transactional
     public Expense updateExpense(Long id, Expense updatedExpense) {
         Expense existingExpense = expenseRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Expense not found with id: " + id));
+        RollupKey before = RollupKey.of(existingExpense);
 
         existingExpense.setDescription(updatedExpense.getDescription());
         existingExpense.setAmount(updatedExpense.getAmount());
@@ -55,9 +76,12 @@ public class ExpenseService {
             existingExpense.setCategory(category);
         }
 
-        return expenseRepository.save(existingExpense);
+        Expense saved = expenseRepository.save(existingExpense);
+        writeHooks.updated(before, saved);
+        return saved;
     }
 
+    @Transactional
     public Expense updateExpense(Long id, Expense updatedExpense, User user) {
         Optional<Expense> existingExpenseOpt = expenseRepository.findByIdAndUser(id, user);
         if (existingExpenseOpt.isEmpty()) {
@@ -65,6 +89,7 @@ public class ExpenseService {
         }
 
         Expense existingExpense = existingExpenseOpt.get();
+        RollupKey before = RollupKey.of(existingExpense);
         existingExpense.setDescription(updatedExpense.getDescription());
         existingExpense.setAmount(updatedExpense.getAmount());
         existingExpense.setDate(updatedExpense.getDate());
@@ -75,21 +100,30 @@ public class ExpenseService {
             existingExpense.setCategory(category);
         }
 
-        return expenseRepository.save(existingExpense);
+        Expense saved = expenseRepository.save(existingExpense);
+        writeHooks.updated(before, saved);
+        return saved;
     }
 
+    @Transactional
     public void removeExpense(Long expenseId) {
-        if (expenseRepository.existsById(expenseId)) {
-            expenseRepository.deleteById(expenseId); 
+        Optional<Expense> expense = expenseRepository.findById(expenseId);
+        if (expense.isPresent()) {
+            RollupKey before = RollupKey.of(expense.get());
+            expenseRepository.deleteById(expenseId);
+            writeHooks.removed(before);
         } else {
             throw new IllegalArgumentException("Expense not found with id: " + expenseId);
         }
     }
 
+    @Transactional
     public void removeExpense(Long expenseId, User user) {
         Optional<Expense> expense = expenseRepository.findByIdAndUser(expenseId, user);
         if (expense.isPresent()) {
+            RollupKey before = RollupKey.of(expense.get());
             expenseRepository.deleteById(expenseId);
+            writeHooks.removed(before);
         } else {
             throw new IllegalArgumentException("Expense not found with id: " + expenseId + " for user");
         }
@@ -116,7 +150,13 @@ public class ExpenseService {
     }
 
     public List<Expense> getExpensesByDescription(String description, User user) {
-        return expenseRepository.findByDescriptionContainingAndUser(description, user);
+        List<Expense> expenses = new ArrayList<>();
+        for (Transaction transaction : transactionSearchService.searchAll(user, description)) {
+            if (transaction instanceof Expense expense) {
+                expenses.add(expense);
+            }
+        }
+        return expenses;
     }
 
     public List<Expense> getExpensesOrderedByDate(User user) {
@@ -148,12 +188,19 @@ public class ExpenseService {
         return expenseRepository.countByCategoryCategoryNameAndUser(categoryName, user);
     }
 
+    @Transactional
     public Expense createExpense(Expense expense) {
-        return expenseRepository.save(expense);
+        return addExpense(expense);
     }
 
+    @Transactional
     public void deleteExpense(Long id) {
-        expenseRepository.deleteById(id);
+        Optional<Expense> expense = expenseRepository.findById(id);
+        if (expense.isPresent()) {
+            RollupKey before = RollupKey.of(expense.get());
+            expenseRepository.deleteById(id);
+            writeHooks.removed(before);
+        }
     }
 
     public double getTotalExpensesByCategory(Long categoryId, User user) {
@@ -162,8 +209,7 @@ public class ExpenseService {
     }
 
     public double getTotalExpensesByDateRange(LocalDate startDate, LocalDate endDate, User user) {
-        Double total = expenseRepository.getTotalExpensesByDateRangeForUser(startDate, endDate, user);
-        return total != null ? total : 0.0;
+        return rollupService.sumBetween(user, "EXPENSE", startDate, endDate);
     }
 
     // Legacy methods for backward compatibility
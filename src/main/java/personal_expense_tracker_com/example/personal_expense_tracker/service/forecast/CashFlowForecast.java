@@ -0,0 +1,61 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily balance curve from today to the end of the horizon, starting from the balance of all
+ * transactions dated up to today. The lowest balance is what the user can safely spend now
+ * without any recurring payment in the horizon overdrawing them.
+ */
+public class CashFlowForecast {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final double startingBalance;
+    private final double lowestBalance;
+    private final LocalDate lowestBalanceDate;
+    private final List<ForecastDay> days;
+
+    public CashFlowForecast(LocalDate from, LocalDate to, double startingBalance, double lowestBalance,
+                            LocalDate lowestBalanceDate, List<ForecastDay> days) {
+        this.from = from;
+        this.to = to;
+        this.startingBalance = startingBalance;
+        this.lowestBalance = lowestBalance;
+        this.lowestBalanceDate = lowestBalanceDate;
+        this.days = days;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public double getStartingBalance() {
+        return startingBalance;
+    }
+
+    public double getEndingBalance() {
+        return days.isEmpty() ? startingBalance : days.get(days.size() - 1).getBalance();
+    }
+
+    public double getLowestBalance() {
+        return lowestBalance;
+    }
+
+    public LocalDate getLowestBalanceDate() {
+        return lowestBalanceDate;
+    }
+
+    public double getSafeToSpend() {
+        return Math.max(0.0, lowestBalance);
+    }
+
+    public List<ForecastDay> getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,92 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.recurring.RecurringTransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionService;
+
+/**
+ * Projects a user's balance forward over their active recurring templates without
+ * materializing anything. The work is one template query, one cached ledger read for the
+ * starting balance, and a single pass over the merged occurrence stream into per-day arrays.
+ */
+@Service
+public class CashFlowForecastService {
+
+    public static final int MAX_MONTHS = 24;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    public List<ForecastOccurrence> getOccurrences(int months, User user) {
+        LocalDate today = LocalDate.now();
+        Iterator<ForecastOccurrence> occurrences = new RecurringOccurrenceIterator(
+            recurringTransactionRepository.findByUserAndIsActiveTrue(user), horizonEnd(today, months));
+        List<ForecastOccurrence> result = new ArrayList<>();
+        occurrences.forEachRemaining(result::add);
+        return result;
+    }
+
+    public CashFlowForecast getForecast(int months, User user) {
+        LocalDate today = LocalDate.now();
+        return project(recurringTransactionRepository.findByUserAndIsActiveTrue(user),
+            transactionService.getBalanceAsOf(today, user), today, months);
+    }
+
+    /**
+     * Daily curve from today through today plus the given months. Occurrences already due but
+     * not yet materialized land on today.
+     */
+    static CashFlowForecast project(List<RecurringTransaction> templates, double startingBalance, LocalDate today, int months) {
+        LocalDate to = horizonEnd(today, months);
+        int dayCount = (int) ChronoUnit.DAYS.between(today, to) + 1;
+        double[] inflow = new double[dayCount];
+        double[] outflow = new double[dayCount];
+
+        long firstDay = today.toEpochDay();
+        Iterator<ForecastOccurrence> occurrences = new RecurringOccurrenceIterator(templates, to);
+        while (occurrences.hasNext()) {
+            ForecastOccurrence occurrence = occurrences.next();
+            int day = (int) Math.max(0L, occurrence.getDate().toEpochDay() - firstDay);
+            if (RecurringTransaction.TransactionType.INCOME.name().equals(occurrence.getTransactionType())) {
+                inflow[day] += occurrence.getAmount();
+            } else {
+                outflow[day] += occurrence.getAmount();
+            }
+        }
+
+        List<ForecastDay> days = new ArrayList<>(dayCount);
+        double balance = startingBalance;
+        double lowest = startingBalance;
+        LocalDate lowestDate = today;
+        for (int day = 0; day < dayCount; day++) {
+            balance += inflow[day] - outflow[day];
+            LocalDate date = today.plusDays(day);
+            if (balance < lowest) {
+                lowest = balance;
+                lowestDate = date;
+            }
+            days.add(new ForecastDay(date, inflow[day], outflow[day], balance));
+        }
+        return new CashFlowForecast(today, to, startingBalance, lowest, lowestDate, days);
+    }
+
+    private static LocalDate horizonEnd(LocalDate today, int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new IllegalArgumentException("months must be between 1 and " + MAX_MONTHS);
+        }
+        return today.plusMonths(months);
+    }
+}
@@ -0,0 +1,37 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import java.time.LocalDate;
+
+/**
+ * Projected recurring inflow, outflow and closing balance for one day.
+ */
+public class ForecastDay {
+
+    private final LocalDate date;
+    private final double inflow;
+    private final double outflow;
+    private final double balance;
+
+    public ForecastDay(LocalDate date, double inflow, double outflow, double balance) {
+        this.date = date;
+        this.inflow = inflow;
+        this.outflow = outflow;
+        this.balance = balance;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public double getInflow() {
+        return inflow;
+    }
+
+    public double getOutflow() {
+        return outflow;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+}
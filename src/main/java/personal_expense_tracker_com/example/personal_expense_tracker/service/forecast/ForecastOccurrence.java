@@ -0,0 +1,45 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import java.time.LocalDate;
+
+/**
+ * One projected occurrence of a recurring transaction. The amount is positive, as stored;
+ * the type says which way it moves the balance.
+ */
+public class ForecastOccurrence {
+
+    private final LocalDate date;
+    private final Long recurringTransactionId;
+    private final String description;
+    private final double amount;
+    private final String transactionType;
+
+    public ForecastOccurrence(LocalDate date, Long recurringTransactionId, String description, double amount,
+                              String transactionType) {
+        this.date = date;
+        this.recurringTransactionId = recurringTransactionId;
+        this.description = description;
+        this.amount = amount;
+        this.transactionType = transactionType;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getRecurringTransactionId() {
+        return recurringTransactionId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+}
@@ -0,0 +1,72 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
+
+/**
+ * Lazily expands recurring templates into one date-ordered stream of occurrences, from each
+ * template's next due date through the given last day. Templates are merged through a heap of
+ * one cursor each, so only the occurrences actually pulled are ever computed.
+ *
+ * Occurrences step with {@link RecurringTransaction#occurrenceAfter}, the same rule the
+ * recurring processor uses, so the forecast matches what will be materialized.
+ */
+public class RecurringOccurrenceIterator implements Iterator<ForecastOccurrence> {
+
+    private final LocalDate through;
+    private final PriorityQueue<Cursor> cursors;
+
+    public RecurringOccurrenceIterator(List<RecurringTransaction> templates, LocalDate through) {
+        this.through = through;
+        this.cursors = new PriorityQueue<>(Math.max(1, templates.size()),
+            Comparator.comparing((Cursor cursor) -> cursor.next).thenComparingInt(cursor -> cursor.order));
+        for (int i = 0; i < templates.size(); i++) {
+            RecurringTransaction template = templates.get(i);
+            if (template.getNextDueDate() != null && template.getRecurrencePattern() != null
+                    && !template.getNextDueDate().isAfter(through)) {
+                cursors.add(new Cursor(template, template.getNextDueDate(), i));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !cursors.isEmpty();
+    }
+
+    @Override
+    public ForecastOccurrence next() {
+        Cursor cursor = cursors.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        RecurringTransaction template = cursor.template;
+        ForecastOccurrence occurrence = new ForecastOccurrence(cursor.next, template.getId(), template.getDescription(),
+            template.getAmount(), template.getTransactionType().name());
+        LocalDate following = template.occurrenceAfter(cursor.next);
+        if (following.isAfter(cursor.next) && !following.isAfter(through)) {
+            cursor.next = following;
+            cursors.add(cursor);
+        }
+        return occurrence;
+    }
+
+    private static final class Cursor {
+
+        private final RecurringTransaction template;
+        private final int order;
+        private LocalDate next;
+
+        private Cursor(RecurringTransaction template, LocalDate next, int order) {
+            this.template = template;
+            this.next = next;
+            this.order = order;
+        }
+    }
+}
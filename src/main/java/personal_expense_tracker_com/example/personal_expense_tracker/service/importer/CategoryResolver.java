@@ -0,0 +1,42 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+
+/**
+ * Per-import cache of the user's categories by case-insensitive name. The user's categories
+ * are loaded with one query on first use; unknown names resolve to null (uncategorized).
+ */
+public class CategoryResolver {
+
+    private final CategoryRepository categoryRepository;
+    private final User user;
+    private Map<String, Category> byName;
+
+    public CategoryResolver(CategoryRepository categoryRepository, User user) {
+        this.categoryRepository = categoryRepository;
+        this.user = user;
+    }
+
+    public Category resolve(String categoryName) {
+        if (categoryName == null || categoryName.isBlank()) {
+            return null;
+        }
+        if (byName == null) {
+            byName = new HashMap<>();
+            for (Category category : categoryRepository.findByUser(user)) {
+                byName.put(key(category.getCategoryName()), category);
+            }
+        }
+        return byName.get(key(categoryName));
+    }
+
+    private static String key(String categoryName) {
+        return categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,135 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a CSV statement with a header row. Columns are matched by name so common bank
+ * exports work as-is: a date column, either a signed amount or separate debit/credit
+ * columns, and optional description, category and type columns.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private final BufferedReader reader;
+    private final int dateColumn;
+    private final int amountColumn;
+    private final int debitColumn;
+    private final int creditColumn;
+    private final int descriptionColumn;
+    private final int categoryColumn;
+    private final int typeColumn;
+    private long recordNumber = 0;
+
+    public CsvStatementParser(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            header.set(i, header.get(i).replace("\uFEFF", "").trim().toLowerCase().replace('_', ' '));
+        }
+        this.dateColumn = find(header, "date", "transaction date", "posted date", "posting date");
+        this.amountColumn = find(header, "amount");
+        this.debitColumn = find(header, "debit", "withdrawal");
+        this.creditColumn = find(header, "credit", "deposit");
+        this.descriptionColumn = find(header, "description", "memo", "payee", "name", "details");
+        this.categoryColumn = find(header, "category");
+        this.typeColumn = find(header, "type");
+        if (dateColumn < 0 || (amountColumn < 0 && debitColumn < 0 && creditColumn < 0)) {
+            throw new IllegalArgumentException("CSV header needs a date column and an amount (or debit/credit) column");
+        }
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isBlank());
+
+        recordNumber++;
+        String amount = field(row, amountColumn);
+        String typeHint = field(row, typeColumn);
+        if (amount == null || amount.isBlank()) {
+            String debit = field(row, debitColumn);
+            String credit = field(row, creditColumn);
+            if (debit != null && !debit.isBlank()) {
+                amount = debit;
+                typeHint = "DEBIT";
+            } else {
+                amount = credit;
+                typeHint = "CREDIT";
+            }
+        }
+        return new StatementRecord(recordNumber, field(row, dateColumn), amount,
+            field(row, descriptionColumn), field(row, categoryColumn), typeHint);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int find(List<String> header, String... names) {
+        for (String name : names) {
+            int index = header.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> row, int column) {
+        return column >= 0 && column < row.size() ? row.get(column) : null;
+    }
+
+    // RFC 4180 row: quoted fields may contain commas, doubled quotes and line breaks
+    private List<String> readRow() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("Unterminated quoted field in CSV record " + (recordNumber + 1));
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
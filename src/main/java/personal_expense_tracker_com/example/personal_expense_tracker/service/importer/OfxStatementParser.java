@@ -0,0 +1,118 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Reads STMTTRN blocks from an OFX/QFX file. Handles both the SGML flavour (OFX 1.x, where
+ * leaf elements have no closing tag) and XML (OFX 2.x) by scanning tags as a character
+ * stream rather than building a document tree.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    private final BufferedReader reader;
+    private long recordNumber = 0;
+
+    public OfxStatementParser(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        String tag;
+        // Skip headers and envelope up to the next transaction
+        while ((tag = nextTag()) != null && !tag.equals("STMTTRN")) {
+            skipValue();
+        }
+        if (tag == null) {
+            return null;
+        }
+
+        String date = null;
+        String amount = null;
+        String name = null;
+        String memo = null;
+        String type = null;
+        while ((tag = nextTag()) != null && !tag.equals("/STMTTRN")) {
+            String value = readValue();
+            switch (tag) {
+                case "DTPOSTED" -> date = value;
+                case "TRNAMT" -> amount = value;
+                case "NAME" -> name = value;
+                case "MEMO" -> memo = value;
+                case "TRNTYPE" -> type = value;
+                default -> { }
+            }
+        }
+        if (tag == null) {
+            throw new IllegalArgumentException("OFX file ends inside a STMTTRN block");
+        }
+
+        recordNumber++;
+        String description = name;
+        if (memo != null && !memo.isEmpty() && !memo.equalsIgnoreCase(name)) {
+            description = name == null || name.isEmpty() ? memo : name + " - " + memo;
+        }
+        // DTPOSTED is YYYYMMDD[HHMMSS[.XXX]][[offset:TZ]]; only the date part matters here
+        if (date != null && date.length() >= 8) {
+            date = date.substring(0, 8);
+        }
+        return new StatementRecord(recordNumber, date, amount, description, null, type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Returns the next tag name, upper-cased, with a leading '/' for closing tags
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // discard text outside tags
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder name = new StringBuilder();
+        while ((c = reader.read()) != -1 && c != '>') {
+            name.append((char) c);
+        }
+        return name.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Reads element text up to (but not including) the next '<'
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        reader.mark(1);
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            value.append((char) c);
+            reader.mark(1);
+        }
+        if (c == '<') {
+            reader.reset();
+        }
+        return unescape(value.toString().trim());
+    }
+
+    private void skipValue() throws IOException {
+        reader.mark(1);
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            reader.mark(1);
+        }
+        if (c == '<') {
+            reader.reset();
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+            .replace("&apos;", "'").replace("&nbsp;", " ").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,24 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public enum StatementFormat {
+    CSV,
+    OFX;
+
+    public StatementParser open(BufferedReader reader) throws IOException {
+        return this == CSV ? new CsvStatementParser(reader) : new OfxStatementParser(reader);
+    }
+
+    public static StatementFormat fromFileName(String fileName) {
+        String lower = fileName == null ? "" : fileName.toLowerCase();
+        if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+            return OFX;
+        }
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Cannot tell the statement format from file name: " + fileName);
+    }
+}
@@ -0,0 +1,214 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.ImportJob;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.importer.ImportJobRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionBatchService;
+
+/**
+ * Imports a CSV or OFX bank statement as a pull pipeline:
+ * parse -> normalize -> resolve category -> de-duplicate -> batched write.
+ *
+ * The parser yields one record at a time and at most {@code chunkSize} records are held
+ * before they are written, so memory stays constant regardless of file length. Each chunk
+ * commits together with the job's counters and checkpoint; re-uploading the same file with
+ * the job id skips records up to the checkpoint.
+ */
+@Service
+public class StatementImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementImportService.class);
+
+    private final ImportJobRepository importJobRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionTemplate transactionTemplate;
+    private final StatementNormalizer normalizer = new StatementNormalizer();
+
+    @Value("${imports.chunk-size:1000}")
+    private int chunkSize;
+
+    @Autowired
+    public StatementImportService(ImportJobRepository importJobRepository,
+                                  CategoryRepository categoryRepository,
+                                  TransactionRepository transactionRepository,
+                                  TransactionBatchService transactionBatchService,
+                                  PlatformTransactionManager transactionManager) {
+        this.importJobRepository = importJobRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionBatchService = transactionBatchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts a new import job, or resumes {@code resumeJobId} when given. The job is
+     * returned in its final state; a parse or database failure leaves it FAILED with its
+     * checkpoint at the last committed chunk.
+     */
+    public ImportJob runImport(InputStream input, String fileName, long fileSize, StatementFormat format,
+                               Long resumeJobId, User user) {
+        ImportJob job = resumeJobId == null
+            ? importJobRepository.save(new ImportJob(fileName, format.name(), fileSize, user))
+            : resumableJob(resumeJobId, fileName, fileSize, format, user);
+        long skipThrough = job.getCheckpointRecord();
+        logger.info("Import job {} started for user {} ({} {}, resuming after record {})",
+            job.getId(), user.getId(), format, fileName, skipThrough);
+
+        CategoryResolver categories = new CategoryResolver(categoryRepository, user);
+        Chunk chunk = new Chunk(new HashMap<>());
+        try (StatementParser parser = format.open(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)))) {
+            StatementRecord record;
+            while ((record = parser.next()) != null) {
+                if (record.getRecordNumber() <= skipThrough) {
+                    continue;
+                }
+                chunk.lastRecord = record.getRecordNumber();
+                try {
+                    Transaction transaction = normalizer.normalize(record, user);
+                    transaction.setCategory(categories.resolve(record.getCategoryName()));
+                    chunk.transactions.add(transaction);
+                } catch (IllegalArgumentException e) {
+                    logger.debug("Import job {} rejected record {}: {}", job.getId(), record.getRecordNumber(), e.getMessage());
+                    chunk.rejected++;
+                }
+                if (chunk.size() >= chunkSize) {
+                    job = writeChunk(job, chunk, user);
+                    chunk = new Chunk(chunk.seen);
+                }
+            }
+            if (chunk.size() > 0) {
+                job = writeChunk(job, chunk, user);
+            }
+            job.setStatus(ImportJob.Status.COMPLETED);
+            job.setErrorMessage(null);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Import job {} failed after record {}: {}", job.getId(), job.getCheckpointRecord(), e.getMessage());
+            job.setStatus(ImportJob.Status.FAILED);
+            job.setErrorMessage(e.getMessage());
+        }
+        job = importJobRepository.save(job);
+        logger.info("Import job {} {}: {} imported, {} duplicates, {} rejected",
+            job.getId(), job.getStatus(), job.getImported(), job.getDuplicates(), job.getRejected());
+        return job;
+    }
+
+    private ImportJob resumableJob(Long jobId, String fileName, long fileSize, StatementFormat format, User user) {
+        ImportJob job = importJobRepository.findByIdAndUser(jobId, user)
+            .orElseThrow(() -> new IllegalArgumentException("Import job not found: " + jobId));
+        if (job.getStatus() == ImportJob.Status.COMPLETED) {
+            throw new IllegalArgumentException("Import job " + jobId + " has already completed");
+        }
+        if (job.getFileSize() != fileSize || !format.name().equals(job.getFormat())) {
+            throw new IllegalArgumentException("Uploaded file does not match import job " + jobId);
+        }
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setErrorMessage(null);
+        return importJobRepository.save(job);
+    }
+
+    // Duplicate check, insert and checkpoint commit atomically. The job is re-read inside the
+    // transaction so a rolled-back chunk leaves the caller holding the last committed state.
+    private ImportJob writeChunk(ImportJob job, Chunk chunk, User user) {
+        return transactionTemplate.execute(status -> {
+            List<Transaction> fresh = withoutDuplicates(chunk, user);
+            transactionBatchService.persistInBatches(fresh, false);
+            ImportJob current = importJobRepository.findById(job.getId()).orElseThrow();
+            current.recordChunk(chunk.lastRecord, fresh.size(), chunk.transactions.size() - fresh.size(), chunk.rejected);
+            return importJobRepository.save(current);
+        });
+    }
+
+    /**
+     * Drops rows that already exist for the user with the same date, type, amount and
+     * description. Matching is by count, so a statement with two identical coffees on one
+     * day imports both unless two such rows are already stored. Rows earlier chunks of this
+     * import read have already been matched or written, so they are taken off the stored
+     * counts; they are remembered only for dates within the latest chunk's range, which
+     * covers a chunk boundary in date-sorted statements.
+     */
+    private List<Transaction> withoutDuplicates(Chunk chunk, User user) {
+        List<Transaction> transactions = chunk.transactions;
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+        LocalDate start = transactions.get(0).getDate();
+        LocalDate end = start;
+        for (Transaction transaction : transactions) {
+            start = transaction.getDate().isBefore(start) ? transaction.getDate() : start;
+            end = transaction.getDate().isAfter(end) ? transaction.getDate() : end;
+        }
+
+        Map<String, Integer> existing = new HashMap<>();
+        for (Object[] row : transactionRepository.findFingerprintsBetween(user, start, end)) {
+            String key = fingerprint((LocalDate) row[0], (String) row[1], ((Number) row[2]).doubleValue(), (String) row[3]);
+            existing.merge(key, 1, Integer::sum);
+        }
+        chunk.seen.forEach((key, count) -> existing.computeIfPresent(key, (k, stored) -> stored - count));
+
+        List<Transaction> fresh = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            String key = fingerprint(transaction.getDate(), transaction.getType(), transaction.getAmount(), transaction.getDescription());
+            Integer remaining = existing.get(key);
+            if (remaining != null && remaining > 0) {
+                existing.put(key, remaining - 1);
+            } else {
+                fresh.add(transaction);
+            }
+            chunk.seen.merge(key, 1, Integer::sum);
+        }
+        LocalDate first = start;
+        LocalDate last = end;
+        chunk.seen.keySet().removeIf(key -> {
+            LocalDate date = LocalDate.parse(key.substring(0, key.indexOf('|')));
+            return date.isBefore(first) || date.isAfter(last);
+        });
+        return fresh;
+    }
+
+    private static String fingerprint(LocalDate date, String type, double amount, String description) {
+        return date + "|" + type + "|" + Math.round(amount * 100) + "|"
+            + StatementNormalizer.normalizeDescription(description).toLowerCase(Locale.ROOT);
+    }
+
+    private static class Chunk {
+        final List<Transaction> transactions = new ArrayList<>();
+        // Fingerprint counts of the rows this import has read so far, carried from chunk to chunk
+        final Map<String, Integer> seen;
+        long rejected = 0;
+        long lastRecord = 0;
+
+        Chunk(Map<String, Integer> seen) {
+            this.seen = seen;
+        }
+
+        long size() {
+            return transactions.size() + rejected;
+        }
+    }
+}
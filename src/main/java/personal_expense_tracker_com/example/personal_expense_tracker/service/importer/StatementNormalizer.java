@@ -0,0 +1,95 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+
+/**
+ * Turns a raw statement record into an unsaved Expense or Income with a positive amount.
+ * Throws IllegalArgumentException with a short reason when the record cannot be used.
+ */
+public class StatementNormalizer {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.BASIC_ISO_DATE,
+        DateTimeFormatter.ofPattern("M/d/yyyy"),
+        DateTimeFormatter.ofPattern("d.M.yyyy")
+    );
+
+    private static final Set<String> EXPENSE_HINTS = Set.of(
+        "DEBIT", "DR", "EXPENSE", "WITHDRAWAL", "PAYMENT", "POS", "ATM", "FEE", "CHECK", "SRVCHG"
+    );
+
+    public Transaction normalize(StatementRecord record, User user) {
+        LocalDate date = parseDate(record.getDate());
+        double amount = parseAmount(record.getAmount());
+        if (amount == 0) {
+            throw new IllegalArgumentException("Amount is zero");
+        }
+        String hint = record.getTypeHint() == null ? "" : record.getTypeHint().trim().toUpperCase(Locale.ROOT);
+        boolean expense = amount < 0 || EXPENSE_HINTS.contains(hint);
+        String description = normalizeDescription(record.getDescription());
+
+        return expense
+            ? new Expense(Math.abs(amount), description, date, null, user)
+            : new Income(Math.abs(amount), description, date, null, user);
+    }
+
+    public static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        String collapsed = description.trim().replaceAll("\\s+", " ");
+        return collapsed.length() > MAX_DESCRIPTION_LENGTH ? collapsed.substring(0, MAX_DESCRIPTION_LENGTH) : collapsed;
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Date is missing");
+        }
+        String trimmed = value.trim();
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(trimmed, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized date: " + trimmed);
+    }
+
+    // Accepts "1,234.56", "1.234,56", "-12.00", "(12.00)" and currency symbols
+    private double parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Amount is missing");
+        }
+        String trimmed = value.trim();
+        boolean negative = trimmed.startsWith("-") || (trimmed.startsWith("(") && trimmed.endsWith(")"));
+        String digits = trimmed.replaceAll("[^0-9.,]", "");
+        int lastComma = digits.lastIndexOf(',');
+        int lastDot = digits.lastIndexOf('.');
+        if (lastComma > lastDot && digits.length() - lastComma - 1 != 3) {
+            // Comma is the decimal separator
+            digits = digits.replace(".", "").replace(',', '.');
+        } else {
+            digits = digits.replace(",", "");
+        }
+        try {
+            double amount = Double.parseDouble(digits);
+            return negative ? -amount : amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unrecognized amount: " + trimmed);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based reader over a statement file. Implementations hold at most one record
+ * in memory, so a file of any length is read in constant space.
+ */
+public interface StatementParser extends Closeable {
+
+    /**
+     * @return the next record, or null at end of file
+     */
+    StatementRecord next() throws IOException;
+}
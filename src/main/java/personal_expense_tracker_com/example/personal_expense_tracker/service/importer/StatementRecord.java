@@ -0,0 +1,49 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+/**
+ * One raw statement line as read from the file, before normalization.
+ * recordNumber is 1-based and is what import checkpoints refer to.
+ */
+public class StatementRecord {
+
+    private final long recordNumber;
+    private final String date;
+    private final String amount;
+    private final String description;
+    private final String categoryName;
+    private final String typeHint;
+
+    public StatementRecord(long recordNumber, String date, String amount, String description,
+                           String categoryName, String typeHint) {
+        this.recordNumber = recordNumber;
+        this.date = date;
+        this.amount = amount;
+        this.description = description;
+        this.categoryName = categoryName;
+        this.typeHint = typeHint;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getTypeHint() {
+        return typeHint;
+    }
+}
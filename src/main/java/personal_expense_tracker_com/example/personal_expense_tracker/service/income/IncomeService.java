@@ -8,9 +8,12 @@ import personal_expense_tracker_com.example.personal_expense_tracker.entity.Inco
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.income.IncomeRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.RollupKey;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionWriteHooks;
 
 @Service
 public class IncomeService {
@@ -21,6 +24,9 @@ public class IncomeService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TransactionWriteHooks writeHooks;
+
     public List<Income> findAll(){
         return incomeRepository.findAll();
     }
@@ -29,8 +35,11 @@ public class IncomeService {
         return incomeRepository.findByUserOrderByDateDesc(user);
     }
     
+    @Transactional
     public Income addIncome(Income income) {
-        return incomeRepository.save(income);
+        Income saved = incomeRepository.save(income);
+        writeHooks.added(saved);
+        return saved;
     }
     
     public List<Income> getAllIncomes() {
@@ -45,9 +54,11 @@ public class IncomeService {
         return incomeRepository.findByIdAndUser(id, user).orElse(null);
     }
     
+    @Transactional
     public Income updateIncome(Long id, Income updatedIncome) {
         Income existingIncome = incomeRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Income not found with id: " + id));
+        RollupKey before = RollupKey.of(existingIncome);
 
         existingIncome.setDescription(updatedIncome.getDescription());
         existingIncome.setAmount(updatedIncome.getAmount());
@@ -59,9 +70,12 @@ public class IncomeService {
             existingIncome.setCategory(category);
         }
 
-        return incomeRepository.save(existingIncome);
+        Income saved = incomeRepository.save(existingIncome);
+        writeHooks.updated(before, saved);
+        return saved;
     }
 
+    @Transactional
     public Income updateIncome(Long id, Income updatedIncome, User user) {
         Optional<Income> existingIncomeOpt = incomeRepository.findByIdAndUser(id, user);
         if (existingIncomeOpt.isEmpty()) {
@@ -69,6 +83,7 @@ public class IncomeService {
         }
 
         Income existingIncome = existingIncomeOpt.get();
+        RollupKey before = RollupKey.of(existingIncome);
         existingIncome.setDescription(updatedIncome.getDescription());
         existingIncome.setAmount(updatedIncome.getAmount());
         existingIncome.setDate(updatedIncome.getDate());
@@ -79,21 +94,30 @@ public class IncomeService {
             existingIncome.setCategory(category);
         }
 
-        return incomeRepository.save(existingIncome);
+        Income saved = incomeRepository.save(existingIncome);
+        writeHooks.updated(before, saved);
+        return saved;
     }
     
+    @Transactional
     public void removeIncome(Long incomeId) {
-        if (incomeRepository.existsById(incomeId)) {
-            incomeRepository.deleteById(incomeId); 
+        Optional<Income> income = incomeRepository.findById(incomeId);
+        if (income.isPresent()) {
+            RollupKey before = RollupKey.of(income.get());
+            incomeRepository.deleteById(incomeId);
+            writeHooks.removed(before);
         } else {
             throw new IllegalArgumentException("Income not found with id: " + incomeId);
         }
     }
 
+    @Transactional
     public void removeIncome(Long incomeId, User user) {
         Optional<Income> income = incomeRepository.findByIdAndUser(incomeId, user);
         if (income.isPresent()) {
+            RollupKey before = RollupKey.of(income.get());
             incomeRepository.deleteById(incomeId);
+            writeHooks.removed(before);
         } else {
             throw new IllegalArgumentException("Income not found with id: " + incomeId + " for user");
         }
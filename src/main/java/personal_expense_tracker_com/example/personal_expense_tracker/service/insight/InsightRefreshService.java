@@ -0,0 +1,120 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ai.AIFinancialInsightService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.job.JobLeaseService;
+
+/**
+ * Regenerates a user's insights off the request thread. At most one regeneration per user is
+ * queued or running on this node. Across nodes, the worker claims a job lease named after the
+ * stale batch ("insight-refresh:42@2025-06-01T09:00"), so two nodes that see the same stale
+ * batch regenerate it only once. A node that dies mid-run lets the lease expire, and the next
+ * stale read retries.
+ *
+ * Work runs on insights.refresh.workers threads with room for insights.refresh.queue-capacity
+ * waiting users. When the queue is full the request is dropped, and a later read asks again.
+ * Outcomes are counted in insights.refresh{outcome}.
+ */
+@Service
+public class InsightRefreshService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsightRefreshService.class);
+
+    private final AIFinancialInsightService aiFinancialInsightService;
+    private final JobLeaseService jobLeaseService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor pool;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public InsightRefreshService(AIFinancialInsightService aiFinancialInsightService, JobLeaseService jobLeaseService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${insights.refresh.workers:2}") int workers,
+                                 @Value("${insights.refresh.queue-capacity:100}") int queueCapacity) {
+        this.aiFinancialInsightService = aiFinancialInsightService;
+        this.jobLeaseService = jobLeaseService;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "insight-refresh-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public boolean isRefreshing(User user) {
+        return inFlight.contains(user.getId());
+    }
+
+    /**
+     * Queues a regeneration unless one is already pending for the user.
+     *
+     * @param staleAsOf calculatedAt of the batch being replaced, or null when the user has none
+     * @return true when a regeneration is now queued or running for the user
+     */
+    public boolean requestRefresh(User user, LocalDateTime staleAsOf) {
+        Long userId = user.getId();
+        if (!inFlight.add(userId)) {
+            count("deduplicated");
+            return true;
+        }
+        try {
+            pool.execute(() -> refresh(user, "insight-refresh:" + userId + "@" + (staleAsOf != null ? staleAsOf : "none")));
+            count("queued");
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(userId);
+            count("rejected");
+            logger.debug("Insight refresh queue is full; user {} will be retried on a later read", userId);
+            return false;
+        }
+    }
+
+    private void refresh(User user, String leaseName) {
+        try {
+            if (!jobLeaseService.tryAcquire(leaseName)) {
+                count("deduplicated");
+                return;
+            }
+            try (JobLeaseService.Heartbeat ignored = jobLeaseService.keepAlive(leaseName)) {
+                aiFinancialInsightService.generateAIInsights(user);
+            } catch (RuntimeException e) {
+                jobLeaseService.release(leaseName);
+                throw e;
+            }
+            jobLeaseService.complete(leaseName);
+            count("completed");
+        } catch (RuntimeException e) {
+            count("failed");
+            logger.warn("Insight refresh failed for user {}: {}", user.getId(), e.getMessage());
+        } finally {
+            inFlight.remove(user.getId());
+        }
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("insights.refresh", "outcome", outcome).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
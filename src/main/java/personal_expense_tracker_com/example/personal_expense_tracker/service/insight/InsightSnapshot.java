@@ -0,0 +1,33 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight;
+
+import java.util.List;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+
+/**
+ * The last computed insights, and whether a newer set is being generated in the background.
+ */
+public class InsightSnapshot {
+
+    private final List<FinancialInsight> insights;
+    private final boolean stale;
+    private final boolean refreshing;
+
+    public InsightSnapshot(List<FinancialInsight> insights, boolean stale, boolean refreshing) {
+        this.insights = insights;
+        this.stale = stale;
+        this.refreshing = refreshing;
+    }
+
+    public List<FinancialInsight> getInsights() {
+        return insights;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public boolean isRefreshing() {
+        return refreshing;
+    }
+}
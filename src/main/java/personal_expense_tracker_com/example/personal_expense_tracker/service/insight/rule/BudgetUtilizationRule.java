@@ -0,0 +1,63 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.SpendingBreakdown;
+
+/**
+ * Month-to-date spending against the budget of every budgeted category.
+ */
+@Component
+@Order(120)
+public class BudgetUtilizationRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "budget-utilization";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.PERIODIC;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.CATEGORIES, InsightAggregate.RECENT_EXPENSES);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LocalDate today = context.getToday();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        SpendingBreakdown recent = context.getRecentExpenses();
+        List<FinancialInsight> insights = new ArrayList<>();
+        
+        for (Category category : context.getCategories()) {
+            if (category.getBudget() > 0) {
+                double totalSpent = recent.forCategoryBetween(category.getId(), monthStart, today);
+                double utilization = (totalSpent / category.getBudget()) * 100;
+                
+                insights.add(new FinancialInsight(
+                    FinancialInsight.InsightType.BUDGET_UTILIZATION.toString(),
+                    String.format("%s Budget Utilization", category.getCategoryName()),
+                    String.format("You've used %.1f%% of your %s budget", utilization, category.getCategoryName()),
+                    totalSpent,
+                    utilization,
+                    "Current Month",
+                    category,
+                    context.getUser()
+                ));
+            }
+        }
+        return insights;
+    }
+}
@@ -0,0 +1,101 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerColumns;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerStatistics;
+
+/**
+ * The category with the largest share of all-time spending, plus a budget alert for every
+ * category whose all-time spending exceeds its budget.
+ */
+@Component
+@Order(30)
+public class CategoryAnalysisRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "category-analysis";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.AI;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.LEDGER, InsightAggregate.CATEGORIES);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LedgerColumns ledger = context.getLedger();
+        LedgerStatistics statistics = context.getLedgerStatistics();
+        Map<Long, Category> categories = context.getCategoriesById();
+        User user = context.getUser();
+        List<FinancialInsight> insights = new ArrayList<>();
+        
+        Map<Category, Double> categorySpending = new HashMap<>();
+        for (int index = 0; index < statistics.categoryCount(); index++) {
+            Category category = categories.get(ledger.categoryIdAt(index));
+            double spent = statistics.expenseForCategoryIndex(index);
+            if (category != null && spent > 0) {
+                categorySpending.put(category, spent);
+            }
+        }
+        if (categorySpending.isEmpty()) {
+            return insights;
+        }
+        
+        // Find top spending category
+        Map.Entry<Category, Double> topCategory = categorySpending.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .orElseThrow();
+        double totalSpending = categorySpending.values().stream().mapToDouble(Double::doubleValue).sum();
+        double percentage = (topCategory.getValue() / totalSpending) * 100;
+        
+        insights.add(new FinancialInsight(
+            "CATEGORY_ANALYSIS",
+            "Your Biggest Expense Category",
+            String.format("%s accounts for %.1f%% of your total spending at $%.2f", 
+                topCategory.getKey().getCategoryName(), percentage, topCategory.getValue()),
+            topCategory.getValue(),
+            percentage,
+            "current",
+            topCategory.getKey(),
+            user
+        ));
+        
+        // Find categories with budget overruns
+        categorySpending.forEach((category, spent) -> {
+            if (category.getBudget() > 0) {
+                double budgetUtilization = (spent / category.getBudget()) * 100;
+                if (budgetUtilization > 100) {
+                    insights.add(new FinancialInsight(
+                        "BUDGET_ALERT",
+                        "Budget Exceeded",
+                        String.format("You've exceeded your %s budget by %.1f%%", 
+                            category.getCategoryName(), budgetUtilization - 100),
+                        spent,
+                        budgetUtilization,
+                        "current",
+                        category,
+                        user
+                    ));
+                }
+            }
+        });
+        return insights;
+    }
+}
@@ -0,0 +1,66 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+
+/**
+ * The category with the largest share of all-time spending, from grouped totals.
+ */
+@Component
+@Order(140)
+public class CategoryComparisonRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "category-comparison";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.PERIODIC;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.CATEGORIES, InsightAggregate.CATEGORY_TOTALS);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        Map<Long, Double> totals = context.getCategoryTotals();
+        Category topCategory = null;
+        double topSpending = 0.0;
+        double totalSpending = 0.0;
+        for (Category category : context.getCategories()) {
+            double spent = totals.getOrDefault(category.getId(), 0.0);
+            totalSpending += spent;
+            if (topCategory == null || spent > topSpending) {
+                topCategory = category;
+                topSpending = spent;
+            }
+        }
+        if (topCategory == null || totalSpending <= 0) {
+            return List.of();
+        }
+        
+        double percentage = (topSpending / totalSpending) * 100;
+        return List.of(new FinancialInsight(
+            FinancialInsight.InsightType.CATEGORY_COMPARISON.toString(),
+            "Top Spending Category",
+            String.format("%s is your highest spending category at %.1f%% of total expenses", 
+                topCategory.getCategoryName(), percentage),
+            topSpending,
+            percentage,
+            "Current Month",
+            topCategory,
+            context.getUser()
+        ));
+    }
+}
@@ -0,0 +1,55 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+
+/**
+ * Average daily spending this month so far.
+ */
+@Component
+@Order(150)
+public class DailyAverageRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "daily-average";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.PERIODIC;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.RECENT_EXPENSES);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LocalDate today = context.getToday();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        
+        double monthlySpending = context.getRecentExpenses().totalBetween(monthStart, today);
+        long daysInMonth = ChronoUnit.DAYS.between(monthStart, today) + 1;
+        double dailyAverage = monthlySpending / daysInMonth;
+        
+        return List.of(new FinancialInsight(
+            FinancialInsight.InsightType.DAILY_AVERAGE.toString(),
+            "Daily Average Spending",
+            String.format("Your average daily spending this month is %.2f", dailyAverage),
+            dailyAverage,
+            0.0,
+            "Current Month",
+            null,
+            context.getUser()
+        ));
+    }
+}
@@ -0,0 +1,20 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+/**
+ * Precomputed inputs a rule can declare. The engine computes each one at most once per user
+ * and evaluation, however many rules read it.
+ */
+public enum InsightAggregate {
+
+    /** The user's categories, by id. One query. */
+    CATEGORIES,
+
+    /** The columnar ledger with its single-pass {@link personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerStatistics}; served from the ledger cache. */
+    LEDGER,
+
+    /** Expense breakdown from the Monday of last week, 14 days back or the 1st of the month, whichever is earliest, through today. One grouped query. */
+    RECENT_EXPENSES,
+
+    /** All-time expense totals per category id. One grouped query. */
+    CATEGORY_TOTALS
+}
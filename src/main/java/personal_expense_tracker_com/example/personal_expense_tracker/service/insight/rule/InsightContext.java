@@ -0,0 +1,76 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerColumns;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerStatistics;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.SpendingBreakdown;
+
+/**
+ * The aggregates computed for one user's evaluation, as seen by one rule: reading an aggregate
+ * the rule did not declare fails, so a rule cannot silently depend on another rule's inputs.
+ */
+public class InsightContext {
+
+    private final User user;
+    private final LocalDate today;
+    private final Map<InsightAggregate, Object> aggregates;
+    private final Set<InsightAggregate> visible;
+
+    InsightContext(User user, LocalDate today, Map<InsightAggregate, Object> aggregates, Set<InsightAggregate> visible) {
+        this.user = user;
+        this.today = today;
+        this.aggregates = aggregates;
+        this.visible = visible;
+    }
+
+    InsightContext forRule(InsightRule rule) {
+        return new InsightContext(user, today, aggregates, rule.requires());
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDate getToday() {
+        return today;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<Long, Category> getCategoriesById() {
+        return (Map<Long, Category>) get(InsightAggregate.CATEGORIES);
+    }
+
+    public Collection<Category> getCategories() {
+        return getCategoriesById().values();
+    }
+
+    public LedgerColumns getLedger() {
+        return (LedgerColumns) get(InsightAggregate.LEDGER);
+    }
+
+    public LedgerStatistics getLedgerStatistics() {
+        return getLedger().statistics();
+    }
+
+    public SpendingBreakdown getRecentExpenses() {
+        return (SpendingBreakdown) get(InsightAggregate.RECENT_EXPENSES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<Long, Double> getCategoryTotals() {
+        return (Map<Long, Double>) get(InsightAggregate.CATEGORY_TOTALS);
+    }
+
+    private Object get(InsightAggregate aggregate) {
+        if (!visible.contains(aggregate)) {
+            throw new IllegalStateException("Aggregate " + aggregate + " was not declared by the rule");
+        }
+        return aggregates.get(aggregate);
+    }
+}
@@ -0,0 +1,29 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.util.List;
+import java.util.Set;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+
+/**
+ * One insight generator. Rules are Spring components picked up by {@link InsightRuleEngine}
+ * and run in {@link org.springframework.core.annotation.Order} order. A rule reads only the
+ * aggregates it declares and must not query the database itself, so the cost of a run stays
+ * the cost of its aggregates.
+ */
+public interface InsightRule {
+
+    /**
+     * Stable, kebab-case name used in metrics and in insights.rules.disabled.
+     */
+    String name();
+
+    InsightRuleGroup group();
+
+    Set<InsightAggregate> requires();
+
+    /**
+     * Insights for the context's user, unsaved; empty when the rule has nothing to say.
+     */
+    List<FinancialInsight> evaluate(InsightContext context);
+}
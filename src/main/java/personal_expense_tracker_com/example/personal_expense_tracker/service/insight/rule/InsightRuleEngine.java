@@ -0,0 +1,151 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerCacheService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionAggregationService;
+
+/**
+ * Runs {@link InsightRule}s for a user: computes the union of the aggregates the selected rules
+ * declare, once, then evaluates each rule against it. A rule that throws is logged and skipped
+ * so the others still produce their insights. Rules listed in insights.rules.disabled are not run.
+ *
+ * Costs are published per rule as the insights.rule.evaluation timer and the
+ * insights.rule.emitted counter, tagged with the rule name, and per aggregate as the
+ * insights.aggregate.computation timer. Together they show which rules are worth disabling.
+ */
+@Service
+public class InsightRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsightRuleEngine.class);
+
+    private final List<InsightRule> rules;
+    private final Set<String> disabled;
+    private final CategoryRepository categoryRepository;
+    private final LedgerCacheService ledgerCache;
+    private final TransactionAggregationService aggregationService;
+    private final MeterRegistry meterRegistry;
+
+    public InsightRuleEngine(List<InsightRule> rules, CategoryRepository categoryRepository, LedgerCacheService ledgerCache,
+                             TransactionAggregationService aggregationService, MeterRegistry meterRegistry,
+                             @Value("${insights.rules.disabled:}") String disabled) {
+        this.rules = rules;
+        this.categoryRepository = categoryRepository;
+        this.ledgerCache = ledgerCache;
+        this.aggregationService = aggregationService;
+        this.meterRegistry = meterRegistry;
+        this.disabled = Arrays.stream(disabled.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toSet());
+        logger.info("Insight rules: {}; disabled: {}",
+            rules.stream().map(InsightRule::name).collect(Collectors.joining(", ")), this.disabled);
+    }
+
+    public List<InsightRule> getRules() {
+        return rules;
+    }
+
+    public boolean isEnabled(InsightRule rule) {
+        return !disabled.contains(rule.name());
+    }
+
+    public List<FinancialInsight> evaluate(User user, InsightRuleGroup group) {
+        return evaluate(user, LocalDate.now(), rules.stream().filter(rule -> rule.group() == group).toList());
+    }
+
+    /**
+     * Runs the single named rule.
+     *
+     * @throws IllegalArgumentException when no rule has that name
+     */
+    public List<FinancialInsight> evaluate(User user, String ruleName) {
+        InsightRule rule = rules.stream()
+            .filter(candidate -> candidate.name().equals(ruleName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown insight rule: " + ruleName));
+        return evaluate(user, LocalDate.now(), List.of(rule));
+    }
+
+    List<FinancialInsight> evaluate(User user, LocalDate today, Collection<InsightRule> selected) {
+        List<InsightRule> enabled = selected.stream().filter(this::isEnabled).toList();
+        Set<InsightAggregate> required = EnumSet.noneOf(InsightAggregate.class);
+        enabled.forEach(rule -> required.addAll(rule.requires()));
+
+        Map<InsightAggregate, Object> aggregates = new EnumMap<>(InsightAggregate.class);
+        for (InsightAggregate aggregate : required) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            aggregates.put(aggregate, compute(aggregate, user, today));
+            sample.stop(meterRegistry.timer("insights.aggregate.computation", "aggregate", aggregate.name()));
+        }
+
+        InsightContext context = new InsightContext(user, today, aggregates, required);
+        List<FinancialInsight> insights = new ArrayList<>();
+        for (InsightRule rule : enabled) {
+            long started = System.nanoTime();
+            try {
+                List<FinancialInsight> emitted = rule.evaluate(context.forRule(rule));
+                insights.addAll(emitted);
+                meterRegistry.counter("insights.rule.emitted", "rule", rule.name()).increment(emitted.size());
+            } catch (RuntimeException e) {
+                meterRegistry.counter("insights.rule.failures", "rule", rule.name()).increment();
+                logger.warn("Insight rule {} failed for user {}: {}", rule.name(), user.getId(), e.getMessage());
+            } finally {
+                meterRegistry.timer("insights.rule.evaluation", "rule", rule.name())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+        return insights;
+    }
+
+    private Object compute(InsightAggregate aggregate, User user, LocalDate today) {
+        return switch (aggregate) {
+            case CATEGORIES -> {
+                Map<Long, Category> categories = new LinkedHashMap<>();
+                for (Category category : categoryRepository.findByUser(user)) {
+                    categories.put(category.getId(), category);
+                }
+                yield categories;
+            }
+            case LEDGER -> ledgerCache.get(user);
+            case RECENT_EXPENSES -> aggregationService.breakdown(user, TransactionAggregationService.EXPENSE,
+                recentWindowStart(today), today);
+            case CATEGORY_TOTALS -> aggregationService.totalsByCategory(user, TransactionAggregationService.EXPENSE);
+        };
+    }
+
+    private static LocalDate recentWindowStart(LocalDate today) {
+        LocalDate from = today.minusWeeks(1).with(DayOfWeek.MONDAY);
+        if (today.minusDays(14).isBefore(from)) {
+            from = today.minusDays(14);
+        }
+        if (today.withDayOfMonth(1).isBefore(from)) {
+            from = today.withDayOfMonth(1);
+        }
+        return from;
+    }
+}
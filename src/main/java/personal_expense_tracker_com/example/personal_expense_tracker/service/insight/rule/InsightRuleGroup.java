@@ -0,0 +1,13 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+/**
+ * Rules that are generated together.
+ */
+public enum InsightRuleGroup {
+
+    /** All-time ledger analysis behind GET /api/financial-insights and the AI insight jobs. */
+    AI,
+
+    /** Calendar-window insights generated by the daily financial-insights job. */
+    PERIODIC
+}
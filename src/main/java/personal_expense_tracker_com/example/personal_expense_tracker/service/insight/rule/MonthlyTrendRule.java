@@ -0,0 +1,59 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerStatistics;
+
+/**
+ * This month's spending so far against last month's.
+ */
+@Component
+@Order(40)
+public class MonthlyTrendRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "monthly-trend";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.AI;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.LEDGER);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LedgerStatistics statistics = context.getLedgerStatistics();
+        YearMonth currentMonth = YearMonth.from(context.getToday());
+        double currentMonthSpending = statistics.expenseIn(currentMonth);
+        double previousMonthSpending = statistics.expenseIn(currentMonth.minusMonths(1));
+        
+        if (previousMonthSpending <= 0) {
+            return List.of();
+        }
+        double changePercentage = ((currentMonthSpending - previousMonthSpending) / previousMonthSpending) * 100;
+        String trend = changePercentage > 0 ? "increased" : "decreased";
+        return List.of(new FinancialInsight(
+            "TREND_ANALYSIS",
+            "Monthly Spending Trend",
+            String.format("Your spending has %s by %.1f%% compared to last month", 
+                trend, Math.abs(changePercentage)),
+            currentMonthSpending,
+            changePercentage,
+            "monthly",
+            null,
+            context.getUser()
+        ));
+    }
+}
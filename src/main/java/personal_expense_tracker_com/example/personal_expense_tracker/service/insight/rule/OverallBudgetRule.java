@@ -0,0 +1,64 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerColumns;
+
+/**
+ * All-time spending against the combined budget of the categories in use.
+ */
+@Component
+@Order(50)
+public class OverallBudgetRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "overall-budget";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.AI;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.LEDGER, InsightAggregate.CATEGORIES);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LedgerColumns ledger = context.getLedger();
+        Map<Long, Category> categories = context.getCategoriesById();
+        double totalBudget = 0.0;
+        for (int index = 0; index < ledger.categoryCount(); index++) {
+            Category category = categories.get(ledger.categoryIdAt(index));
+            if (category != null && category.getBudget() > 0) {
+                totalBudget += category.getBudget();
+            }
+        }
+        if (totalBudget <= 0) {
+            return List.of();
+        }
+        
+        double totalSpending = context.getLedgerStatistics().getExpenseTotal();
+        double budgetUtilization = (totalSpending / totalBudget) * 100;
+        return List.of(new FinancialInsight(
+            "BUDGET_UTILIZATION",
+            "Overall Budget Status",
+            String.format("You've used %.1f%% of your total budget", budgetUtilization),
+            totalSpending,
+            budgetUtilization,
+            "current",
+            null,
+            context.getUser()
+        ));
+    }
+}
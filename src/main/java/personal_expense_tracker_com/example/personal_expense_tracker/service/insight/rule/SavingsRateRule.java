@@ -0,0 +1,67 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerStatistics;
+
+/**
+ * Share of all-time income not spent, or a warning when spending exceeds income.
+ */
+@Component
+@Order(60)
+public class SavingsRateRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "savings-rate";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.AI;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.LEDGER);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LedgerStatistics statistics = context.getLedgerStatistics();
+        double totalIncome = statistics.getIncomeTotal();
+        double totalExpenses = statistics.getExpenseTotal();
+        if (totalIncome <= 0) {
+            return List.of();
+        }
+        
+        double savingsRate = ((totalIncome - totalExpenses) / totalIncome) * 100;
+        if (savingsRate > 0) {
+            return List.of(new FinancialInsight(
+                "SAVINGS_RATE",
+                "Your Savings Rate",
+                String.format("You're saving %.1f%% of your income - great job!", savingsRate),
+                totalIncome - totalExpenses,
+                savingsRate,
+                "current",
+                null,
+                context.getUser()
+            ));
+        }
+        return List.of(new FinancialInsight(
+            "SAVINGS_ALERT",
+            "Spending More Than Income",
+            "You're spending more than you earn. Consider reviewing your expenses.",
+            Math.abs(totalIncome - totalExpenses),
+            Math.abs(savingsRate),
+            "current",
+            null,
+            context.getUser()
+        ));
+    }
+}
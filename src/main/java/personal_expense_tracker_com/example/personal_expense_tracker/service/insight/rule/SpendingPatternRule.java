@@ -0,0 +1,61 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerStatistics;
+
+/**
+ * The day of the week with the highest total spending.
+ */
+@Component
+@Order(20)
+public class SpendingPatternRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "spending-pattern";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.AI;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.LEDGER);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LedgerStatistics statistics = context.getLedgerStatistics();
+        DayOfWeek highestDay = DayOfWeek.MONDAY;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (statistics.expenseOn(day) > statistics.expenseOn(highestDay)) {
+                highestDay = day;
+            }
+        }
+        
+        if (statistics.expenseOn(highestDay) <= 0) {
+            return List.of();
+        }
+        double highestAmount = statistics.expenseOn(highestDay);
+        return List.of(new FinancialInsight(
+            "SPENDING_PATTERN",
+            "Your Highest Spending Day",
+            String.format("You spend the most on %s, averaging $%.2f per transaction.", 
+                highestDay, highestAmount),
+            highestAmount,
+            0.0,
+            "weekly",
+            null,
+            context.getUser()
+        ));
+    }
+}
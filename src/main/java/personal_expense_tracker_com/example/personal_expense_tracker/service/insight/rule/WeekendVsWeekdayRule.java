@@ -0,0 +1,61 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.SpendingBreakdown;
+
+/**
+ * Share of last calendar week's spending that fell on the weekend.
+ */
+@Component
+@Order(110)
+public class WeekendVsWeekdayRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "weekend-vs-weekday";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.PERIODIC;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.RECENT_EXPENSES);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LocalDate today = context.getToday();
+        SpendingBreakdown recent = context.getRecentExpenses();
+        LocalDate previousWeekStart = today.minusWeeks(1).with(DayOfWeek.MONDAY);
+        LocalDate previousWeekEnd = today.minusWeeks(1).with(DayOfWeek.SUNDAY);
+        
+        double weekdaySpending = recent.totalBetween(previousWeekStart, previousWeekStart.plusDays(4));
+        double weekendSpending = recent.totalBetween(previousWeekStart.plusDays(5), previousWeekEnd);
+        if (weekdaySpending <= 0 || weekendSpending <= 0) {
+            return List.of();
+        }
+        
+        double weekendPercentage = (weekendSpending / (weekdaySpending + weekendSpending)) * 100;
+        return List.of(new FinancialInsight(
+            FinancialInsight.InsightType.WEEKEND_VS_WEEKDAY_SPENDING.toString(),
+            "Weekend vs Weekday Spending",
+            String.format("Your weekend spending is %.1f%% of your weekly spending", weekendPercentage),
+            weekendSpending,
+            weekendPercentage,
+            "Previous Week",
+            null,
+            context.getUser()
+        ));
+    }
+}
@@ -0,0 +1,63 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.SpendingBreakdown;
+
+/**
+ * The trailing seven days' spending against the seven before, both ending yesterday.
+ */
+@Component
+@Order(130)
+public class WeeklyTrendRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "weekly-trend";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.PERIODIC;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.RECENT_EXPENSES);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        LocalDate today = context.getToday();
+        SpendingBreakdown recent = context.getRecentExpenses();
+        LocalDate week1End = today.minusDays(1);
+        LocalDate week1Start = week1End.minusDays(6);
+        LocalDate week2End = week1Start.minusDays(1);
+        LocalDate week2Start = week2End.minusDays(6);
+        
+        double thisWeekSpending = recent.totalBetween(week1Start, week1End);
+        double lastWeekSpending = recent.totalBetween(week2Start, week2End);
+        if (lastWeekSpending <= 0) {
+            return List.of();
+        }
+        
+        double change = ((thisWeekSpending - lastWeekSpending) / lastWeekSpending) * 100;
+        String trend = change > 0 ? "increased" : "decreased";
+        return List.of(new FinancialInsight(
+            FinancialInsight.InsightType.SPENDING_TREND.toString(),
+            "Weekly Spending Trend",
+            String.format("Your spending has %s by %.1f%% compared to last week", trend, Math.abs(change)),
+            thisWeekSpending,
+            Math.abs(change),
+            "Weekly Comparison",
+            null,
+            context.getUser()
+        ));
+    }
+}
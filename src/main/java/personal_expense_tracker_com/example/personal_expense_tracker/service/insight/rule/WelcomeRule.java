@@ -0,0 +1,63 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+
+/**
+ * Getting-started insights for a user with no transactions yet.
+ */
+@Component
+@Order(10)
+public class WelcomeRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "welcome";
+    }
+
+    @Override
+    public InsightRuleGroup group() {
+        return InsightRuleGroup.AI;
+    }
+
+    @Override
+    public Set<InsightAggregate> requires() {
+        return Set.of(InsightAggregate.LEDGER);
+    }
+
+    @Override
+    public List<FinancialInsight> evaluate(InsightContext context) {
+        if (context.getLedger().size() > 0) {
+            return List.of();
+        }
+        User user = context.getUser();
+        return List.of(
+            new FinancialInsight(
+                "WELCOME",
+                "Welcome to Your Financial Journey!",
+                "Start tracking your expenses to get personalized insights and improve your financial health.",
+                0.0,
+                0.0,
+                "current",
+                null,
+                user
+            ),
+            new FinancialInsight(
+                "TIP",
+                "Pro Tip: Categorize Your Expenses",
+                "Categorizing your expenses helps identify spending patterns and areas for improvement.",
+                0.0,
+                0.0,
+                "current",
+                null,
+                user
+            )
+        );
+    }
+}
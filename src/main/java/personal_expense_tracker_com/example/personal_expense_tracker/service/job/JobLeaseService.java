@@ -0,0 +1,180 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.job;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.JobLease;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.job.JobLeaseRepository;
+
+/**
+ * Database leases (job_leases) that let every node fire the same @Scheduled trigger while
+ * only one of them does each piece of work. A lease name is the job, its run key and
+ * optionally a shard: "spending-alerts@2025-06-01T08:00#3".
+ *
+ * The run key is the fire time the trigger was scheduled for, recovered from its cron
+ * expression rather than read off the clock when the job starts: the latest fire time at or
+ * before now plus jobs.clock-skew-seconds. A node whose scheduler fires late, or whose clock
+ * runs up to that many seconds behind the others, still derives the same key. The skew must
+ * stay below the shortest interval between two fires of any job. A lease not renewed within
+ * jobs.lease.ttl-seconds, for example because its node died, can be claimed by another node.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+    private static final List<Duration> SEARCH_WINDOWS =
+        List.of(Duration.ofHours(1), Duration.ofDays(1), Duration.ofDays(8), Duration.ofDays(366));
+
+    private final JobLeaseRepository leaseRepository;
+    private final long ttlSeconds;
+    private final Duration clockSkew;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobLeaseService(JobLeaseRepository leaseRepository,
+                           @Value("${jobs.lease.ttl-seconds:120}") long ttlSeconds,
+                           @Value("${jobs.clock-skew-seconds:30}") long clockSkewSeconds,
+                           @Value("${jobs.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.clockSkew = Duration.ofSeconds(clockSkewSeconds);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        logger.info("Scheduled jobs run as node {}", this.nodeId);
+    }
+
+    public String runKey(String jobName, LocalDateTime scheduledAt) {
+        return jobName + "@" + scheduledAt.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * The fire time of the cron trigger that is running now, per this node's clock.
+     */
+    public LocalDateTime scheduledFireTime(String cron) {
+        return scheduledFireTime(CronExpression.parse(cron), LocalDateTime.now(), clockSkew);
+    }
+
+    /**
+     * The latest fire time of the cron at or before now + skew.
+     *
+     * @throws IllegalArgumentException when the cron has not fired within the past year
+     */
+    static LocalDateTime scheduledFireTime(CronExpression cron, LocalDateTime now, Duration skew) {
+        LocalDateTime limit = now.plus(skew);
+        // Widen the search only as far as the trigger's period needs, so frequent crons stay cheap
+        for (Duration window : SEARCH_WINDOWS) {
+            LocalDateTime fire = null;
+            for (LocalDateTime next = cron.next(limit.minus(window)); next != null && !next.isAfter(limit);
+                 next = cron.next(next)) {
+                fire = next;
+            }
+            if (fire != null) {
+                return fire;
+            }
+        }
+        throw new IllegalArgumentException("Cron " + cron + " has not fired in the year before " + limit);
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public boolean tryAcquire(String leaseName) {
+        leaseRepository.insertIfAbsent(leaseName);
+        return leaseRepository.claim(leaseName, nodeId, ttlSeconds) == 1;
+    }
+
+    public List<JobLease> findShardLeases(String runKey) {
+        return leaseRepository.findByLeaseNameStartingWith(runKey + "#");
+    }
+
+    public void complete(String leaseName) {
+        leaseRepository.complete(leaseName, nodeId);
+    }
+
+    /**
+     * Gives the lease up early so another node does not have to wait for it to expire.
+     */
+    public void release(String leaseName) {
+        leaseRepository.release(leaseName, nodeId);
+    }
+
+    /**
+     * Renews the lease every third of its TTL until the returned handle is closed.
+     */
+    public Heartbeat keepAlive(String leaseName) {
+        long period = Math.max(1L, ttlSeconds / 3);
+        ScheduledFuture<?> renewal = heartbeats.scheduleAtFixedRate(() -> {
+            try {
+                if (leaseRepository.renew(leaseName, nodeId, ttlSeconds) == 0) {
+                    logger.warn("Lost lease {}; another node may repeat this work", leaseName);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not renew lease {}: {}", leaseName, e.getMessage());
+            }
+        }, period, period, TimeUnit.SECONDS);
+        return () -> renewal.cancel(false);
+    }
+
+    /**
+     * Runs a whole job on at most one node per trigger; returns false when another node has it.
+     *
+     * @param scheduledAt the fire time of the trigger, from {@link #scheduledFireTime}
+     */
+    public boolean runOnce(String jobName, LocalDateTime scheduledAt, Runnable job) {
+        String leaseName = runKey(jobName, scheduledAt);
+        if (!tryAcquire(leaseName)) {
+            logger.debug("{} is held by another node", leaseName);
+            return false;
+        }
+        try (Heartbeat ignored = keepAlive(leaseName)) {
+            job.run();
+            complete(leaseName);
+            return true;
+        } catch (RuntimeException e) {
+            release(leaseName);
+            throw e;
+        }
+    }
+
+    public int purgeOlderThanDays(int days) {
+        return leaseRepository.purgeOlderThanDays(days);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    // pid@host plus a random suffix, so a restarted process never inherits its predecessor's leases
+    private static String defaultNodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Stops the renewals started by {@link #keepAlive}.
+     */
+    public interface Heartbeat extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
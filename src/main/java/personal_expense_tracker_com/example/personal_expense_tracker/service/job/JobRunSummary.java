@@ -0,0 +1,55 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.job;
+
+/**
+ * Outcome of one run of a per-user scheduled job.
+ */
+public class JobRunSummary {
+
+    private final String jobName;
+    private final long succeeded;
+    private final long failed;
+    private final long timedOut;
+    private final long durationMs;
+
+    public JobRunSummary(String jobName, long succeeded, long failed, long timedOut, long durationMs) {
+        this.jobName = jobName;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.timedOut = timedOut;
+        this.durationMs = durationMs;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    public long getProcessed() {
+        return succeeded + failed + timedOut;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public double getUsersPerSecond() {
+        return durationMs == 0 ? getProcessed() : getProcessed() * 1000.0 / durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d users in %d ms (%.1f/s), %d failed, %d timed out",
+            jobName, getProcessed(), durationMs, getUsersPerSecond(), failed, timedOut);
+    }
+}
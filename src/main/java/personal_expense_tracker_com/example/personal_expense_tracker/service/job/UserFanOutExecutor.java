@@ -0,0 +1,286 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.job;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.JobLease;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+/**
+ * Runs a scheduled job's per-user work in parallel and, across nodes, once. The user id space
+ * is cut into fixed-width shards (jobs.fan-out.shard-width ids); each node claims shards
+ * through {@link JobLeaseService}, so the nodes that fired the same trigger split the work.
+ * Once a node runs out of claimable shards, it waits for the rest to complete and takes over
+ * any whose lease expired.
+ *
+ * Within a shard, users are paged by id (jobs.fan-out.page-size), never loaded all at once,
+ * and handed to a worker pool of jobs.fan-out.workers threads created for that run, so one
+ * slow job cannot occupy the workers of another. At most two tasks per worker are queued ahead.
+ *
+ * Each user's work is isolated: an exception is logged and counted, and work still running
+ * after jobs.fan-out.user-timeout-ms is interrupted and counted as timed out. The interrupt is
+ * best-effort, since a thread blocked on a JDBC socket ignores it; JPA queries are bounded by
+ * the same timeout through jakarta.persistence.query.timeout, but plain JDBC or HTTP calls in
+ * the work must set their own. A job that is still running when it is triggered again is skipped.
+ *
+ * Per job, publishes jobs.users{job,outcome=success|failure|timeout}, the jobs.duration
+ * timer and jobs.throughput (users per second of the last run).
+ */
+@Component
+public class UserFanOutExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserFanOutExecutor.class);
+
+    // Rounds without any shard completing, by anyone, before this node stops waiting
+    private static final int MAX_IDLE_ROUNDS = 6;
+
+    private final UserRepository userRepository;
+    private final JobLeaseService leaseService;
+    private final MeterRegistry meterRegistry;
+    private final int workers;
+    private final int pageSize;
+    private final long shardWidth;
+    private final long userTimeoutMs;
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("job-watchdog"));
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> lastThroughput = new ConcurrentHashMap<>();
+
+    public UserFanOutExecutor(UserRepository userRepository, JobLeaseService leaseService, MeterRegistry meterRegistry,
+                              @Value("${jobs.fan-out.workers:8}") int workers,
+                              @Value("${jobs.fan-out.page-size:500}") int pageSize,
+                              @Value("${jobs.fan-out.shard-width:5000}") long shardWidth,
+                              @Value("${jobs.fan-out.user-timeout-ms:30000}") long userTimeoutMs) {
+        this.userRepository = userRepository;
+        this.leaseService = leaseService;
+        this.meterRegistry = meterRegistry;
+        this.workers = workers;
+        this.pageSize = pageSize;
+        this.shardWidth = shardWidth;
+        this.userTimeoutMs = userTimeoutMs;
+    }
+
+    /**
+     * Applies the work to every user (or every active user) in the shards this node claims.
+     * Returns null without doing anything when this node's previous run has not finished.
+     *
+     * @param scheduledAt the fire time of the trigger, from {@link JobLeaseService#scheduledFireTime};
+     *                    nodes that pass the same one split the same run
+     */
+    public JobRunSummary run(String jobName, LocalDateTime scheduledAt, boolean activeOnly, Consumer<User> work) {
+        return run(jobName, scheduledAt, activeOnly
+            ? userRepository::findByIsActiveTrueAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc
+            : userRepository::findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc, work);
+    }
+
+    /**
+     * Same as {@link #run(String, LocalDateTime, boolean, Consumer)}, over the users the query returns.
+     */
+    public JobRunSummary run(String jobName, LocalDateTime scheduledAt, UserRangeQuery users, Consumer<User> work) {
+        if (!runningJobs.add(jobName)) {
+            logger.warn("Skipping {}: previous run is still in progress", jobName);
+            return null;
+        }
+        long started = System.nanoTime();
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong timedOut = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, daemonThreads("job-" + jobName));
+        Semaphore slots = new Semaphore(workers * 3);
+        String runKey = leaseService.runKey(jobName, scheduledAt);
+        try {
+            Long maxId = userRepository.findMaxId();
+            Set<Long> remaining = new TreeSet<>();
+            for (long shard = 0; maxId != null && shard * shardWidth < maxId; shard++) {
+                remaining.add(shard);
+            }
+            int idleRounds = 0;
+            while (!remaining.isEmpty()) {
+                int before = remaining.size();
+                Set<String> completed = new HashSet<>();
+                for (JobLease lease : leaseService.findShardLeases(runKey)) {
+                    if (lease.isCompleted()) {
+                        completed.add(lease.getLeaseName());
+                    }
+                }
+                for (Iterator<Long> shards = remaining.iterator(); shards.hasNext(); ) {
+                    long shard = shards.next();
+                    String leaseName = runKey + "#" + shard;
+                    if (completed.contains(leaseName)) {
+                        shards.remove();
+                    } else if (leaseService.tryAcquire(leaseName)) {
+                        try (JobLeaseService.Heartbeat ignored = leaseService.keepAlive(leaseName)) {
+                            processShard(jobName, shard, users, work, pool, slots, succeeded, failed, timedOut);
+                        } catch (RuntimeException e) {
+                            leaseService.release(leaseName);
+                            throw e;
+                        }
+                        leaseService.complete(leaseName);
+                        shards.remove();
+                    }
+                }
+                if (remaining.isEmpty()) {
+                    break;
+                }
+                idleRounds = remaining.size() < before ? 0 : idleRounds + 1;
+                if (idleRounds > MAX_IDLE_ROUNDS) {
+                    logger.warn("{}: giving up on shards {} still held by other nodes", runKey, remaining);
+                    break;
+                }
+                // Other nodes hold the rest; wait for them to finish or for a dead node's lease to expire
+                Thread.sleep(TimeUnit.SECONDS.toMillis(Math.max(1L, leaseService.getTtlSeconds() / 2)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("{} interrupted, abandoning remaining users", jobName);
+        } catch (RuntimeException e) {
+            logger.error("{} stopped paging users: {}", jobName, e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+            runningJobs.remove(jobName);
+        }
+
+        long durationNanos = System.nanoTime() - started;
+        JobRunSummary summary = new JobRunSummary(jobName, succeeded.get(), failed.get(), timedOut.get(),
+            TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        record(summary, durationNanos);
+        logger.info("Job {}", summary);
+        return summary;
+    }
+
+    // Users with id in (shard * shardWidth, (shard + 1) * shardWidth]; returns once all of them are done
+    private void processShard(String jobName, long shard, UserRangeQuery users, Consumer<User> work, ExecutorService pool,
+                              Semaphore slots, AtomicLong succeeded, AtomicLong failed, AtomicLong timedOut)
+            throws InterruptedException {
+        long lastId = shard * shardWidth;
+        long maxId = lastId + shardWidth;
+        Phaser inFlight = new Phaser(1);
+        List<User> page;
+        do {
+            page = users.find(lastId, maxId, PageRequest.of(0, pageSize));
+            for (User user : page) {
+                slots.acquire();
+                inFlight.register();
+                pool.execute(() -> {
+                    try {
+                        switch (runForUser(jobName, user, work)) {
+                            case SUCCESS -> succeeded.incrementAndGet();
+                            case FAILURE -> failed.incrementAndGet();
+                            case TIMEOUT -> timedOut.incrementAndGet();
+                        }
+                    } finally {
+                        slots.release();
+                        inFlight.arriveAndDeregister();
+                    }
+                });
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+        inFlight.awaitAdvanceInterruptibly(inFlight.arrive());
+    }
+
+    /**
+     * One keyset page of users with afterId < id <= maxId, in id order.
+     */
+    @FunctionalInterface
+    public interface UserRangeQuery {
+        List<User> find(Long afterId, Long maxId, Pageable pageable);
+    }
+
+    private enum Outcome { SUCCESS, FAILURE, TIMEOUT }
+
+    private Outcome runForUser(String jobName, User user, Consumer<User> work) {
+        Thread worker = Thread.currentThread();
+        // 0 running, 1 finished, 2 timed out; transitions happen under the lock so an alarm
+        // can never interrupt the worker once it has moved on to the next user
+        int[] state = {0};
+        ScheduledFuture<?> alarm = watchdog.schedule(() -> {
+            synchronized (state) {
+                if (state[0] == 0) {
+                    state[0] = 2;
+                    worker.interrupt();
+                }
+            }
+        }, userTimeoutMs, TimeUnit.MILLISECONDS);
+
+        Outcome outcome;
+        try {
+            work.accept(user);
+            outcome = Outcome.SUCCESS;
+        } catch (Exception e) {
+            outcome = Outcome.FAILURE;
+            logger.warn("{} failed for user {}: {}", jobName, user.getId(), e.getMessage());
+        } finally {
+            alarm.cancel(false);
+        }
+        synchronized (state) {
+            if (state[0] == 2) {
+                outcome = Outcome.TIMEOUT;
+                logger.warn("{} timed out for user {} after {} ms", jobName, user.getId(), userTimeoutMs);
+            }
+            state[0] = 1;
+        }
+        Thread.interrupted();
+        return outcome;
+    }
+
+    private void record(JobRunSummary summary, long durationNanos) {
+        String job = summary.getJobName();
+        Timer.builder("jobs.duration").tag("job", job).register(meterRegistry).record(durationNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("jobs.users", "job", job, "outcome", "success").increment(summary.getSucceeded());
+        meterRegistry.counter("jobs.users", "job", job, "outcome", "failure").increment(summary.getFailed());
+        meterRegistry.counter("jobs.users", "job", job, "outcome", "timeout").increment(summary.getTimedOut());
+        lastThroughput.computeIfAbsent(job, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("jobs.throughput", value, AtomicLong::get).tag("job", name)
+                .description("Users per second in the last run").register(meterRegistry);
+            return value;
+        }).set(Math.round(summary.getUsersPerSecond()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
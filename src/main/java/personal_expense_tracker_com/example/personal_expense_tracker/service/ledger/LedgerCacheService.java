@@ -0,0 +1,140 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.ledger;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+
+/**
+ * Per-user {@link LedgerColumns}, kept in an LRU map bounded by estimated heap size
+ * (ledger.cache.max-bytes). Analytics read from here instead of loading entity lists.
+ *
+ * Writers call {@link #invalidate} next to their rollup and search hooks. Eviction happens
+ * when the writing transaction completes, and a load that overlapped an invalidation is
+ * returned to its caller but not cached, so a committed write is never hidden by a stale copy.
+ */
+@Service
+public class LedgerCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerCacheService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Long, LedgerColumns> ledgers = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Long, Long> invalidations = new ConcurrentHashMap<>();
+    private long cachedBytes;
+
+    public LedgerCacheService(@Value("${ledger.cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Transactional(readOnly = true)
+    public LedgerColumns get(User user) {
+        Long userId = user.getId();
+        synchronized (ledgers) {
+            LedgerColumns cached = ledgers.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long generation = invalidations.getOrDefault(userId, 0L);
+        LedgerColumns loaded = load(userId);
+        synchronized (ledgers) {
+            if (invalidations.getOrDefault(userId, 0L) == generation && loaded.estimatedBytes() <= maxBytes) {
+                LedgerColumns previous = ledgers.put(userId, loaded);
+                cachedBytes += loaded.estimatedBytes() - (previous != null ? previous.estimatedBytes() : 0L);
+                evictOverBudget();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the user's ledger once the current transaction commits or rolls back, or
+     * immediately when no transaction is active.
+     */
+    public void invalidate(User user) {
+        invalidate(user.getId());
+    }
+
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+        evict(userId);
+    }
+
+    public void clear() {
+        synchronized (ledgers) {
+            ledgers.clear();
+            cachedBytes = 0L;
+        }
+    }
+
+    private void evict(Long userId) {
+        synchronized (ledgers) {
+            invalidations.merge(userId, 1L, Long::sum);
+            LedgerColumns removed = ledgers.remove(userId);
+            if (removed != null) {
+                cachedBytes -= removed.estimatedBytes();
+            }
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Long, LedgerColumns>> eldest = ledgers.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, LedgerColumns> entry = eldest.next();
+            cachedBytes -= entry.getValue().estimatedBytes();
+            eldest.remove();
+            logger.debug("Evicted ledger for user {}", entry.getKey());
+        }
+    }
+
+    private LedgerColumns load(Long userId) {
+        LedgerColumns.Builder builder = new LedgerColumns.Builder();
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT date, amount, category_id, transaction_type FROM transactions"
+                    + " WHERE user_id = :userId AND date IS NOT NULL ORDER BY date, id")
+            .setParameter("userId", userId)
+            .getResultStream();
+        try (rows) {
+            rows.forEach(row -> builder.add(
+                toLocalDate(row[0]),
+                ((Number) row[1]).doubleValue(),
+                row[2] != null ? ((Number) row[2]).longValue() : null,
+                (String) row[3]));
+        }
+        LedgerColumns ledger = builder.build();
+        logger.debug("Loaded ledger for user {} with {} rows", userId, ledger.size());
+        return ledger;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
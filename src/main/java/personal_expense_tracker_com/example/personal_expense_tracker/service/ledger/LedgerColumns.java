@@ -0,0 +1,229 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.ledger;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * One user's transactions as parallel primitive columns, sorted by date, so analytics scan
+ * arrays instead of materializing entities. Row i is (epochDay[i], amount[i],
+ * categoryIndex[i], type[i]); categoryIndex points into categoryIds, or is -1 when the
+ * transaction has no category.
+ *
+ * Instances are immutable once built and may be shared between threads.
+ */
+public final class LedgerColumns {
+
+    public static final byte EXPENSE = 0;
+    public static final byte INCOME = 1;
+
+    private static final int NO_CATEGORY = -1;
+
+    private final int size;
+    private final int[] epochDay;
+    private final double[] amount;
+    private final int[] categoryIndex;
+    private final byte[] type;
+    private final long[] categoryIds;
+
+    // Derived lazily; racing threads compute the same immutable value
+    private volatile LedgerStatistics statistics;
+
+    private LedgerColumns(int size, int[] epochDay, double[] amount, int[] categoryIndex, byte[] type, long[] categoryIds) {
+        this.size = size;
+        this.epochDay = epochDay;
+        this.amount = amount;
+        this.categoryIndex = categoryIndex;
+        this.type = type;
+        this.categoryIds = categoryIds;
+    }
+
+    public static byte typeOf(String transactionType) {
+        return "INCOME".equals(transactionType) ? INCOME : EXPENSE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int epochDayAt(int row) {
+        return epochDay[row];
+    }
+
+    public double amountAt(int row) {
+        return amount[row];
+    }
+
+    public byte typeAt(int row) {
+        return type[row];
+    }
+
+    /**
+     * Category index of the row, or -1 when uncategorized.
+     */
+    public int categoryIndexAt(int row) {
+        return categoryIndex[row];
+    }
+
+    public int categoryCount() {
+        return categoryIds.length;
+    }
+
+    public long categoryIdAt(int index) {
+        return categoryIds[index];
+    }
+
+    /**
+     * Index of the category in this ledger, or -1 when the user has no transactions in it.
+     */
+    public int categoryIndexOf(long categoryId) {
+        for (int i = 0; i < categoryIds.length; i++) {
+            if (categoryIds[i] == categoryId) {
+                return i;
+            }
+        }
+        return NO_CATEGORY;
+    }
+
+    public double sum(byte transactionType) {
+        return sumBetween(transactionType, 0, size);
+    }
+
+    /**
+     * Total of the given type dated within [from, to], inclusive.
+     */
+    public double sum(byte transactionType, LocalDate from, LocalDate to) {
+        return sumBetween(transactionType, firstRowOnOrAfter(from), firstRowAfter(to));
+    }
+
+    /**
+     * Total of the given type dated on or before the given day.
+     */
+    public double sumThrough(byte transactionType, LocalDate to) {
+        return sumBetween(transactionType, 0, firstRowAfter(to));
+    }
+
+    public double sumForCategory(byte transactionType, long categoryId) {
+        return sumForCategory(transactionType, categoryId, 0, size);
+    }
+
+    public double sumForCategory(byte transactionType, long categoryId, LocalDate from, LocalDate to) {
+        return sumForCategory(transactionType, categoryId, firstRowOnOrAfter(from), firstRowAfter(to));
+    }
+
+    /**
+     * Totals for the insight generators, computed in one pass on first use and kept with the ledger.
+     */
+    public LedgerStatistics statistics() {
+        LedgerStatistics result = statistics;
+        if (result == null) {
+            result = LedgerStatistics.of(this);
+            statistics = result;
+        }
+        return result;
+    }
+
+    /**
+     * Rough heap footprint, used to bound the cache.
+     */
+    public long estimatedBytes() {
+        return 96L + epochDay.length * 4L + amount.length * 8L + categoryIndex.length * 4L
+            + type.length + categoryIds.length * 8L;
+    }
+
+    private double sumBetween(byte transactionType, int fromRow, int toRow) {
+        double total = 0.0;
+        for (int i = fromRow; i < toRow; i++) {
+            if (type[i] == transactionType) {
+                total += amount[i];
+            }
+        }
+        return total;
+    }
+
+    private double sumForCategory(byte transactionType, long categoryId, int fromRow, int toRow) {
+        int index = categoryIndexOf(categoryId);
+        if (index == NO_CATEGORY) {
+            return 0.0;
+        }
+        double total = 0.0;
+        for (int i = fromRow; i < toRow; i++) {
+            if (type[i] == transactionType && categoryIndex[i] == index) {
+                total += amount[i];
+            }
+        }
+        return total;
+    }
+
+    private int firstRowOnOrAfter(LocalDate date) {
+        return lowerBound((int) date.toEpochDay());
+    }
+
+    private int firstRowAfter(LocalDate date) {
+        return lowerBound((int) date.toEpochDay() + 1);
+    }
+
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDay[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Accumulates rows in date order; {@link #build} trims the columns to size.
+     */
+    static final class Builder {
+
+        private int size;
+        private int[] epochDay = new int[64];
+        private double[] amount = new double[64];
+        private int[] categoryIndex = new int[64];
+        private byte[] type = new byte[64];
+        private long[] categoryIds = new long[8];
+        private int categoryCount;
+
+        void add(LocalDate date, double value, Long categoryId, String transactionType) {
+            if (size == epochDay.length) {
+                int capacity = size * 2;
+                epochDay = Arrays.copyOf(epochDay, capacity);
+                amount = Arrays.copyOf(amount, capacity);
+                categoryIndex = Arrays.copyOf(categoryIndex, capacity);
+                type = Arrays.copyOf(type, capacity);
+            }
+            int day = (int) date.toEpochDay();
+            if (size > 0 && day < epochDay[size - 1]) {
+                throw new IllegalStateException("Ledger rows must be added in date order");
+            }
+            epochDay[size] = day;
+            amount[size] = value;
+            categoryIndex[size] = categoryId == null ? NO_CATEGORY : intern(categoryId);
+            type[size] = typeOf(transactionType);
+            size++;
+        }
+
+        private int intern(long categoryId) {
+            for (int i = 0; i < categoryCount; i++) {
+                if (categoryIds[i] == categoryId) {
+                    return i;
+                }
+            }
+            if (categoryCount == categoryIds.length) {
+                categoryIds = Arrays.copyOf(categoryIds, categoryCount * 2);
+            }
+            categoryIds[categoryCount] = categoryId;
+            return categoryCount++;
+        }
+
+        LedgerColumns build() {
+            return new LedgerColumns(size, Arrays.copyOf(epochDay, size), Arrays.copyOf(amount, size),
+                Arrays.copyOf(categoryIndex, size), Arrays.copyOf(type, size), Arrays.copyOf(categoryIds, categoryCount));
+        }
+    }
+}
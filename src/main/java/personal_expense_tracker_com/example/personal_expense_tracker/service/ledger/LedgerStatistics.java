@@ -0,0 +1,121 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.ledger;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The totals the insight generators need, accumulated in a single pass over a
+ * {@link LedgerColumns}: income and expense totals, and expense totals per day of week, per
+ * category index and per month. Monthly income is kept too so callers can compare months
+ * without going back to the columns.
+ *
+ * Rows are date-sorted, so the month bucket is only recomputed when a row crosses into the
+ * next month rather than converting every epoch day to a date.
+ */
+public final class LedgerStatistics {
+
+    private final double incomeTotal;
+    private final double expenseTotal;
+    private final double[] expenseByDayOfWeek;
+    private final double[] expenseByCategory;
+    private final YearMonth firstMonth;
+    private final double[] expenseByMonth;
+    private final double[] incomeByMonth;
+
+    private LedgerStatistics(double incomeTotal, double expenseTotal, double[] expenseByDayOfWeek,
+                             double[] expenseByCategory, YearMonth firstMonth, double[] expenseByMonth,
+                             double[] incomeByMonth) {
+        this.incomeTotal = incomeTotal;
+        this.expenseTotal = expenseTotal;
+        this.expenseByDayOfWeek = expenseByDayOfWeek;
+        this.expenseByCategory = expenseByCategory;
+        this.firstMonth = firstMonth;
+        this.expenseByMonth = expenseByMonth;
+        this.incomeByMonth = incomeByMonth;
+    }
+
+    static LedgerStatistics of(LedgerColumns ledger) {
+        int size = ledger.size();
+        double incomeTotal = 0.0;
+        double expenseTotal = 0.0;
+        double[] byDayOfWeek = new double[7];
+        double[] byCategory = new double[ledger.categoryCount()];
+        if (size == 0) {
+            return new LedgerStatistics(0.0, 0.0, byDayOfWeek, byCategory, null, new double[0], new double[0]);
+        }
+
+        YearMonth firstMonth = YearMonth.from(LocalDate.ofEpochDay(ledger.epochDayAt(0)));
+        YearMonth lastMonth = YearMonth.from(LocalDate.ofEpochDay(ledger.epochDayAt(size - 1)));
+        int months = (int) firstMonth.until(lastMonth, ChronoUnit.MONTHS) + 1;
+        double[] expenseByMonth = new double[months];
+        double[] incomeByMonth = new double[months];
+
+        int month = -1;
+        int nextMonthStart = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            int day = ledger.epochDayAt(i);
+            if (day >= nextMonthStart) {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                month = (date.getYear() - firstMonth.getYear()) * 12 + date.getMonthValue() - firstMonth.getMonthValue();
+                nextMonthStart = (int) date.withDayOfMonth(1).plusMonths(1).toEpochDay();
+            }
+            double amount = ledger.amountAt(i);
+            if (ledger.typeAt(i) == LedgerColumns.EXPENSE) {
+                expenseTotal += amount;
+                // 1970-01-01 was a Thursday, ordinal 3
+                byDayOfWeek[Math.floorMod(day + 3, 7)] += amount;
+                int category = ledger.categoryIndexAt(i);
+                if (category >= 0) {
+                    byCategory[category] += amount;
+                }
+                expenseByMonth[month] += amount;
+            } else {
+                incomeTotal += amount;
+                incomeByMonth[month] += amount;
+            }
+        }
+        return new LedgerStatistics(incomeTotal, expenseTotal, byDayOfWeek, byCategory, firstMonth,
+            expenseByMonth, incomeByMonth);
+    }
+
+    public double getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public double getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public double expenseOn(DayOfWeek dayOfWeek) {
+        return expenseByDayOfWeek[dayOfWeek.ordinal()];
+    }
+
+    /**
+     * Expense total of the category at the given index of the ledger; uncategorized rows are left out.
+     */
+    public double expenseForCategoryIndex(int index) {
+        return expenseByCategory[index];
+    }
+
+    public int categoryCount() {
+        return expenseByCategory.length;
+    }
+
+    public double expenseIn(YearMonth month) {
+        return valueIn(expenseByMonth, month);
+    }
+
+    public double incomeIn(YearMonth month) {
+        return valueIn(incomeByMonth, month);
+    }
+
+    private double valueIn(double[] byMonth, YearMonth month) {
+        if (firstMonth == null) {
+            return 0.0;
+        }
+        long index = firstMonth.until(month, ChronoUnit.MONTHS);
+        return index < 0 || index >= byMonth.length ? 0.0 : byMonth[(int) index];
+    }
+}
@@ -0,0 +1,116 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.recurring;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.recurring.RecurringTransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionBatchService;
+
+/**
+ * Materializes due recurring transactions. Templates are taken in chunks of
+ * recurring.chunk-size, each chunk in its own transaction, and every occurrence a template
+ * missed up to today is created in the same pass, through the batched insert path.
+ *
+ * A template's next_due_date only moves if it still holds the value this run read, and in the
+ * same transaction as the occurrences it covers. After a crash, or when two runs overlap, the
+ * occurrences before next_due_date are therefore already stored and are not created again.
+ */
+@Service
+public class RecurringTransactionProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionProcessor.class);
+
+    // Occurrences per template per pass; a template further behind continues on the next run
+    private static final int MAX_OCCURRENCES_PER_PASS = 1000;
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${recurring.chunk-size:200}")
+    private int chunkSize;
+
+    public RecurringTransactionProcessor(RecurringTransactionRepository recurringTransactionRepository,
+                                         TransactionBatchService transactionBatchService,
+                                         PlatformTransactionManager transactionManager) {
+        this.recurringTransactionRepository = recurringTransactionRepository;
+        this.transactionBatchService = transactionBatchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates every occurrence due on or before today and returns how many were created.
+     */
+    public long processDue(LocalDate today) {
+        long created = 0;
+        long templates = 0;
+        long skipped = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = recurringTransactionRepository.findDueIdsAfter(today, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = ids;
+            long[] result = transactionTemplate.execute(status -> processChunk(chunk, today));
+            created += result[0];
+            templates += result[1];
+            skipped += result[2];
+            afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == chunkSize);
+
+        logger.info("Recurring transactions: {} occurrences from {} templates, {} templates already advanced by another run",
+            created, templates, skipped);
+        return created;
+    }
+
+    // Returns {occurrences created, templates advanced, templates skipped}
+    private long[] processChunk(List<Long> ids, LocalDate today) {
+        List<Transaction> occurrences = new ArrayList<>();
+        long advanced = 0;
+        long skipped = 0;
+        for (RecurringTransaction template : recurringTransactionRepository.findDueByIdIn(ids, today)) {
+            if (template.getRecurrencePattern() == null) {
+                logger.warn("Recurring transaction {} has no recurrence pattern, skipping", template.getId());
+                continue;
+            }
+            List<LocalDate> dates = new ArrayList<>();
+            LocalDate date = template.getNextDueDate();
+            while (!date.isAfter(today) && dates.size() < MAX_OCCURRENCES_PER_PASS) {
+                dates.add(date);
+                date = template.occurrenceAfter(date);
+            }
+            if (recurringTransactionRepository.advanceNextDueDate(template.getId(), template.getNextDueDate(), date) == 0) {
+                skipped++;
+                continue;
+            }
+            advanced++;
+            for (LocalDate occurrenceDate : dates) {
+                occurrences.add(occurrence(template, occurrenceDate));
+            }
+        }
+        transactionBatchService.persistInBatches(occurrences, false);
+        return new long[] {occurrences.size(), advanced, skipped};
+    }
+
+    private static Transaction occurrence(RecurringTransaction template, LocalDate date) {
+        if (template.getTransactionType() == RecurringTransaction.TransactionType.EXPENSE) {
+            return new Expense(template.getAmount(), template.getDescription(), date, template.getCategory(), template.getUser());
+        }
+        return new Income(template.getAmount(), template.getDescription(), date, template.getCategory(), template.getUser());
+    }
+}
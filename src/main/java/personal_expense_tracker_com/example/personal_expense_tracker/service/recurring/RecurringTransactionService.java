@@ -1,17 +1,10 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.service.recurring;
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
-import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
-import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
-import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.recurring.RecurringTransactionRepository;
-import personal_expense_tracker_com.example.personal_expense_tracker.repository.expense.ExpenseRepository;
-import personal_expense_tracker_com.example.personal_expense_tracker.repository.income.IncomeRepository;
-import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,13 +17,7 @@ public class RecurringTransactionService {
     private RecurringTransactionRepository recurringTransactionRepository;
     
     @Autowired
-    private ExpenseRepository expenseRepository;
-    
-    @Autowired
-    private IncomeRepository incomeRepository;
-    
-    @Autowired
-    private CategoryRepository categoryRepository;
+    private RecurringTransactionProcessor recurringTransactionProcessor;
 
     public List<RecurringTransaction> getAllActiveRecurringTransactions(User user) {
         return recurringTransactionRepository.findByUserAndIsActiveTrue(user);
@@ -72,44 +59,8 @@ public class RecurringTransactionService {
         }
     }
 
-    @Transactional
     public void processDueRecurringTransactions() {
-        LocalDate today = LocalDate.now();
-        List<RecurringTransaction> dueTransactions = recurringTransactionRepository.findDueTransactions(today);
-        
-        for (RecurringTransaction recurringTransaction : dueTransactions) {
-            // Create the actual transaction
-            createTransactionFromRecurring(recurringTransaction);
-            
-            // Update the next due date
-            recurringTransaction.setNextDueDate(recurringTransaction.calculateNextDueDate());
-            recurringTransactionRepository.save(recurringTransaction);
-        }
-    }
-
-    private void createTransactionFromRecurring(RecurringTransaction recurringTransaction) {
-        Category category = recurringTransaction.getCategory();
-        User user = recurringTransaction.getUser();
-        
-        if (recurringTransaction.getTransactionType() == RecurringTransaction.TransactionType.EXPENSE) {
-            Expense expense = new Expense(
-                recurringTransaction.getAmount(),
-                recurringTransaction.getDescription(),
-                recurringTransaction.getNextDueDate(),
-                category,
-                user
-            );
-            expenseRepository.save(expense);
-        } else {
-            Income income = new Income(
-                recurringTransaction.getAmount(),
-                recurringTransaction.getDescription(),
-                recurringTransaction.getNextDueDate(),
-                category,
-                user
-            );
-            incomeRepository.save(income);
-        }
+        recurringTransactionProcessor.processDue(LocalDate.now());
     }
 
     public List<RecurringTransaction> getRecurringTransactionsByCategory(Long categoryId, User user) {
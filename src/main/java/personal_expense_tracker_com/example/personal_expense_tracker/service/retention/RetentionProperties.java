@@ -0,0 +1,102 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.retention;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retention policies under retention.*, one set per table. A table's defaults apply to every
+ * type without its own entry under types; an unset limit means that limit does not apply.
+ *
+ * <pre>
+ * retention.financial-insights.defaults.keep-latest=20
+ * retention.financial-insights.types.WELCOME.keep-latest=1
+ * retention.spending-alerts.defaults.max-age-days=180
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "retention")
+public class RetentionProperties {
+
+    private int chunkSize = 1000;
+    private Table financialInsights = new Table();
+    private Table spendingAlerts = new Table();
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Table getFinancialInsights() {
+        return financialInsights;
+    }
+
+    public void setFinancialInsights(Table financialInsights) {
+        this.financialInsights = financialInsights;
+    }
+
+    public Table getSpendingAlerts() {
+        return spendingAlerts;
+    }
+
+    public void setSpendingAlerts(Table spendingAlerts) {
+        this.spendingAlerts = spendingAlerts;
+    }
+
+    public static class Table {
+
+        private Policy defaults = new Policy();
+        private Map<String, Policy> types = new HashMap<>();
+
+        public Policy policyFor(String type) {
+            return type != null ? types.getOrDefault(type, defaults) : defaults;
+        }
+
+        public Policy getDefaults() {
+            return defaults;
+        }
+
+        public void setDefaults(Policy defaults) {
+            this.defaults = defaults;
+        }
+
+        public Map<String, Policy> getTypes() {
+            return types;
+        }
+
+        public void setTypes(Map<String, Policy> types) {
+            this.types = types;
+        }
+    }
+
+    /**
+     * A row is purged once it falls outside the latest keepLatest of its (user, type), or once
+     * it is older than maxAgeDays, whichever comes first.
+     */
+    public static class Policy {
+
+        private Integer keepLatest;
+        private Integer maxAgeDays;
+
+        public Integer getKeepLatest() {
+            return keepLatest;
+        }
+
+        public void setKeepLatest(Integer keepLatest) {
+            this.keepLatest = keepLatest;
+        }
+
+        public Integer getMaxAgeDays() {
+            return maxAgeDays;
+        }
+
+        public void setMaxAgeDays(Integer maxAgeDays) {
+            this.maxAgeDays = maxAgeDays;
+        }
+    }
+}
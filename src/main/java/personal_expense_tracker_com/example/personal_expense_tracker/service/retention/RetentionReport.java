@@ -0,0 +1,41 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.retention;
+
+/**
+ * Rows purged by one retention run, and how long it took.
+ */
+public class RetentionReport {
+
+    private final long insightsPurged;
+    private final long alertsPurged;
+    private final long usersScanned;
+    private final long durationMs;
+
+    public RetentionReport(long insightsPurged, long alertsPurged, long usersScanned, long durationMs) {
+        this.insightsPurged = insightsPurged;
+        this.alertsPurged = alertsPurged;
+        this.usersScanned = usersScanned;
+        this.durationMs = durationMs;
+    }
+
+    public long getInsightsPurged() {
+        return insightsPurged;
+    }
+
+    public long getAlertsPurged() {
+        return alertsPurged;
+    }
+
+    public long getUsersScanned() {
+        return usersScanned;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("purged %d insights and %d alerts across %d users in %d ms",
+            insightsPurged, alertsPurged, usersScanned, durationMs);
+    }
+}
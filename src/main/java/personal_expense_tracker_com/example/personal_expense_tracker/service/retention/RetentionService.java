@@ -0,0 +1,135 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.retention;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.alert.SpendingAlertRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.insight.FinancialInsightRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.job.JobRunSummary;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.job.UserFanOutExecutor;
+
+/**
+ * Applies {@link RetentionProperties} to financial_insights and spending_alerts. Rows are
+ * evaluated per user through the user_id index, and expired ones are deleted by primary key
+ * in chunks of retention.chunk-size, each in its own short transaction, so a purge never
+ * holds locks on more than one chunk of rows.
+ *
+ * Alerts age from their last refresh, so an alert that is still being raised is kept.
+ * Purged rows are counted in retention.rows.purged{table}.
+ */
+@Service
+public class RetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionService.class);
+
+    private final FinancialInsightRepository insightRepository;
+    private final SpendingAlertRepository alertRepository;
+    private final RetentionProperties properties;
+    private final UserFanOutExecutor userFanOutExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public RetentionService(FinancialInsightRepository insightRepository, SpendingAlertRepository alertRepository,
+                            RetentionProperties properties, UserFanOutExecutor userFanOutExecutor,
+                            MeterRegistry meterRegistry) {
+        this.insightRepository = insightRepository;
+        this.alertRepository = alertRepository;
+        this.properties = properties;
+        this.userFanOutExecutor = userFanOutExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Purges every user's expired insights and alerts, or returns null when a previous purge
+     * is still running on this node.
+     *
+     * @param scheduledAt the fire time of the trigger, which names the run across nodes
+     */
+    public RetentionReport purgeAll(LocalDateTime scheduledAt) {
+        LocalDateTime now = LocalDateTime.now();
+        AtomicLong insights = new AtomicLong();
+        AtomicLong alerts = new AtomicLong();
+        JobRunSummary summary = userFanOutExecutor.run("retention", scheduledAt, false, user -> {
+            insights.addAndGet(purgeInsights(user.getId(), now));
+            alerts.addAndGet(purgeAlerts(user.getId(), now));
+        });
+        if (summary == null) {
+            return null;
+        }
+        RetentionReport report = new RetentionReport(insights.get(), alerts.get(), summary.getProcessed(), summary.getDurationMs());
+        logger.info("Retention {}", report);
+        return report;
+    }
+
+    public long purgeInsights(Long userId, LocalDateTime now) {
+        List<Long> expired = selectExpired(insightRepository.findRetentionRowsForUser(userId),
+            properties.getFinancialInsights(), now);
+        return delete(expired, insightRepository::deleteByIdIn, "financial_insights");
+    }
+
+    public long purgeAlerts(Long userId, LocalDateTime now) {
+        List<Long> expired = selectExpired(alertRepository.findRetentionRowsForUser(userId),
+            properties.getSpendingAlerts(), now);
+        return delete(expired, alertRepository::deleteByIdIn, "spending_alerts");
+    }
+
+    /**
+     * Ids among one user's (id, type, timestamp) rows that their type's policy no longer keeps.
+     */
+    static List<Long> selectExpired(List<Object[]> rows, RetentionProperties.Table table, LocalDateTime now) {
+        Map<String, List<Object[]>> byType = new HashMap<>();
+        for (Object[] row : rows) {
+            byType.computeIfAbsent((String) row[1], type -> new ArrayList<>()).add(row);
+        }
+
+        // Newest first; rows without a timestamp count as oldest
+        Comparator<Object[]> newestFirst = Comparator
+            .comparing((Object[] row) -> (LocalDateTime) row[2], Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(row -> (Long) row[0])
+            .reversed();
+
+        List<Long> expired = new ArrayList<>();
+        for (Map.Entry<String, List<Object[]>> entry : byType.entrySet()) {
+            RetentionProperties.Policy policy = table.policyFor(entry.getKey());
+            Integer keepLatest = policy.getKeepLatest();
+            LocalDateTime cutoff = policy.getMaxAgeDays() != null ? now.minusDays(policy.getMaxAgeDays()) : null;
+            if (keepLatest == null && cutoff == null) {
+                continue;
+            }
+            List<Object[]> typeRows = entry.getValue();
+            typeRows.sort(newestFirst);
+            for (int i = 0; i < typeRows.size(); i++) {
+                LocalDateTime timestamp = (LocalDateTime) typeRows.get(i)[2];
+                boolean beyondLatest = keepLatest != null && i >= keepLatest;
+                boolean tooOld = cutoff != null && (timestamp == null || timestamp.isBefore(cutoff));
+                if (beyondLatest || tooOld) {
+                    expired.add((Long) typeRows.get(i)[0]);
+                }
+            }
+        }
+        return expired;
+    }
+
+    private long delete(List<Long> ids, ToIntFunction<List<Long>> deleteChunk, String table) {
+        long deleted = 0;
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            deleted += deleteChunk.applyAsInt(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+        if (deleted > 0) {
+            meterRegistry.counter("retention.rows.purged", "table", table).increment(deleted);
+        }
+        return deleted;
+    }
+}
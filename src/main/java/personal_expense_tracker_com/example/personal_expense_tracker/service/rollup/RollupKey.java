@@ -0,0 +1,72 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.rollup;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+
+/**
+ * Identifies the rollup bucket a transaction contributes to: (user, month, category, type).
+ * Captured before an update or delete so the old bucket can be corrected afterwards.
+ */
+public final class RollupKey {
+
+    private final Long userId;
+    private final LocalDate monthStart;
+    private final long categoryId;
+    private final String type;
+
+    public RollupKey(Long userId, LocalDate monthStart, long categoryId, String type) {
+        this.userId = userId;
+        this.monthStart = monthStart;
+        this.categoryId = categoryId;
+        this.type = type;
+    }
+
+    public static RollupKey of(Transaction transaction) {
+        return new RollupKey(
+            transaction.getUser().getId(),
+            transaction.getDate().withDayOfMonth(1),
+            transaction.getCategory() != null && transaction.getCategory().getId() != null
+                ? transaction.getCategory().getId() : 0L,
+            transaction.getType()
+        );
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RollupKey)) return false;
+        RollupKey other = (RollupKey) o;
+        return categoryId == other.categoryId
+            && Objects.equals(userId, other.userId)
+            && Objects.equals(monthStart, other.monthStart)
+            && Objects.equals(type, other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, monthStart, categoryId, type);
+    }
+
+    @Override
+    public String toString() {
+        return monthStart + "/" + categoryId + "/" + type;
+    }
+}
@@ -0,0 +1,29 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.rollup;
+
+import java.util.List;
+
+/**
+ * Result of comparing a user's rollup rows against a fresh aggregation of their transactions.
+ */
+public class RollupVerification {
+
+    private final int bucketsChecked;
+    private final List<String> mismatches;
+
+    public RollupVerification(int bucketsChecked, List<String> mismatches) {
+        this.bucketsChecked = bucketsChecked;
+        this.mismatches = mismatches;
+    }
+
+    public int getBucketsChecked() {
+        return bucketsChecked;
+    }
+
+    public List<String> getMismatches() {
+        return mismatches;
+    }
+
+    public boolean isConsistent() {
+        return mismatches.isEmpty();
+    }
+}
@@ -0,0 +1,212 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.rollup;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.TransactionRollup;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.rollup.TransactionRollupRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.MonthSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps transaction_rollups in step with the transactions table and answers
+ * month-granular aggregates from it, so dashboard totals cost O(months) instead of O(transactions).
+ *
+ * Writers call the record* methods inside the same transaction as the row change.
+ * Additions are applied as an atomic upsert; updates and deletes recompute the affected
+ * bucket from source rows because min/max cannot be decremented.
+ */
+@Service
+public class TransactionRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupService.class);
+    private static final double TOLERANCE = 0.005;
+
+    @Autowired
+    private TransactionRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Transactional
+    public void recordAdded(Transaction transaction) {
+        RollupKey key = RollupKey.of(transaction);
+        rollupRepository.addToBucket(key.getUserId(), key.getMonthStart(), key.getCategoryId(),
+            key.getType(), transaction.getAmount());
+    }
+
+    /**
+     * Folds a batch of new transactions into their buckets with one upsert per bucket
+     * rather than one per row, so bulk inserts keep their batching benefit.
+     */
+    @Transactional
+    public void recordAddedBatch(List<? extends Transaction> transactions) {
+        Map<RollupKey, double[]> buckets = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            double amount = transaction.getAmount();
+            // {total, count, min, max}
+            double[] aggregate = buckets.computeIfAbsent(RollupKey.of(transaction),
+                key -> new double[] {0.0, 0.0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY});
+            aggregate[0] += amount;
+            aggregate[1] += 1;
+            aggregate[2] = Math.min(aggregate[2], amount);
+            aggregate[3] = Math.max(aggregate[3], amount);
+        }
+        buckets.forEach((key, aggregate) -> rollupRepository.addAggregateToBucket(
+            key.getUserId(), key.getMonthStart(), key.getCategoryId(), key.getType(),
+            aggregate[0], (long) aggregate[1], aggregate[2], aggregate[3]));
+    }
+
+    @Transactional
+    public void recordRemoved(RollupKey key) {
+        transactionRepository.flush();
+        recomputeBucket(key);
+    }
+
+    @Transactional
+    public void recordUpdated(RollupKey before, Transaction after) {
+        transactionRepository.flush();
+        RollupKey afterKey = RollupKey.of(after);
+        recomputeBucket(before);
+        if (!afterKey.equals(before)) {
+            recomputeBucket(afterKey);
+        }
+    }
+
+    private void recomputeBucket(RollupKey key) {
+        rollupRepository.deleteBucket(key.getUserId(), key.getMonthStart(), key.getCategoryId(), key.getType());
+        rollupRepository.insertBucketFromTransactions(key.getUserId(), key.getMonthStart(),
+            key.getMonthStart().plusMonths(1), key.getCategoryId(), key.getType());
+    }
+
+    @Transactional
+    public int rebuild(User user) {
+        transactionRepository.flush();
+        rollupRepository.deleteByUserId(user.getId());
+        int buckets = rollupRepository.insertAllBucketsFromTransactions(user.getId());
+        logger.info("Rebuilt {} rollup buckets for user {}", buckets, user.getId());
+        return buckets;
+    }
+
+    @Transactional(readOnly = true)
+    public RollupVerification verify(User user) {
+        Map<String, TransactionRollup> stored = new HashMap<>();
+        for (TransactionRollup rollup : rollupRepository.findByUser(user)) {
+            stored.put(bucketLabel(rollup.getMonthStart(), rollup.getCategoryId(), rollup.getTransactionType()), rollup);
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        List<Object[]> expected = rollupRepository.aggregateTransactionsByBucket(user.getId());
+        for (Object[] row : expected) {
+            String label = bucketLabel(row[0], ((Number) row[1]).longValue(), (String) row[2]);
+            TransactionRollup rollup = stored.remove(label);
+            double total = ((Number) row[3]).doubleValue();
+            long count = ((Number) row[4]).longValue();
+            if (rollup == null) {
+                mismatches.add(label + ": missing rollup row");
+            } else if (rollup.getTxnCount() != count
+                    || Math.abs(rollup.getTotalAmount() - total) > TOLERANCE
+                    || Math.abs(rollup.getMinAmount() - ((Number) row[5]).doubleValue()) > TOLERANCE
+                    || Math.abs(rollup.getMaxAmount() - ((Number) row[6]).doubleValue()) > TOLERANCE) {
+                mismatches.add(String.format("%s: rollup has sum=%.2f count=%d, transactions have sum=%.2f count=%d",
+                    label, rollup.getTotalAmount(), rollup.getTxnCount(), total, count));
+            }
+        }
+        for (String orphan : stored.keySet()) {
+            mismatches.add(orphan + ": rollup row without transactions");
+        }
+
+        if (!mismatches.isEmpty()) {
+            logger.warn("Rollup verification found {} mismatches for user {}", mismatches.size(), user.getId());
+        }
+        return new RollupVerification(expected.size(), mismatches);
+    }
+
+    private String bucketLabel(Object monthStart, long categoryId, String type) {
+        return monthStart + "/" + categoryId + "/" + type;
+    }
+
+    public MonthSummary getMonthSummary(YearMonth month, User user) {
+        LocalDate monthStart = month.atDay(1);
+        double[] totals = toTypeTotals(rollupRepository.sumByTypeForMonths(user, monthStart, monthStart));
+        return new MonthSummary(month, totals[0], totals[1]);
+    }
+
+    public List<MonthSummary> getMonthSummaries(int year, User user) {
+        double[] income = new double[13];
+        double[] expenses = new double[13];
+        List<Object[]> rows = rollupRepository.sumByMonthAndTypeForMonths(
+            user, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 1));
+        for (Object[] row : rows) {
+            int month = ((LocalDate) row[0]).getMonthValue();
+            double total = ((Number) row[2]).doubleValue();
+            if ("INCOME".equals(row[1])) {
+                income[month] += total;
+            } else if ("EXPENSE".equals(row[1])) {
+                expenses[month] += total;
+            }
+        }
+
+        List<MonthSummary> summaries = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            summaries.add(new MonthSummary(YearMonth.of(year, month), income[month], expenses[month]));
+        }
+        return summaries;
+    }
+
+    /**
+     * Total of one transaction type over an inclusive date range. Whole months inside the
+     * range come from rollups; only the partial months at either edge touch raw transactions.
+     */
+    public double sumBetween(User user, String type, LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            return 0.0;
+        }
+        YearMonth fullFrom = start.getDayOfMonth() == 1 ? YearMonth.from(start) : YearMonth.from(start).plusMonths(1);
+        YearMonth fullTo = end.equals(YearMonth.from(end).atEndOfMonth()) ? YearMonth.from(end) : YearMonth.from(end).minusMonths(1);
+
+        if (fullFrom.isAfter(fullTo)) {
+            return sumTransactions(user, type, start, end.plusDays(1));
+        }
+
+        double[] totals = toTypeTotals(rollupRepository.sumByTypeForMonths(user, fullFrom.atDay(1), fullTo.atDay(1)));
+        double total = "INCOME".equals(type) ? totals[0] : totals[1];
+        if (start.isBefore(fullFrom.atDay(1))) {
+            total += sumTransactions(user, type, start, fullFrom.atDay(1));
+        }
+        if (end.isAfter(fullTo.atEndOfMonth())) {
+            total += sumTransactions(user, type, fullTo.plusMonths(1).atDay(1), end.plusDays(1));
+        }
+        return total;
+    }
+
+    private double sumTransactions(User user, String type, LocalDate start, LocalDate endExclusive) {
+        double[] totals = toTypeTotals(transactionRepository.sumByTypeBetweenForUser(user.getId(), start, endExclusive));
+        return "INCOME".equals(type) ? totals[0] : totals[1];
+    }
+
+    // Rows are [transaction_type, total]; returns {income, expenses}
+    private double[] toTypeTotals(List<Object[]> rows) {
+        double[] totals = new double[2];
+        for (Object[] row : rows) {
+            double total = ((Number) row[1]).doubleValue();
+            if ("INCOME".equals(row[0])) {
+                totals[0] += total;
+            } else if ("EXPENSE".equals(row[0])) {
+                totals[1] += total;
+            }
+        }
+        return totals;
+    }
+}
@@ -5,12 +5,14 @@ import personal_expense_tracker_com.example.personal_expense_tracker.repository.
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.category.CategoryService;
 import personal_expense_tracker_com.example.personal_expense_tracker.service.alert.SpendingAlertService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.user.UserChangeTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
@@ -32,6 +34,9 @@ public class SavingsGoalService {
     @Autowired
     private SpendingAlertService spendingAlertService;
 
+    @Autowired
+    private UserChangeTracker changeTracker;
+
     public List<SavingsGoal> getAllActiveSavingsGoals(User user) {
         return savingsGoalRepository.findByUserAndIsActiveTrueOrderByTargetDateAsc(user);
     }
@@ -84,6 +89,7 @@ public class SavingsGoalService {
             savingsGoal.getCategory() != null ? savingsGoal.getCategory().getCategoryName() : "null");
         
         SavingsGoal saved = savingsGoalRepository.save(savingsGoal);
+        changeTracker.markChanged(saved.getUser());
         logger.debug("Created savings goal with ID: {}", saved.getId());
         return saved;
     }
@@ -107,6 +113,7 @@ public class SavingsGoalService {
             goal.setCategory(updatedGoal.getCategory());
             
             SavingsGoal saved = savingsGoalRepository.save(goal);
+            changeTracker.markChanged(saved.getUser());
             logger.debug("Updated savings goal with ID: {}", saved.getId());
             return saved;
         }
@@ -120,6 +127,7 @@ public class SavingsGoalService {
             SavingsGoal savingsGoal = goal.get();
             savingsGoal.setActive(false);
             savingsGoalRepository.save(savingsGoal);
+            changeTracker.markChanged(savingsGoal.getUser());
         }
     }
 
@@ -129,20 +137,30 @@ public class SavingsGoalService {
             SavingsGoal savingsGoal = goal.get();
             double newAmount = savingsGoal.getCurrentAmount() + additionalAmount;
             savingsGoal.setCurrentAmount(newAmount);
-            return savingsGoalRepository.save(savingsGoal);
+            SavingsGoal saved = savingsGoalRepository.save(savingsGoal);
+            changeTracker.markChanged(saved.getUser());
+            return saved;
         }
         return null;
     }
 
     public void generateSavingsGoalAlerts(User user) {
-        List<SavingsGoal> overdueGoals = getOverdueGoals(user);
+        generateSavingsGoalAlerts(user, LocalDate.now());
+    }
+
+    // Overdue and behind-schedule alerts are keyed per goal and month
+    public void generateSavingsGoalAlerts(User user, LocalDate today) {
+        String month = YearMonth.from(today).toString();
+        List<SavingsGoal> overdueGoals = savingsGoalRepository.findOverdueGoalsForUser(today, user);
         
         for (SavingsGoal goal : overdueGoals) {
             String message = String.format("Your savings goal '%s' is overdue! You need %.2f more to reach your target of %.2f", 
                                          goal.getName(), goal.getRemainingAmount(), goal.getTargetAmount());
             
-            spendingAlertService.createAlert(
+            spendingAlertService.raiseAlert(
                 "SAVINGS_GOAL_OVERDUE",
+                goalSubject(goal),
+                month,
                 message,
                 goal.getTargetAmount(),
                 goal.getCurrentAmount(),
@@ -153,7 +171,6 @@ public class SavingsGoalService {
 
         // Check for goals that are behind schedule
         List<SavingsGoal> activeGoals = getAllActiveSavingsGoals(user);
-        LocalDate today = LocalDate.now();
         
         for (SavingsGoal goal : activeGoals) {
             if (!goal.isCompleted() && goal.getDaysRemaining() > 0) {
@@ -165,8 +182,10 @@ public class SavingsGoalService {
                     String message = String.format("Your savings goal '%s' is behind schedule. You need to save %.2f daily to reach your target", 
                                                  goal.getName(), dailyRequired);
                     
-                    spendingAlertService.createAlert(
+                    spendingAlertService.raiseAlert(
                         "SAVINGS_GOAL_BEHIND_SCHEDULE",
+                        goalSubject(goal),
+                        month,
                         message,
                         dailyRequired,
                         currentDailyRate,
@@ -178,6 +197,7 @@ public class SavingsGoalService {
         }
     }
 
+    // One congratulation per goal, however many runs see it completed
     public void checkGoalCompletion(User user) {
         List<SavingsGoal> activeGoals = getAllActiveSavingsGoals(user);
         
@@ -186,8 +206,10 @@ public class SavingsGoalService {
                 String message = String.format("Congratulations! You've reached your savings goal '%s' of %.2f!", 
                                              goal.getName(), goal.getTargetAmount());
                 
-                spendingAlertService.createAlert(
+                spendingAlertService.raiseAlert(
                     "SAVINGS_GOAL_COMPLETED",
+                    goalSubject(goal),
+                    null,
                     message,
                     goal.getTargetAmount(),
                     goal.getCurrentAmount(),
@@ -198,6 +220,10 @@ public class SavingsGoalService {
         }
     }
 
+    private static String goalSubject(SavingsGoal goal) {
+        return "goal:" + goal.getId();
+    }
+
     public double getTotalSavingsProgress(User user) {
         List<SavingsGoal> activeGoals = getAllActiveSavingsGoals(user);
         if (activeGoals.isEmpty()) return 0.0;
@@ -0,0 +1,42 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.search;
+
+import java.util.List;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+
+public class TransactionSearchPage {
+
+    private final String query;
+    private final int total;
+    private final int page;
+    private final int size;
+    private final List<Transaction> transactions;
+
+    public TransactionSearchPage(String query, int total, int page, int size, List<Transaction> transactions) {
+        this.query = query;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.transactions = transactions;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+}
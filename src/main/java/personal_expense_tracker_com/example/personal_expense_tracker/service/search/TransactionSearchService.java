@@ -0,0 +1,322 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+
+/**
+ * Per-user trigram index over transaction descriptions (transaction_search_grams), replacing
+ * LIKE '%kw%' scans. Each word is indexed with a leading space, so " co" marks a word start:
+ * terms of three or more characters match anywhere, two-character terms match word prefixes.
+ *
+ * Writers call {@link #index} inside the same transaction as the row change; deletes are
+ * handled by ON DELETE CASCADE. Candidates from the index are re-checked, ranked and paged
+ * in SQL, so trigram false positives never reach the caller and only one page of rows is
+ * loaded however common the terms are.
+ */
+@Service
+public class TransactionSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchService.class);
+    private static final int INSERT_ROWS_PER_STATEMENT = 500;
+    private static final int REBUILD_CHUNK = 1000;
+    // Same pattern in Java and in SQL REGEXP_REPLACE (ICU on MySQL 8, java.util.regex on H2)
+    private static final String WORD_SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Transactional
+    public void index(Transaction transaction) {
+        indexAll(List.of(transaction));
+    }
+
+    /**
+     * Replaces the grams of the given (already assigned an id) transactions.
+     */
+    @Transactional
+    public void indexAll(List<? extends Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(transactions.size());
+        List<Object[]> rows = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            ids.add(transaction.getId());
+            for (String gram : grams(transaction.getDescription())) {
+                rows.add(new Object[] {transaction.getUser().getId(), gram, transaction.getId()});
+            }
+        }
+        // Pending inserts must reach the database before the gram rows that reference them
+        entityManager.flush();
+        entityManager.createNativeQuery("DELETE FROM transaction_search_grams WHERE transaction_id IN (:ids)")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        insertGrams(rows);
+    }
+
+    @Transactional
+    public int rebuild(User user) {
+        entityManager.flush();
+        entityManager.createNativeQuery("DELETE FROM transaction_search_grams WHERE user_id = :userId")
+            .setParameter("userId", user.getId())
+            .executeUpdate();
+
+        long lastId = 0;
+        int indexed = 0;
+        while (true) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> chunk = entityManager.createNativeQuery(
+                    "SELECT id, description FROM transactions WHERE user_id = :userId AND id > :lastId ORDER BY id")
+                .setParameter("userId", user.getId())
+                .setParameter("lastId", lastId)
+                .setMaxResults(REBUILD_CHUNK)
+                .getResultList();
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>();
+            for (Object[] row : chunk) {
+                lastId = ((Number) row[0]).longValue();
+                for (String gram : grams((String) row[1])) {
+                    rows.add(new Object[] {user.getId(), gram, lastId});
+                }
+            }
+            insertGrams(rows);
+            indexed += chunk.size();
+        }
+        logger.info("Rebuilt search index for user {} over {} transactions", user.getId(), indexed);
+        return indexed;
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionSearchPage search(User user, String query, int page, int size) {
+        List<String> terms = searchTerms(query);
+        Set<String> queryGrams = queryGrams(terms);
+        if (terms.isEmpty()) {
+            return new TransactionSearchPage(query, 0, page, size, List.of());
+        }
+
+        String matches = matchesSql(terms);
+        long total = ((Number) bind(entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM (" + matches + ") m"), user, terms, queryGrams)
+            .getSingleResult()).longValue();
+
+        @SuppressWarnings("unchecked")
+        List<Number> pageIds = bind(entityManager.createNativeQuery(
+                "SELECT m.id FROM (" + matches + ") m ORDER BY m.score DESC, m.date DESC, m.id DESC"),
+                user, terms, queryGrams)
+            .setFirstResult(page * size)
+            .setMaxResults(size)
+            .getResultList();
+        return new TransactionSearchPage(query, (int) total, page, size, load(pageIds));
+    }
+
+    /**
+     * Every match of {@code query}, in {@link #search} order. Backs the unpaged
+     * /transactions/by-description, which used to run a LIKE '%kw%' scan.
+     */
+    @Transactional(readOnly = true)
+    public List<Transaction> searchAll(User user, String query) {
+        List<String> terms = searchTerms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        List<Number> ids = bind(entityManager.createNativeQuery(
+                "SELECT m.id FROM (" + matchesSql(terms) + ") m ORDER BY m.score DESC, m.date DESC, m.id DESC"),
+                user, terms, queryGrams(terms))
+            .getResultList();
+        return load(ids);
+    }
+
+    // Loads the rows for ranked ids in one query, keeping the rank order
+    private List<Transaction> load(List<Number> rankedIds) {
+        Map<Long, Transaction> byId = new HashMap<>();
+        List<Long> ids = new ArrayList<>(rankedIds.size());
+        for (Number id : rankedIds) {
+            ids.add(id.longValue());
+        }
+        for (Transaction transaction : transactionRepository.findByIdIn(ids)) {
+            byId.put(transaction.getId(), transaction);
+        }
+        List<Transaction> transactions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            transactions.add(byId.get(id));
+        }
+        return transactions;
+    }
+
+    /**
+     * Candidates holding every query gram, re-checked and scored against the description with
+     * its words normalized the way {@link #words} splits them, padded with spaces so each term
+     * can be tested as an exact word (3), a word prefix (2) or, for 3+ characters, a substring (1).
+     */
+    private static String matchesSql(List<String> terms) {
+        StringBuilder score = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = ":term" + i;
+            score.append(i == 0 ? "" : " + ")
+                .append("CASE WHEN w.words LIKE CONCAT('% ', ").append(term).append(", ' %') THEN 3")
+                .append(" WHEN w.words LIKE CONCAT('% ', ").append(term).append(", '%') THEN 2")
+                .append(" ELSE 1 END");
+        }
+        return """
+            SELECT w.id, w.date, %s AS score
+            FROM (
+                SELECT t.id, t.date, %s AS words
+                FROM transactions t
+                JOIN (
+                    SELECT g.transaction_id
+                    FROM transaction_search_grams g
+                    WHERE g.user_id = :userId AND g.gram IN (:grams)
+                    GROUP BY g.transaction_id
+                    HAVING COUNT(*) = :gramCount
+                ) c ON c.transaction_id = t.id
+            ) w
+            WHERE %s
+            """.formatted(score, wordsSql("t.description"), requiredSql("w.words", terms));
+    }
+
+    /**
+     * SQL condition that the description in {@code descriptionColumn} matches every term the
+     * way search does, for filters that narrow by the gram index themselves. Binds the
+     * parameters from {@link #termParameters}.
+     */
+    public static String matchesTermsSql(String descriptionColumn, List<String> terms) {
+        return "(" + requiredSql(wordsSql(descriptionColumn), terms) + ")";
+    }
+
+    public static Map<String, Object> termParameters(List<String> terms) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("separators", WORD_SEPARATORS);
+        for (int i = 0; i < terms.size(); i++) {
+            parameters.put("term" + i, terms.get(i));
+        }
+        return parameters;
+    }
+
+    // Lower-cased, every separator run turned into one space, padded so words are " word "
+    private static String wordsSql(String descriptionColumn) {
+        return "CONCAT(' ', REGEXP_REPLACE(LOWER(" + descriptionColumn + "), :separators, ' '), ' ')";
+    }
+
+    // Two-character terms must start a word, longer ones may sit anywhere. Terms are letters
+    // and digits only, so they need no LIKE escaping.
+    private static String requiredSql(String words, List<String> terms) {
+        StringBuilder required = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            required.append(i == 0 ? "" : " AND ").append(words).append(" LIKE CONCAT(")
+                .append(terms.get(i).length() == 2 ? "'% ', " : "'%', ").append(":term").append(i).append(", '%')");
+        }
+        return required.toString();
+    }
+
+    private static Query bind(Query query, User user, List<String> terms, Set<String> queryGrams) {
+        query.setParameter("userId", user.getId())
+            .setParameter("grams", queryGrams)
+            .setParameter("gramCount", queryGrams.size());
+        termParameters(terms).forEach(query::setParameter);
+        return query;
+    }
+
+    /**
+     * Normalized query terms, dropping those too short to look up in the index.
+     */
+    public static List<String> searchTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String term : words(query)) {
+            if (term.length() >= 2) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Grams a matching description must contain: a two-character term is looked up as a
+     * word prefix, longer terms by their trigrams.
+     */
+    public static Set<String> queryGrams(List<String> terms) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String term : terms) {
+            grams.addAll(term.length() == 2 ? List.of(" " + term) : trigrams(term));
+        }
+        return grams;
+    }
+
+    private void insertGrams(List<Object[]> rows) {
+        for (int start = 0; start < rows.size(); start += INSERT_ROWS_PER_STATEMENT) {
+            List<Object[]> slice = rows.subList(start, Math.min(start + INSERT_ROWS_PER_STATEMENT, rows.size()));
+            StringBuilder sql = new StringBuilder("INSERT IGNORE INTO transaction_search_grams (user_id, gram, transaction_id) VALUES ");
+            for (int i = 0; i < slice.size(); i++) {
+                int base = i * 3;
+                sql.append(i == 0 ? "" : ", ").append("(?").append(base + 1).append(", ?").append(base + 2)
+                    .append(", ?").append(base + 3).append(")");
+            }
+            Query insert = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            for (Object[] row : slice) {
+                insert.setParameter(position++, row[0]);
+                insert.setParameter(position++, row[1]);
+                insert.setParameter(position++, row[2]);
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    static Set<String> grams(String description) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(description)) {
+            String padded = " " + word;
+            if (padded.length() < 3) {
+                grams.add(padded);
+            } else {
+                grams.addAll(trigrams(padded));
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> trigrams(String text) {
+        List<String> grams = new ArrayList<>(text.length());
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split(WORD_SEPARATORS)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
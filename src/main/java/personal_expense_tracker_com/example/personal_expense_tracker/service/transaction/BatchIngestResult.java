@@ -0,0 +1,34 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.util.List;
+
+public class BatchIngestResult {
+
+    private final int created;
+    private final int rejected;
+    private final long elapsedMillis;
+    private final List<BatchRowResult> results;
+
+    public BatchIngestResult(int created, int rejected, long elapsedMillis, List<BatchRowResult> results) {
+        this.created = created;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.results = results;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<BatchRowResult> getResults() {
+        return results;
+    }
+}
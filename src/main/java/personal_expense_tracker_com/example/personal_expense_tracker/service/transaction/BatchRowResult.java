@@ -0,0 +1,47 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+/**
+ * Outcome of one row in a bulk ingest, addressed by its position in the request.
+ */
+public class BatchRowResult {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+    private final String error;
+
+    private BatchRowResult(int index, Status status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchRowResult created(int index, Long id) {
+        return new BatchRowResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchRowResult rejected(int index, String error) {
+        return new BatchRowResult(index, Status.REJECTED, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,35 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.time.YearMonth;
+
+/**
+ * Income, expense and net totals for one calendar month.
+ */
+public class MonthSummary {
+
+    private final YearMonth month;
+    private final double income;
+    private final double expenses;
+
+    public MonthSummary(YearMonth month, double income, double expenses) {
+        this.month = month;
+        this.income = income;
+        this.expenses = expenses;
+    }
+
+    public String getMonth() {
+        return month.toString();
+    }
+
+    public double getIncome() {
+        return income;
+    }
+
+    public double getExpenses() {
+        return expenses;
+    }
+
+    public double getNet() {
+        return income - expenses;
+    }
+}
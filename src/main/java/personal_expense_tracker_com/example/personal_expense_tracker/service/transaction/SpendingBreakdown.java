@@ -0,0 +1,86 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Totals of one transaction type over a date range, per day, per day of week and per category,
+ * folded from the rows of a single grouped query. Category id 0 stands for uncategorized.
+ */
+public class SpendingBreakdown {
+
+    private static final NavigableMap<LocalDate, Double> EMPTY = Collections.emptyNavigableMap();
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final NavigableMap<LocalDate, Double> byDay = new TreeMap<>();
+    private final double[] byDayOfWeek = new double[7];
+    private final Map<Long, NavigableMap<LocalDate, Double>> byCategoryAndDay = new HashMap<>();
+    private double total;
+
+    SpendingBreakdown(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    void add(LocalDate date, long categoryId, double amount) {
+        byDay.merge(date, amount, Double::sum);
+        byDayOfWeek[date.getDayOfWeek().ordinal()] += amount;
+        byCategoryAndDay.computeIfAbsent(categoryId, id -> new TreeMap<>()).merge(date, amount, Double::sum);
+        total += amount;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Total dated within [start, end], inclusive; the range must lie within the breakdown's own.
+     */
+    public double totalBetween(LocalDate start, LocalDate end) {
+        return sumBetween(byDay, start, end);
+    }
+
+    public double onDay(LocalDate date) {
+        return totalBetween(date, date);
+    }
+
+    public double onDayOfWeek(DayOfWeek dayOfWeek) {
+        return byDayOfWeek[dayOfWeek.ordinal()];
+    }
+
+    public double forCategory(Long categoryId) {
+        return forCategoryBetween(categoryId, from, to);
+    }
+
+    public double forCategoryBetween(Long categoryId, LocalDate start, LocalDate end) {
+        return sumBetween(byCategoryAndDay.getOrDefault(categoryId, EMPTY), start, end);
+    }
+
+    private double sumBetween(NavigableMap<LocalDate, Double> days, LocalDate start, LocalDate end) {
+        // A range reaching outside the query's would silently undercount
+        if (start.isBefore(from) || end.isAfter(to)) {
+            throw new IllegalArgumentException("Range " + start + ".." + end + " is outside " + from + ".." + to);
+        }
+        double sum = 0.0;
+        if (!start.isAfter(end)) {
+            for (double amount : days.subMap(start, true, end, true).values()) {
+                sum += amount;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,63 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+
+/**
+ * Grouped aggregates over the transactions table, computed by the database and keyed on the
+ * transaction_type discriminator, so generators that need totals for several categories or
+ * days issue one query instead of loading rows per category.
+ */
+@Service
+public class TransactionAggregationService {
+
+    public static final String EXPENSE = "EXPENSE";
+    public static final String INCOME = "INCOME";
+
+    private final TransactionRepository transactionRepository;
+
+    public TransactionAggregationService(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Per-day, per-weekday and per-category totals of the type dated within [from, to], in one query.
+     */
+    @Transactional(readOnly = true)
+    public SpendingBreakdown breakdown(User user, String type, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        SpendingBreakdown breakdown = new SpendingBreakdown(from, to);
+        for (Object[] row : transactionRepository.sumByDayAndCategoryBetween(user.getId(), type, from, to.plusDays(1))) {
+            breakdown.add(toLocalDate(row[0]), ((Number) row[1]).longValue(), ((Number) row[2]).doubleValue());
+        }
+        return breakdown;
+    }
+
+    /**
+     * All-time totals of the type per category id; uncategorized rows are under 0.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Double> totalsByCategory(User user, String type) {
+        Map<Long, Double> totals = new HashMap<>();
+        List<Object[]> rows = transactionRepository.sumByCategoryForUser(user.getId(), type);
+        for (Object[] row : rows) {
+            totals.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        return totals;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
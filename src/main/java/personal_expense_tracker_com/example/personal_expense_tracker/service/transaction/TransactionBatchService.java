@@ -0,0 +1,141 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+
+/**
+ * Bulk insert path for transactions. Rows are validated up front with a single category
+ * lookup, then persisted and flushed every {@code jdbcBatchSize} rows so Hibernate sends
+ * them as JDBC batches (rewritten into multi-row INSERTs by Connector/J).
+ */
+@Service
+public class TransactionBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionWriteHooks writeHooks;
+
+    @Value("${transactions.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Value("${transactions.batch.max-rows:10000}")
+    private int maxRows;
+
+    @Transactional
+    public BatchIngestResult ingest(List<Transaction> rows, User user) {
+        long started = System.nanoTime();
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("Batch has " + rows.size() + " rows; the limit is " + maxRows);
+        }
+
+        Map<Long, Category> categories = loadCategories(rows, user);
+        BatchRowResult[] results = new BatchRowResult[rows.size()];
+        List<Transaction> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction row = rows.get(i);
+            String error = validate(row, categories);
+            if (error != null) {
+                results[i] = BatchRowResult.rejected(i, error);
+                continue;
+            }
+            row.setCategory(categories.get(row.getCategory().getId()));
+            row.setUser(user);
+            accepted.add(row);
+            acceptedIndexes.add(i);
+        }
+
+        persistInBatches(accepted, true);
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = BatchRowResult.created(index, accepted.get(i).getId());
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Batch ingest for user {}: {} created, {} rejected in {} ms",
+            user.getId(), accepted.size(), rows.size() - accepted.size(), elapsedMillis);
+        return new BatchIngestResult(accepted.size(), rows.size() - accepted.size(), elapsedMillis, Arrays.asList(results));
+    }
+
+    /**
+     * Persists already-validated transactions, flushing and clearing the persistence context
+     * every {@code jdbcBatchSize} rows so memory stays bounded, then runs the {@link TransactionWriteHooks}.
+     * With {@code scoreExpenses} each expense is scored for unusual spending like a single save;
+     * otherwise the rows only train statistics already in memory.
+     */
+    @Transactional
+    public void persistInBatches(List<? extends Transaction> transactions, boolean scoreExpenses) {
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        writeHooks.addedAll(transactions, scoreExpenses);
+    }
+
+    private Map<Long, Category> loadCategories(List<Transaction> rows, User user) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (Transaction row : rows) {
+            if (row != null && row.getCategory() != null && row.getCategory().getId() != null) {
+                categoryIds.add(row.getCategory().getId());
+            }
+        }
+        if (categoryIds.isEmpty()) {
+            return Map.of();
+        }
+        return categoryRepository.findByIdInAndUser(categoryIds, user).stream()
+            .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private String validate(Transaction row, Map<Long, Category> categories) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        if (row.getCategory() == null || row.getCategory().getId() == null) {
+            return "No category provided";
+        }
+        if (!categories.containsKey(row.getCategory().getId())) {
+            return "Category not found: " + row.getCategory().getId();
+        }
+        if (row.getDate() == null) {
+            return "Date is required";
+        }
+        if (!Double.isFinite(row.getAmount()) || row.getAmount() <= 0) {
+            return "Amount must be a positive number";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+
+/**
+ * Opaque keyset position in a user's transactions: the sort key of the last row returned and
+ * its id as tie-breaker. The ledger order (date DESC, id DESC) encodes as "date:id"; other
+ * {@link TransactionFilter.Sort} orders prefix their name, "SORT:value:id", so a cursor from
+ * one order cannot be replayed against another.
+ * Clients only ever see the encoded form and pass it back unchanged.
+ */
+public class TransactionCursor {
+
+    private final TransactionFilter.Sort sort;
+    private final Object value;
+    private final Long id;
+
+    private TransactionCursor(TransactionFilter.Sort sort, Object value, Long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    public TransactionCursor(LocalDate date, Long id) {
+        this(TransactionFilter.Sort.DATE_DESC, date, id);
+    }
+
+    public static TransactionCursor after(Transaction transaction) {
+        return after(transaction, TransactionFilter.Sort.DATE_DESC);
+    }
+
+    public static TransactionCursor after(Transaction transaction, TransactionFilter.Sort sort) {
+        Object value = byAmount(sort) ? (Object) transaction.getAmount() : transaction.getDate();
+        return new TransactionCursor(sort, value, transaction.getId());
+    }
+
+    /**
+     * Decodes a cursor issued for the ledger order.
+     */
+    public static TransactionCursor decode(String encoded) {
+        return decode(encoded, TransactionFilter.Sort.DATE_DESC);
+    }
+
+    /**
+     * Decodes a cursor, rejecting one issued for a different sort order.
+     */
+    public static TransactionCursor decode(String encoded, TransactionFilter.Sort expected) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(":", -1);
+            TransactionFilter.Sort sort = parts.length == 2 ? TransactionFilter.Sort.DATE_DESC
+                : parts.length == 3 ? TransactionFilter.Sort.valueOf(parts[0])
+                : null;
+            if (sort == null) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            if (sort != expected) {
+                throw new IllegalArgumentException("Cursor does not belong to sort " + expected);
+            }
+            String value = parts[parts.length - 2];
+            return new TransactionCursor(sort, byAmount(sort) ? (Object) Double.parseDouble(value) : LocalDate.parse(value),
+                Long.parseLong(parts[parts.length - 1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded, e);
+        }
+    }
+
+    public String encode() {
+        String raw = (sort == TransactionFilter.Sort.DATE_DESC ? "" : sort.name() + ":") + value + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public TransactionFilter.Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * The sort key: a {@link LocalDate} for date orders, a {@link Double} for amount orders.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    public LocalDate getDate() {
+        if (byAmount(sort)) {
+            throw new IllegalStateException("Cursor for " + sort + " has no date");
+        }
+        return (LocalDate) value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    static boolean byAmount(TransactionFilter.Sort sort) {
+        return sort == TransactionFilter.Sort.AMOUNT_DESC || sort == TransactionFilter.Sort.AMOUNT_ASC;
+    }
+}
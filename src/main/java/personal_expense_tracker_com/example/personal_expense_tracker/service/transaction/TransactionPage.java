@@ -0,0 +1,31 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.util.List;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+
+/**
+ * One bounded slice of a user's ledger. {@code nextCursor} is null on the last page.
+ */
+public class TransactionPage {
+
+    private final List<Transaction> transactions;
+    private final String nextCursor;
+
+    public TransactionPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
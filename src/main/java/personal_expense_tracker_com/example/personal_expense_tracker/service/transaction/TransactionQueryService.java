@@ -0,0 +1,126 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchService;
+
+/**
+ * Compiles a {@link TransactionFilter} into one SQL statement: only the predicates that are
+ * set, a keyset condition for the cursor, and LIMIT n+1 to detect a following page.
+ * Date sorts are served by idx_transactions_user_date and amount sorts by
+ * idx_transactions_user_amount; a text filter goes through the search gram index.
+ */
+@Service
+public class TransactionQueryService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public TransactionPage query(TransactionFilter filter, User user) {
+        if (filter.getLimit() < 1 || filter.getLimit() > TransactionService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + TransactionService.MAX_PAGE_SIZE);
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        TransactionFilter.Sort sort = filter.getSort() == null ? TransactionFilter.Sort.DATE_DESC : filter.getSort();
+        boolean byAmount = TransactionCursor.byAmount(sort);
+        boolean descending = sort == TransactionFilter.Sort.DATE_DESC || sort == TransactionFilter.Sort.AMOUNT_DESC;
+        String sortColumn = byAmount ? "t.amount" : "t.date";
+
+        StringBuilder sql = new StringBuilder("SELECT t.* FROM transactions t WHERE t.user_id = :userId");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userId", user.getId());
+
+        if (filter.getFrom() != null) {
+            sql.append(" AND t.date >= :from");
+            parameters.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND t.date <= :to");
+            parameters.put("to", filter.getTo());
+        }
+        if (filter.getMinAmount() != null) {
+            sql.append(" AND t.amount >= :minAmount");
+            parameters.put("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            sql.append(" AND t.amount <= :maxAmount");
+            parameters.put("maxAmount", filter.getMaxAmount());
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            sql.append(" AND t.category_id IN (:categoryIds)");
+            parameters.put("categoryIds", filter.getCategoryIds());
+        }
+        if (filter.getType() != null && !filter.getType().isBlank()) {
+            String type = filter.getType().trim().toUpperCase(Locale.ROOT);
+            if (!type.equals("INCOME") && !type.equals("EXPENSE")) {
+                throw new IllegalArgumentException("type must be INCOME or EXPENSE");
+            }
+            sql.append(" AND t.transaction_type = :type");
+            parameters.put("type", type);
+        }
+        if (filter.getText() != null && !filter.getText().isBlank()) {
+            appendTextFilter(sql, parameters, filter.getText());
+        }
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            TransactionCursor position = TransactionCursor.decode(filter.getCursor(), sort);
+            String comparison = descending ? "<" : ">";
+            sql.append(" AND (").append(sortColumn).append(' ').append(comparison).append(" :cursorValue OR (")
+                .append(sortColumn).append(" = :cursorValue AND t.id ").append(comparison).append(" :cursorId))");
+            parameters.put("cursorValue", position.getValue());
+            parameters.put("cursorId", position.getId());
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY ").append(sortColumn).append(direction).append(", t.id").append(direction);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Transaction.class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(filter.getLimit() + 1);
+
+        @SuppressWarnings("unchecked")
+        List<Transaction> rows = query.getResultList();
+        if (rows.size() <= filter.getLimit()) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> page = new ArrayList<>(rows.subList(0, filter.getLimit()));
+        return new TransactionPage(page, TransactionCursor.after(page.get(page.size() - 1), sort).encode());
+    }
+
+    // Trigram lookup narrows to candidates; search's normalized LIKE on those few rows removes false positives
+    private void appendTextFilter(StringBuilder sql, Map<String, Object> parameters, String text) {
+        List<String> terms = TransactionSearchService.searchTerms(text);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("text needs at least one term of two or more characters");
+        }
+        Set<String> grams = TransactionSearchService.queryGrams(terms);
+        sql.append("""
+             AND t.id IN (
+                SELECT g.transaction_id FROM transaction_search_grams g
+                WHERE g.user_id = :userId AND g.gram IN (:grams)
+                GROUP BY g.transaction_id
+                HAVING COUNT(*) = :gramCount
+            )""");
+        parameters.put("grams", grams);
+        parameters.put("gramCount", grams.size());
+        sql.append(" AND ").append(TransactionSearchService.matchesTermsSql("t.description", terms));
+        parameters.putAll(TransactionSearchService.termParameters(terms));
+    }
+}
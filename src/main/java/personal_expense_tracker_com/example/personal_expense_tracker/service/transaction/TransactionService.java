@@ -1,30 +1,61 @@
 package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
 import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerCacheService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerColumns;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.RollupKey;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.TransactionRollupService;
 
 @Service
 public class TransactionService {
  
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
     
     private final TransactionRepository transactionRepository;
+    private final TransactionRollupService rollupService;
+    private final LedgerCacheService ledgerCache;
+    private final TransactionWriteHooks writeHooks;
+    private final int streamFetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository) {
+    public TransactionService(TransactionRepository transactionRepository, TransactionRollupService rollupService,
+                              LedgerCacheService ledgerCache, TransactionWriteHooks writeHooks,
+                              @Value("${transactions.stream.fetch-size:-2147483648}") int streamFetchSize) {
         this.transactionRepository = transactionRepository;
+        this.rollupService = rollupService;
+        this.ledgerCache = ledgerCache;
+        this.writeHooks = writeHooks;
+        this.streamFetchSize = streamFetchSize;
     }
 
     public List<Transaction> findAll(){
@@ -32,29 +63,74 @@ public class TransactionService {
     }
 
     public List<Transaction> findAllByUser(User user) {
-        logger.debug("Finding all transactions for user: {}", user.getFirebaseUid());
-        List<Transaction> transactions = transactionRepository.findByUser(user);
-        logger.debug("Found {} transactions for user: {}", transactions.size(), user.getFirebaseUid());
-        
-        // Debug category information for each transaction
-        for (Transaction transaction : transactions) {
-            if (transaction.getCategory() != null) {
-                logger.debug("Transaction ID: {}, Category ID: {}, Category Name: {}", 
-                    transaction.getId(), 
-                    transaction.getCategory().getId(), 
-                    transaction.getCategory().getCategoryName());
-            } else {
-                logger.warn("Transaction ID: {} has NULL category", transaction.getId());
+        return transactionRepository.findByUser(user);
+    }
+
+    public TransactionPage findPageByUser(User user, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPageByUser(user, pageable);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserAfter(user, position.getDate(), position.getId(), pageable);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> page = new ArrayList<>(rows.subList(0, pageSize));
+        return new TransactionPage(page, TransactionCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Hands every transaction of the user to {@code consumer} straight off the JDBC result set.
+     * Each row is detached once consumed so the persistence context never grows past one row
+     * plus the user's categories. The fetch size defaults to Integer.MIN_VALUE, which makes
+     * Connector/J stream rows instead of buffering the result set.
+     */
+    @Transactional(readOnly = true)
+    public long streamAllByUser(User user, Consumer<Transaction> consumer) {
+        long count = 0;
+        try (Stream<Transaction> transactions = entityManager.createQuery(
+                "SELECT t FROM Transaction t LEFT JOIN FETCH t.category WHERE t.user = :user ORDER BY t.date DESC, t.id DESC",
+                Transaction.class)
+                .setParameter("user", user)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                consumer.accept(transaction);
+                entityManager.detach(transaction);
+                count++;
             }
         }
-        
-        return transactions;
+        logger.debug("Streamed {} transactions for user: {}", count, user.getFirebaseUid());
+        return count;
+    }
+
+    public MonthSummary getMonthSummary(YearMonth month, User user) {
+        return rollupService.getMonthSummary(month, user);
+    }
+
+    public MonthSummary getMonthSummary(YearMonth month) {
+        List<Object[]> rows = transactionRepository.sumByTypeBetween(month.atDay(1), month.plusMonths(1).atDay(1));
+        return toMonthSummary(month, rows);
+    }
+
+    /**
+     * All income minus all expenses dated on or before the given day.
+     */
+    public double getBalanceAsOf(LocalDate date, User user) {
+        LedgerColumns ledger = ledgerCache.get(user);
+        return ledger.sumThrough(LedgerColumns.INCOME, date) - ledger.sumThrough(LedgerColumns.EXPENSE, date);
     }
 
     public BigDecimal getNetBalanceThisMonth(User user) {
-        BigDecimal income = transactionRepository.getTotalIncomeThisMonthForUser(user);
-        BigDecimal expenses = transactionRepository.getTotalExpensesThisMonthForUser(user);
-        return income.subtract(expenses);
+        return BigDecimal.valueOf(getMonthSummary(YearMonth.now(), user).getNet());
     }
 
     public List<Transaction> findByDateBetween(LocalDate start, LocalDate end) {
@@ -89,14 +165,6 @@ public class TransactionService {
         return transactionRepository.findByCategoryCategoryNameAndUser(name, user);
     }
 
-    public List<Transaction> findByDescriptionContainingIgnoreCase(String keyword){
-        return transactionRepository.findByDescriptionContainingIgnoreCase(keyword);
-    }
-
-    public List<Transaction> findByDescriptionContainingIgnoreCaseAndUser(String keyword, User user){
-        return transactionRepository.findByDescriptionContainingIgnoreCaseAndUser(keyword, user);
-    }
-
     public List<Transaction> findAllByOrderByDateDesc(){
         return transactionRepository.findAllByOrderByDateDesc();
     }
@@ -118,15 +186,15 @@ public class TransactionService {
     }
 
     public BigDecimal getTotalExpensesThisMonth(User user){
-        return transactionRepository.getTotalExpensesThisMonthForUser(user);
+        return BigDecimal.valueOf(getMonthSummary(YearMonth.now(), user).getExpenses());
     }
 
     public BigDecimal getTotalIncomeThisMonth(){
-        return transactionRepository.getTotalIncomeThisMonth();
+        return BigDecimal.valueOf(getMonthSummary(YearMonth.now()).getIncome());
     }
 
     public BigDecimal getTotalIncomeThisMonth(User user){
-        return transactionRepository.getTotalIncomeThisMonthForUser(user);
+        return BigDecimal.valueOf(getMonthSummary(YearMonth.now(), user).getIncome());
     }
 
     public List<Object[]> findAllTransactionsGroupedByCategory(){
@@ -134,80 +202,93 @@ public class TransactionService {
     }
 
     public List<Map<String, Object>> getMonthlyNetBalances(int year) {
-        // Get raw data from repository
-        List<Object[]> results = transactionRepository.getMonthlyNetBalances(year);
-        
-        // Transform to List of Maps
-        List<Map<String, Object>> balances = new ArrayList<>();
-        
-        for (int month = 1; month <= 12; month++) {
-            final int currentMonth = month;  // Create final copy
-            String monthKey = String.format("%d-%02d", year, currentMonth);
-            double balance = results.stream()
-                .filter(r -> (int)r[1] == currentMonth)  // Use the final copy
-                .findFirst()
-                .map(r -> (double)r[2])
-                .orElse(0.0);
+        LocalDate start = LocalDate.of(year, 1, 1);
+        return toMonthlyBalances(year, transactionRepository.sumByMonthAndTypeBetween(start, start.plusYears(1)));
+    }
 
+    public List<Map<String, Object>> getMonthlyNetBalances(int year, User user) {
+        List<Map<String, Object>> balances = new ArrayList<>();
+        for (MonthSummary summary : rollupService.getMonthSummaries(year, user)) {
             balances.add(Map.of(
-                "month", monthKey,
-                "balance", balance
+                "month", summary.getMonth(),
+                "balance", summary.getNet()
             ));
         }
-        
         return balances;
     }
 
-    public List<Map<String, Object>> getMonthlyNetBalances(int year, User user) {
-        // Get raw data from repository
-        List<Object[]> results = transactionRepository.getMonthlyNetBalancesForUser(year, user);
-        
-        // Transform to List of Maps
+    private MonthSummary toMonthSummary(YearMonth month, List<Object[]> rows) {
+        double income = 0.0;
+        double expenses = 0.0;
+        for (Object[] row : rows) {
+            double total = ((Number) row[1]).doubleValue();
+            if ("INCOME".equals(row[0])) {
+                income += total;
+            } else if ("EXPENSE".equals(row[0])) {
+                expenses += total;
+            }
+        }
+        return new MonthSummary(month, income, expenses);
+    }
+
+    // Rows are [month, transaction_type, total]; months without activity report a zero balance
+    private List<Map<String, Object>> toMonthlyBalances(int year, List<Object[]> rows) {
+        double[] income = new double[13];
+        double[] expenses = new double[13];
+        for (Object[] row : rows) {
+            int month = ((Number) row[0]).intValue();
+            double total = ((Number) row[2]).doubleValue();
+            if ("INCOME".equals(row[1])) {
+                income[month] += total;
+            } else if ("EXPENSE".equals(row[1])) {
+                expenses[month] += total;
+            }
+        }
+
         List<Map<String, Object>> balances = new ArrayList<>();
-        
         for (int month = 1; month <= 12; month++) {
-            final int currentMonth = month;  // Create final copy
-            String monthKey = String.format("%d-%02d", year, currentMonth);
-            double balance = results.stream()
-                .filter(r -> (int)r[1] == currentMonth)  // Use the final copy
-                .findFirst()
-                .map(r -> (double)r[2])
-                .orElse(0.0);
-
             balances.add(Map.of(
-                "month", monthKey,
-                "balance", balance
+                "month", String.format("%d-%02d", year, month),
+                "balance", income[month] - expenses[month]
             ));
         }
-        
         return balances;
     }
 
+    @Transactional
     public Transaction saveTransaction(Transaction transaction) {
         logger.debug("Saving transaction: {} for user: {}", transaction.getDescription(), transaction.getUser().getFirebaseUid());
         Transaction savedTransaction = transactionRepository.save(transaction);
+        writeHooks.added(savedTransaction);
         logger.debug("Saved transaction with ID: {} and type: {}", savedTransaction.getId(), savedTransaction.getType());
         return savedTransaction;
     }
 
+    @Transactional
     public Transaction updateTransaction(Long id, Transaction updatedTransaction, User user) {
         Optional<Transaction> optionalTransaction = transactionRepository.findByIdAndUser(id, user);
         if (optionalTransaction.isPresent()) {
             Transaction existingTransaction = optionalTransaction.get();
+            RollupKey before = RollupKey.of(existingTransaction);
             existingTransaction.setAmount(updatedTransaction.getAmount());
             existingTransaction.setDescription(updatedTransaction.getDescription());
             existingTransaction.setDate(updatedTransaction.getDate());
             existingTransaction.setCategory(updatedTransaction.getCategory());
-            return transactionRepository.save(existingTransaction);
+            Transaction saved = transactionRepository.save(existingTransaction);
+            writeHooks.updated(before, saved);
+            return saved;
         } else {
             return null;
         }
     }
 
+    @Transactional
     public boolean deleteTransaction(Long id, User user) {
         Optional<Transaction> optionalTransaction = transactionRepository.findByIdAndUser(id, user);
         if (optionalTransaction.isPresent()) {
+            RollupKey before = RollupKey.of(optionalTransaction.get());
             transactionRepository.deleteById(id);
+            writeHooks.removed(before);
             return true;
         } else {
             return false;
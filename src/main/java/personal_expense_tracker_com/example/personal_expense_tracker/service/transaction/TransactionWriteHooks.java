@@ -0,0 +1,129 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.alert.BudgetMonitor;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.alert.SpendingAnomalyDetector;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerCacheService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.RollupKey;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.rollup.TransactionRollupService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.user.UserChangeTracker;
+
+/**
+ * The state derived from transactions, kept in step by every writer through one call per write
+ * inside the writer's transaction: the rollup bucket first, then the budget check that reads it,
+ * the search index, the ledger cache, the user's change marker and, for new expenses, spending
+ * anomaly scoring.
+ *
+ * Both buckets of an update are budget-checked, and the bucket of a delete, so an alert that
+ * no longer holds is withdrawn. Updates are not scored: the expense was scored when it was
+ * added, and scoring it again would count it twice in the rolling statistics.
+ */
+@Component
+public class TransactionWriteHooks {
+
+    private final TransactionRollupService rollupService;
+    private final BudgetMonitor budgetMonitor;
+    private final TransactionSearchService searchService;
+    private final LedgerCacheService ledgerCache;
+    private final UserChangeTracker changeTracker;
+    private final SpendingAnomalyDetector anomalyDetector;
+
+    public TransactionWriteHooks(TransactionRollupService rollupService, BudgetMonitor budgetMonitor,
+                                 TransactionSearchService searchService, LedgerCacheService ledgerCache,
+                                 UserChangeTracker changeTracker, SpendingAnomalyDetector anomalyDetector) {
+        this.rollupService = rollupService;
+        this.budgetMonitor = budgetMonitor;
+        this.searchService = searchService;
+        this.ledgerCache = ledgerCache;
+        this.changeTracker = changeTracker;
+        this.anomalyDetector = anomalyDetector;
+    }
+
+    @Transactional
+    public void added(Transaction saved) {
+        rollupService.recordAdded(saved);
+        budgetMonitor.recordChanged(RollupKey.of(saved));
+        searchService.index(saved);
+        changed(saved.getUser().getId());
+        if (saved instanceof Expense expense) {
+            anomalyDetector.score(expense);
+        }
+    }
+
+    /**
+     * Batch form of {@link #added}; with {@code scoreExpenses} false the expenses only train
+     * statistics already in memory (imports and recurring catch-up, whose rows are mostly historical).
+     */
+    @Transactional
+    public void addedAll(List<? extends Transaction> saved, boolean scoreExpenses) {
+        rollupService.recordAddedBatch(saved);
+        budgetMonitor.recordChanged(saved.stream().map(RollupKey::of).toList());
+        searchService.indexAll(saved);
+        if (scoreExpenses) {
+            anomalyDetector.scoreAll(saved);
+        } else {
+            anomalyDetector.observe(saved);
+        }
+        saved.stream().map(transaction -> transaction.getUser().getId()).distinct().forEach(this::changed);
+    }
+
+    /**
+     * @param before the transaction's bucket captured before it was modified
+     */
+    @Transactional
+    public void updated(RollupKey before, Transaction saved) {
+        rollupService.recordUpdated(before, saved);
+        budgetMonitor.recordChanged(List.of(before, RollupKey.of(saved)));
+        searchService.index(saved);
+        changed(saved.getUser().getId());
+    }
+
+    /**
+     * Called after the row is deleted; its grams go with it through ON DELETE CASCADE.
+     */
+    @Transactional
+    public void removed(RollupKey before) {
+        rollupService.recordRemoved(before);
+        budgetMonitor.recordChanged(before);
+        changed(before.getUserId());
+    }
+
+    public void categoryAdded(User user) {
+        changeTracker.markChanged(user);
+    }
+
+    /**
+     * Rechecks the current month against a category's (possibly new) budget, raising or
+     * withdrawing its alert.
+     */
+    @Transactional
+    public void categoryUpdated(Category saved, User user) {
+        budgetMonitor.recheck(saved, YearMonth.now());
+        changeTracker.markChanged(user);
+    }
+
+    /**
+     * Called after the category is deleted and flushed: the FK nulls category_id on the user's
+     * transactions, moving them to the uncategorized rollup bucket.
+     */
+    @Transactional
+    public void categoryRemoved(User user) {
+        rollupService.rebuild(user);
+        changed(user.getId());
+    }
+
+    private void changed(Long userId) {
+        ledgerCache.invalidate(userId);
+        changeTracker.markChanged(userId);
+    }
+}
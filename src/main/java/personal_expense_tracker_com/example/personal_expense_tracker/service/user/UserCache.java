@@ -0,0 +1,95 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.user;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+
+/**
+ * Process-wide firebaseUid to {@link User} map so authenticated requests do not select the
+ * user row each time. Bounded by users.cache.max-entries with least-recently-used eviction;
+ * hits and misses are published as users.cache{result=hit|miss}.
+ *
+ * {@link UserService} evicts an entry whenever it changes that user, but only on the node that
+ * made the change. Every entry therefore also expires users.cache.ttl-seconds after it was
+ * loaded, which bounds how long another node can keep serving an old display name or
+ * authenticating a user who has been deactivated.
+ */
+@Component
+public class UserCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> users;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public UserCache(@Value("${users.cache.max-entries:10000}") int maxEntries,
+                     @Value("${users.cache.ttl-seconds:60}") long ttlSeconds, MeterRegistry meterRegistry) {
+        this(maxEntries, Duration.ofSeconds(ttlSeconds), meterRegistry, System::nanoTime);
+    }
+
+    UserCache(int maxEntries, Duration ttl, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.users = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserCache.this.maxEntries;
+            }
+        };
+        this.hits = Counter.builder("users.cache").tag("result", "hit")
+            .description("User lookups answered from memory").register(meterRegistry);
+        this.misses = Counter.builder("users.cache").tag("result", "miss")
+            .description("User lookups that went to the database").register(meterRegistry);
+        Gauge.builder("users.cache.size", this, UserCache::size).register(meterRegistry);
+    }
+
+    public User get(String firebaseUid) {
+        User user = null;
+        synchronized (users) {
+            Entry entry = users.get(firebaseUid);
+            if (entry != null && nanoClock.getAsLong() - entry.loadedAt() >= ttlNanos) {
+                users.remove(firebaseUid);
+            } else if (entry != null) {
+                user = entry.user();
+            }
+        }
+        (user != null ? hits : misses).increment();
+        return user;
+    }
+
+    public void put(User user) {
+        synchronized (users) {
+            users.put(user.getFirebaseUid(), new Entry(user, nanoClock.getAsLong()));
+        }
+    }
+
+    public void evict(String firebaseUid) {
+        synchronized (users) {
+            users.remove(firebaseUid);
+        }
+    }
+
+    public int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private record Entry(User user, long loadedAt) {
+    }
+}
@@ -0,0 +1,59 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.user;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.UserChange;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserChangeRepository;
+
+/**
+ * Change tracking for the AI insight jobs. Transaction, category and savings goal writers call
+ * {@link #markChanged} next to their other write hooks, and the jobs walk only marked users.
+ * A mark is cleared after a successful run unless another write arrived meanwhile.
+ */
+@Service
+public class UserChangeTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeTracker.class);
+
+    private final UserChangeRepository changeRepository;
+
+    public UserChangeTracker(UserChangeRepository changeRepository) {
+        this.changeRepository = changeRepository;
+    }
+
+    public void markChanged(User user) {
+        markChanged(user.getId());
+    }
+
+    public void markChanged(Long userId) {
+        changeRepository.markChanged(userId);
+    }
+
+    public List<User> findChangedActiveUsers(Long afterId, Long maxId, Pageable pageable) {
+        return changeRepository.findChangedActiveUsers(afterId, maxId, pageable);
+    }
+
+    /**
+     * Runs the work if the user is marked and clears the mark afterwards. A failed run keeps it,
+     * so the next job retries the user.
+     */
+    public boolean processIfChanged(User user, Consumer<User> work) {
+        Optional<UserChange> change = changeRepository.findById(user.getId());
+        if (change.isEmpty()) {
+            return false;
+        }
+        work.accept(user);
+        if (changeRepository.clearIfUnchanged(user.getId(), change.get().getVersion()) == 0) {
+            logger.debug("User {} changed while being processed, keeping the mark", user.getId());
+        }
+        return true;
+    }
+}
@@ -4,9 +4,16 @@ import personal_expense_tracker_com.example.personal_expense_tracker.entity.User
 import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class UserService {
@@ -14,6 +21,14 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<String, CompletableFuture<User>> lookupsInFlight = new ConcurrentHashMap<>();
+
     public User createUser(String firebaseUid, String email, String displayName) {
         User user = new User(firebaseUid, email, displayName);
         return userRepository.save(user);
@@ -27,12 +42,47 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * Cached, and safe under concurrent first requests: callers for the same UID share one
+     * lookup, and a new user is created with an insert-if-absent so racing instances cannot
+     * hit the unique constraint or create duplicates. The insert and its re-select run in their
+     * own transaction: under REPEATABLE READ a caller's transaction that already read users
+     * would not see the row a racing instance committed, and the cached user must not vanish
+     * if the caller rolls back.
+     */
     public User getOrCreateUser(String firebaseUid, String email, String displayName) {
-        Optional<User> existingUser = userRepository.findByFirebaseUid(firebaseUid);
-        if (existingUser.isPresent()) {
-            return existingUser.get();
-        } else {
-            return createUser(firebaseUid, email, displayName);
+        User cached = userCache.get(firebaseUid);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<User> lookup = new CompletableFuture<>();
+        CompletableFuture<User> inFlight = lookupsInFlight.putIfAbsent(firebaseUid, lookup);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            User user = userRepository.findByFirebaseUid(firebaseUid).orElseGet(() -> {
+                TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+                requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                return requiresNew.execute(status -> {
+                    userRepository.insertIfAbsent(firebaseUid, email, displayName, LocalDateTime.now());
+                    return userRepository.findByFirebaseUid(firebaseUid)
+                        .orElseThrow(() -> new IllegalStateException("User " + firebaseUid + " missing after insert"));
+                });
+            });
+            userCache.put(user);
+            lookup.complete(user);
+            return user;
+        } catch (RuntimeException | Error e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            lookupsInFlight.remove(firebaseUid, lookup);
         }
     }
 
@@ -45,7 +95,9 @@ public class UserService {
         if (user.isPresent()) {
             User existingUser = user.get();
             existingUser.setDisplayName(displayName);
-            return userRepository.save(existingUser);
+            User saved = userRepository.save(existingUser);
+            userCache.evict(firebaseUid);
+            return saved;
         }
         return null;
     }
@@ -56,6 +108,7 @@ public class UserService {
             User existingUser = user.get();
             existingUser.setActive(false);
             userRepository.save(existingUser);
+            userCache.evict(firebaseUid);
         }
     }
 
@@ -0,0 +1,58 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.config;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.auth.FirebaseAuthService;
+
+/**
+ * Health stays open for load balancers; metrics name users' cache traffic and spending
+ * outcomes, so they need a signed-in caller like every other endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ActuatorAccessTests {
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@MockitoBean
+	private FirebaseAuthService firebaseAuthService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void healthNeedsNoToken() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void metricsNeedAToken() throws Exception {
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/metrics/users.cache")).andExpect(status().isUnauthorized());
+
+		when(firebaseAuthService.authenticateUser(anyString()))
+			.thenReturn(new User("actuator-uid", "actuator@example.com", "Actuator"));
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer test-token"))
+			.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,145 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.expense.ExpenseRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.income.IncomeRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.auth.FirebaseAuthService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.search.TransactionSearchService;
+
+/**
+ * Guards the read paths against N+1 regressions: each list endpoint is called against a
+ * ledger spread over several categories and must stay within its SQL statement budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListEndpointStatementCountTests {
+
+	private static final int CATEGORIES = 5;
+	private static final int ROWS_PER_CATEGORY = 8;
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@MockitoBean
+	private FirebaseAuthService firebaseAuthService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ExpenseRepository expenseRepository;
+
+	@Autowired
+	private IncomeRepository incomeRepository;
+
+	@Autowired
+	private TransactionSearchService transactionSearchService;
+
+	private User user;
+
+	@BeforeAll
+	void createLedger() {
+		user = userRepository.save(new User("statement-count-uid", "counter@example.com", "Counter"));
+		LocalDate start = LocalDate.of(2024, 1, 1);
+		List<Expense> expenses = new ArrayList<>();
+		List<Income> incomes = new ArrayList<>();
+		for (int c = 0; c < CATEGORIES; c++) {
+			Category category = categoryRepository.save(new Category("Category " + c, 100.0, user));
+			for (int i = 0; i < ROWS_PER_CATEGORY; i++) {
+				LocalDate date = start.plusDays(c * ROWS_PER_CATEGORY + i);
+				expenses.add(new Expense(10.0 + i, "coffee shop " + i, date, category, user));
+				incomes.add(new Income(500.0 + i, "salary part " + i, date, category, user));
+			}
+		}
+		expenseRepository.saveAll(expenses);
+		incomeRepository.saveAll(incomes);
+		transactionSearchService.rebuild(user);
+	}
+
+	@BeforeEach
+	void authenticate() throws Exception {
+		when(firebaseAuthService.authenticateUser(anyString())).thenReturn(user);
+	}
+
+	@ParameterizedTest(name = "{0} <= {1} statements")
+	@CsvSource({
+		"/transactions, 1",
+		"/transactions/page?limit=20, 1",
+		"/transactions/by-date?start=2024-01-01&end=2024-12-31, 1",
+		"/transactions/greater-than?amount=0, 1",
+		"/transactions/less-than?amount=10000, 1",
+		"/transactions/by-category?name=Category 1, 1",
+		// Ranked ids from the search index, then their rows
+		"/transactions/by-description?keyword=coffee, 2",
+		"/transactions/order-by-amount, 1",
+		// Native query; categories arrive in one batched load
+		"/transactions/query?type=EXPENSE&minAmount=11&limit=50, 2",
+		"/expenses, 1",
+		"/expenses/category/Category 2, 1",
+		"/expenses/amount/0, 1",
+		"/expenses/date?start=2024-01-01&end=2024-12-31, 1",
+		"/expenses/latest, 1",
+		"/income, 1",
+		"/income/category/Category 3, 1",
+		"/income/top-5-recent, 1"
+	})
+	void listEndpointStaysWithinStatementBudget(String path, long maxStatements) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get(path).header("Authorization", "Bearer test-token"))
+			.andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount())
+			.as("SQL statements issued by GET %s", path)
+			.isLessThanOrEqualTo(maxStatements);
+	}
+}
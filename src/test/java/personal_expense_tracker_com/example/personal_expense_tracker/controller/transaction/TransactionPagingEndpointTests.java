@@ -0,0 +1,154 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.controller.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.auth.FirebaseAuthService;
+
+/**
+ * Walks GET /transactions/page to the end over a ledger where several rows share a date, and
+ * checks GET /transactions/stream returns the same rows in the same order.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TransactionPagingEndpointTests {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@MockitoBean
+	private FirebaseAuthService firebaseAuthService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	private List<Long> ledgerOrder;
+
+	@BeforeEach
+	void createLedger() throws Exception {
+		User user = userRepository.save(new User("paging-uid-" + System.nanoTime(), "paging@example.com", "Paging"));
+		List<Transaction> saved = new ArrayList<>();
+		saved.add(transactionRepository.save(new Expense(4.0, "Older", DAY.minusDays(1), null, user)));
+		// Three rows on one day, so the page boundaries fall between equal dates
+		for (int i = 0; i < 3; i++) {
+			saved.add(transactionRepository.save(new Expense(10.0 + i, "Same day " + i, DAY, null, user)));
+		}
+		saved.add(transactionRepository.save(new Income(900.0, "Pay", DAY.plusDays(1), null, user)));
+
+		// date DESC, id DESC
+		ledgerOrder = List.of(saved.get(4).getId(), saved.get(3).getId(), saved.get(2).getId(),
+			saved.get(1).getId(), saved.get(0).getId());
+		when(firebaseAuthService.authenticateUser(anyString())).thenReturn(user);
+	}
+
+	@Test
+	void pagesThroughEqualDatesByIdAndEndsWithoutACursor() throws Exception {
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			JsonNode page = getJson("/transactions/page?limit=2" + (cursor == null ? "" : "&cursor=" + cursor));
+			page.get("transactions").forEach(row -> seen.add(row.get("id").asLong()));
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+			assertThat(page.get("hasMore").asBoolean()).isEqualTo(cursor != null);
+			pages++;
+		} while (cursor != null);
+
+		assertThat(seen).containsExactlyElementsOf(ledgerOrder);
+		assertThat(pages).isEqualTo(3);
+	}
+
+	@Test
+	void aFullLastPageHasNoCursor() throws Exception {
+		JsonNode page = getJson("/transactions/page?limit=5");
+
+		assertThat(page.get("transactions")).hasSize(5);
+		assertThat(page.get("nextCursor").isNull()).isTrue();
+		assertThat(page.get("hasMore").asBoolean()).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"2026-03-02:seven", "2026-13-02:7", "2026-03-02", "2026-03-02:7:1", "AMOUNT_DESC:12.5:7"})
+	void rejectsATamperedCursor(String payload) throws Exception {
+		String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+		assertBadRequest(cursor);
+		assertBadRequest("not a cursor");
+	}
+
+	@Test
+	void streamsTheLedgerInPageOrder() throws Exception {
+		MvcResult started = mockMvc.perform(get("/transactions/stream").header("Authorization", "Bearer test-token"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+
+		List<Long> streamed = new ArrayList<>();
+		objectMapper.readTree(body).forEach(row -> streamed.add(row.get("id").asLong()));
+		assertThat(streamed).containsExactlyElementsOf(ledgerOrder);
+	}
+
+	private JsonNode getJson(String url) throws Exception {
+		String body = mockMvc.perform(get(url).header("Authorization", "Bearer test-token"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private void assertBadRequest(String cursor) throws Exception {
+		mockMvc.perform(get("/transactions/page").param("cursor", cursor).header("Authorization", "Bearer test-token"))
+			.andExpect(status().isBadRequest());
+	}
+}
@@ -0,0 +1,88 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.repository.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.TransactionRollup;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+/**
+ * The upserts against H2 in MySQL mode: repeated adds into one bucket fold into its row, and a
+ * different category, type or month gets a row of its own.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class TransactionRollupRepositoryTests {
+
+	private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private TransactionRollupRepository rollupRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private User user;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(new User("rollup-repo-uid-" + System.nanoTime(), "rollup-repo@example.com", "Rollup"));
+	}
+
+	@Test
+	void foldsSingleAddsIntoOneRowPerBucket() {
+		rollupRepository.addToBucket(user.getId(), MARCH, 7L, "EXPENSE", 20.0);
+		rollupRepository.addToBucket(user.getId(), MARCH, 7L, "EXPENSE", 5.0);
+		rollupRepository.addToBucket(user.getId(), MARCH, 7L, "EXPENSE", 42.5);
+		rollupRepository.addToBucket(user.getId(), MARCH, 8L, "EXPENSE", 9.0);
+		rollupRepository.addToBucket(user.getId(), MARCH, 7L, "INCOME", 100.0);
+		rollupRepository.addToBucket(user.getId(), MARCH.plusMonths(1), 7L, "EXPENSE", 1.0);
+
+		assertThat(rollupRepository.findByUser(user))
+			.extracting(TransactionRollup::getMonthStart, TransactionRollup::getCategoryId, TransactionRollup::getTransactionType,
+				TransactionRollup::getTotalAmount, TransactionRollup::getTxnCount,
+				TransactionRollup::getMinAmount, TransactionRollup::getMaxAmount)
+			.containsExactly(
+				tuple(MARCH, 7L, "EXPENSE", 67.5, 3L, 5.0, 42.5),
+				tuple(MARCH, 7L, "INCOME", 100.0, 1L, 100.0, 100.0),
+				tuple(MARCH, 8L, "EXPENSE", 9.0, 1L, 9.0, 9.0),
+				tuple(MARCH.plusMonths(1), 7L, "EXPENSE", 1.0, 1L, 1.0, 1.0));
+	}
+
+	@Test
+	void mergesAggregatesIntoAnExistingBucket() {
+		rollupRepository.addToBucket(user.getId(), MARCH, 0L, "EXPENSE", 15.0);
+		rollupRepository.addAggregateToBucket(user.getId(), MARCH, 0L, "EXPENSE", 60.0, 3L, 4.0, 30.0);
+		rollupRepository.addAggregateToBucket(user.getId(), MARCH, 0L, "EXPENSE", 12.0, 1L, 12.0, 12.0);
+
+		assertThat(rollupRepository.findByUser(user))
+			.extracting(TransactionRollup::getTotalAmount, TransactionRollup::getTxnCount,
+				TransactionRollup::getMinAmount, TransactionRollup::getMaxAmount)
+			.containsExactly(tuple(87.0, 5L, 4.0, 30.0));
+		assertThat(rollupRepository.findBucketTotal(user.getId(), MARCH, 0L, "EXPENSE")).contains(87.0);
+
+		rollupRepository.deleteBucket(user.getId(), MARCH, 0L, "EXPENSE");
+		assertThat(rollupRepository.findBucketTotal(user.getId(), MARCH, 0L, "EXPENSE")).isEmpty();
+	}
+}
@@ -0,0 +1,137 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.SavingsGoal;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.SpendingAlert;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.alert.SpendingAlertRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.expense.ExpenseRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.savings.SavingsGoalRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.savings.SavingsGoalService;
+
+/**
+ * Runs every alert generator twice a day over three simulated months against a ledger that
+ * keeps every condition true, and checks that the alert table grows with distinct
+ * (type, subject, period) keys rather than with the number of runs.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class AlertRowGrowthTests {
+
+	private static final LocalDate START = LocalDate.of(2026, 1, 1);
+	private static final int DAYS = 90;
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private SpendingAlertService spendingAlertService;
+
+	@Autowired
+	private SavingsGoalService savingsGoalService;
+
+	@Autowired
+	private SpendingAlertRepository spendingAlertRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ExpenseRepository expenseRepository;
+
+	@Autowired
+	private SavingsGoalRepository savingsGoalRepository;
+
+	@Test
+	void repeatedRunsRefreshAlertsInsteadOfAddingRows() {
+		User user = userRepository.save(new User("alert-growth-uid", "growth@example.com", "Growth"));
+		Category dining = categoryRepository.save(new Category("Dining", 100.0, user));
+
+		// Weekdays alternate 10 and 50, weekends are 200: budget exceeded, weekend-heavy, frequent day-over-day spikes
+		Map<LocalDate, Double> spending = new HashMap<>();
+		List<Expense> expenses = new ArrayList<>();
+		for (int day = 0; day < DAYS; day++) {
+			LocalDate date = START.plusDays(day);
+			boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+			double amount = weekend ? 200.0 : (day % 2 == 0 ? 10.0 : 50.0);
+			spending.put(date, amount);
+			expenses.add(new Expense(amount, "Day " + day, date, dining, user));
+		}
+		expenseRepository.saveAll(expenses);
+
+		savingsGoalRepository.save(new SavingsGoal("Laptop", null, 500.0, 600.0, START.plusYears(1), null, user));
+		savingsGoalRepository.save(new SavingsGoal("Trip", null, 1000.0, 0.0, START.minusDays(10), null, user));
+		savingsGoalRepository.save(new SavingsGoal("House", null, 50000.0, 0.0, LocalDate.now().plusYears(5), null, user));
+
+		long runs = 0;
+		long rowsAfterFirstMonth = 0;
+		for (int day = 0; day < DAYS; day++) {
+			LocalDate today = START.plusDays(day);
+			for (int attempt = 0; attempt < 2; attempt++) {
+				spendingAlertService.generateBudgetAlerts(user, today);
+				spendingAlertService.generateWeekendSpendingAlert(user, today);
+				spendingAlertService.generateUnusualSpendingAlert(user, today);
+				savingsGoalService.generateSavingsGoalAlerts(user, today);
+				savingsGoalService.checkGoalCompletion(user);
+				runs++;
+			}
+			if (today.equals(START.plusMonths(1).minusDays(1))) {
+				rowsAfterFirstMonth = spendingAlertRepository.count();
+			}
+		}
+
+		long unusualDays = 0;
+		for (int day = 1; day < DAYS; day++) {
+			LocalDate today = START.plusDays(day);
+			if (spending.get(today) > 2 * spending.get(today.minusDays(1))) {
+				unusualDays++;
+			}
+		}
+		long months = 3;
+		// 14 weeks are touched, but the weekend of the last one falls after the seeded range
+		long weeks = 13;
+
+		assertThat(count(SpendingAlert.AlertType.BUDGET_EXCEEDED.toString(), user)).isEqualTo(months);
+		assertThat(count(SpendingAlert.AlertType.WEEKEND_SPENDING.toString(), user)).isEqualTo(weeks);
+		assertThat(count(SpendingAlert.AlertType.UNUSUAL_SPENDING.toString(), user)).isEqualTo(unusualDays);
+		assertThat(count("SAVINGS_GOAL_OVERDUE", user)).isEqualTo(months);
+		assertThat(count("SAVINGS_GOAL_BEHIND_SCHEDULE", user)).isEqualTo(months);
+		assertThat(count("SAVINGS_GOAL_COMPLETED", user)).isEqualTo(1);
+
+		long rows = spendingAlertRepository.count();
+		System.out.printf("Alert rows after %d generator runs over %d days: %d (%d after the first month)%n",
+			runs, DAYS, rows, rowsAfterFirstMonth);
+		assertThat(rows).isEqualTo(months * 3 + weeks + unusualDays + 1);
+	}
+
+	private long count(String alertType, User user) {
+		return spendingAlertRepository.findByAlertTypeAndUserOrderByCreatedAtDesc(alertType, user).size();
+	}
+}
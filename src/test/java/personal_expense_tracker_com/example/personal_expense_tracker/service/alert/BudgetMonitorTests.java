@@ -0,0 +1,166 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.SpendingAlert;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.alert.SpendingAlertRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.category.CategoryService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.expense.ExpenseService;
+
+/**
+ * Writes expenses through {@link ExpenseService} and checks that each budget alert appears with
+ * the write that crosses its threshold, per calendar month, and goes away with the write or
+ * budget change after which it no longer holds.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class BudgetMonitorTests {
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private SpendingAlertRepository spendingAlertRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private User user;
+
+	@AfterEach
+	void removeAlerts() {
+		// AlertRowGrowthTests counts every row in the shared in-memory table
+		spendingAlertRepository.deleteAll(alerts(SpendingAlert.AlertType.BUDGET_WARNING));
+		spendingAlertRepository.deleteAll(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED));
+	}
+
+	@Test
+	void raisesEachAlertOnTheWriteThatCrossesItsThreshold() {
+		user = userRepository.save(new User("budget-monitor-uid", "budget@example.com", "Budget"));
+		Category dining = categoryRepository.save(new Category("Dining", 100.0, user));
+		LocalDate march = LocalDate.of(2026, 3, 1);
+
+		save(new Expense(50.0, "Lunch", march.plusDays(2), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+
+		save(new Expense(35.0, "Dinner", march.plusDays(9), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING))
+			.extracting(SpendingAlert::getCurrentValue).containsExactly(85.0);
+
+		// Exceeding replaces the warning for the same category and month
+		save(new Expense(20.0, "Brunch", march.plusDays(20), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED))
+			.extracting(SpendingAlert::getCurrentValue).containsExactly(105.0);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+
+		// A new month starts from zero rather than from the all-time total
+		save(new Expense(30.0, "Lunch", march.plusMonths(1), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED)).hasSize(1);
+	}
+
+	@Test
+	void followsExpensesMovedBetweenCategoriesAndMonths() {
+		user = userRepository.save(new User("budget-move-uid", "budget-move@example.com", "Budget"));
+		Category dining = categoryRepository.save(new Category("Dining", 100.0, user));
+		Category groceries = categoryRepository.save(new Category("Groceries", 100.0, user));
+		LocalDate march = LocalDate.of(2026, 3, 1);
+
+		Expense lunch = save(new Expense(60.0, "Lunch", march.plusDays(2), dining, user));
+		Expense snacks = save(new Expense(30.0, "Snacks", march.plusDays(3), groceries, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+
+		// Recategorized into Dining: its March bucket reaches 90
+		expenseService.updateExpense(snacks.getId(), new Expense(30.0, "Snacks", march.plusDays(3), dining, user), user);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING))
+			.extracting(SpendingAlert::getCurrentValue).containsExactly(90.0);
+
+		// Moved to April, leaving 30 in March, which withdraws the warning; 45 more is 75 rather than 135
+		expenseService.updateExpense(lunch.getId(), new Expense(60.0, "Lunch", march.plusMonths(1), dining, user), user);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+		save(new Expense(45.0, "Dinner", march.plusDays(10), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED)).isEmpty();
+
+		// Deleted, leaving 45 in March; 40 more warns at 85
+		expenseService.removeExpense(snacks.getId(), user);
+		save(new Expense(40.0, "Lunch", march.plusDays(11), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING))
+			.extracting(SpendingAlert::getCurrentValue).containsExactly(85.0);
+
+		// April holds the moved 60, so 25 more warns there as well
+		save(new Expense(25.0, "Brunch", march.plusMonths(1).plusDays(4), dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING))
+			.extracting(SpendingAlert::getCurrentValue).containsExactlyInAnyOrder(85.0, 85.0);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED)).isEmpty();
+	}
+
+	@Test
+	void downgradesAndWithdrawsAlertsThatNoLongerHold() {
+		user = userRepository.save(new User("budget-withdraw-uid", "budget-withdraw@example.com", "Budget"));
+		Category dining = categoryRepository.save(new Category("Dining", 100.0, user));
+		// The budget recheck covers the current month
+		LocalDate month = YearMonth.now().atDay(1);
+
+		save(new Expense(70.0, "Dinner", month, dining, user));
+		Expense lunch = save(new Expense(15.0, "Lunch", month, dining, user));
+		Expense brunch = save(new Expense(25.0, "Brunch", month, dining, user));
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED))
+			.extracting(SpendingAlert::getCurrentValue).containsExactly(110.0);
+
+		// Back to 85: the exceeded alert becomes a warning
+		expenseService.removeExpense(brunch.getId(), user);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED)).isEmpty();
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING))
+			.extracting(SpendingAlert::getCurrentValue).containsExactly(85.0);
+
+		// Lowered to 75: no alert holds any more
+		expenseService.updateExpense(lunch.getId(), new Expense(5.0, "Lunch", month, dining, user), user);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+
+		// Back to 90, then the budget is doubled
+		expenseService.updateExpense(lunch.getId(), new Expense(20.0, "Lunch", month, dining, user), user);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).hasSize(1);
+		categoryService.updateCategory(dining.getId(), new Category("Dining", 200.0, user), user);
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_WARNING)).isEmpty();
+		assertThat(alerts(SpendingAlert.AlertType.BUDGET_EXCEEDED)).isEmpty();
+	}
+
+	private Expense save(Expense expense) {
+		return expenseService.addExpense(expense);
+	}
+
+	private List<SpendingAlert> alerts(SpendingAlert.AlertType type) {
+		return spendingAlertRepository.findByAlertTypeAndUserOrderByCreatedAtDesc(type.toString(), user);
+	}
+}
@@ -0,0 +1,192 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.SpendingAlert;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.alert.SpendingAlertRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.expense.ExpenseRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.expense.ExpenseService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionBatchService;
+
+/**
+ * Saves expenses through {@link ExpenseService} and {@link TransactionBatchService}, then waits for
+ * the detector's worker to score them against statistics seeded from the rows already in the table.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class SpendingAnomalyDetectorTests {
+
+	private static final LocalDate START = LocalDate.of(2026, 2, 1);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private TransactionBatchService batchService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private SpendingAlertRepository spendingAlertRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ExpenseRepository expenseRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final List<User> users = new ArrayList<>();
+
+	@AfterEach
+	void removeAlerts() {
+		// AlertRowGrowthTests counts every row in the shared in-memory table
+		for (User user : users) {
+			spendingAlertRepository.deleteAll(spendingAlertRepository
+				.findByAlertTypeAndUserOrderByCreatedAtDesc(SpendingAlert.AlertType.UNUSUAL_SPENDING.toString(), user));
+		}
+	}
+
+	@Test
+	void flagsAnOutlierAgainstSeededHistoryOnSave() throws InterruptedException {
+		User user = user("anomaly-outlier-uid");
+		Category groceries = categoryRepository.save(new Category("Groceries", 0.0, user));
+		seed(user, groceries, 30);
+
+		save(new Expense(55.0, "Weekly shop", START.plusDays(30), groceries, user));
+		save(new Expense(480.0, "Party supplies", START.plusDays(31), groceries, user));
+
+		List<SpendingAlert> alerts = awaitAlerts(user, 1);
+		assertThat(alerts).hasSize(1);
+		assertThat(alerts.get(0).getCurrentValue()).isEqualTo(480.0);
+		assertThat(alerts.get(0).getMessage()).contains("Groceries");
+	}
+
+	@Test
+	void onlyLearnsUntilAKeyHasEnoughHistory() throws InterruptedException {
+		User user = user("anomaly-warming-uid");
+		Category travel = categoryRepository.save(new Category("Travel", 0.0, user));
+		seed(user, travel, 3);
+		double warming = meterRegistry.counter("spending.anomaly.scored", "outcome", "warming").count();
+
+		save(new Expense(900.0, "Flights", START.plusDays(3), travel, user));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (meterRegistry.counter("spending.anomaly.scored", "outcome", "warming").count() == warming
+			&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(meterRegistry.counter("spending.anomaly.scored", "outcome", "warming").count()).isEqualTo(warming + 1);
+		assertThat(alerts(user)).isEmpty();
+	}
+
+	@Test
+	void scoresRowsIngestedInABatch() throws InterruptedException {
+		User user = user("anomaly-batch-uid");
+		Category fuel = categoryRepository.save(new Category("Fuel", 0.0, user));
+		seed(user, fuel, 30);
+
+		List<Transaction> rows = List.of(
+			new Expense(52.0, "Fill-up", START.plusDays(30), fuel, user),
+			new Expense(610.0, "Tyres", START.plusDays(31), fuel, user));
+		assertThat(batchService.ingest(rows, user).getCreated()).isEqualTo(2);
+
+		List<SpendingAlert> alerts = awaitAlerts(user, 1);
+		assertThat(alerts).extracting(SpendingAlert::getCurrentValue).containsExactly(610.0);
+	}
+
+	@Test
+	void rolledBackExpensesDoNotTrainTheStatistics() throws InterruptedException {
+		User user = user("anomaly-rollback-uid");
+		Category dining = categoryRepository.save(new Category("Dining", 0.0, user));
+		seed(user, dining, 30);
+
+		// Had these been learned, another 480 would look ordinary
+		for (int i = 0; i < 5; i++) {
+			Expense expense = new Expense(480.0, "Banquet " + i, START.plusDays(30), dining, user);
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				expenseService.addExpense(expense);
+				status.setRollbackOnly();
+			});
+		}
+		assertThat(expenseRepository.findByDateBetweenAndUser(START.plusDays(30), START.plusDays(30), user)).isEmpty();
+
+		save(new Expense(480.0, "Banquet", START.plusDays(31), dining, user));
+
+		// Only the committed expense was scored, against a quantile still set by the 40-60 history
+		List<SpendingAlert> alerts = awaitAlerts(user, 1);
+		assertThat(alerts).hasSize(1);
+		assertThat(alerts.get(0).getAlertKey()).endsWith(":" + START.plusDays(31));
+		assertThat(alerts.get(0).getThreshold()).isLessThan(100.0);
+	}
+
+	private void save(Expense expense) {
+		expenseService.addExpense(expense);
+	}
+
+	private User user(String uid) {
+		User user = userRepository.save(new User(uid, uid + "@example.com", "Anomaly"));
+		users.add(user);
+		return user;
+	}
+
+	// Amounts between 40 and 60, saved directly so they are history rather than scored expenses
+	private void seed(User user, Category category, int days) {
+		List<Expense> expenses = new ArrayList<>();
+		for (int day = 0; day < days; day++) {
+			expenses.add(new Expense(40.0 + (day * 7) % 21, "Day " + day, START.plusDays(day), category, user));
+		}
+		expenseRepository.saveAll(expenses);
+	}
+
+	private List<SpendingAlert> awaitAlerts(User user, int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		List<SpendingAlert> alerts = alerts(user);
+		while (alerts.size() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			alerts = alerts(user);
+		}
+		return alerts;
+	}
+
+	private List<SpendingAlert> alerts(User user) {
+		return spendingAlertRepository.findByAlertTypeAndUserOrderByCreatedAtDesc(
+			SpendingAlert.AlertType.UNUSUAL_SPENDING.toString(), user);
+	}
+}
@@ -0,0 +1,106 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Signs tokens with a throwaway key pair whose public half is served from a local key file.
+ */
+class FirebaseTokenVerifierTests {
+
+	private static final String PROJECT = "expense-tracker-test";
+
+	@TempDir
+	Path keyDirectory;
+
+	private PrivateKey signingKey;
+	private FirebaseTokenVerifier verifier;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		signingKey = keyPair.getPrivate();
+
+		String pem = "-----BEGIN PUBLIC KEY-----\\n"
+			+ Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded())
+			+ "\\n-----END PUBLIC KEY-----\\n";
+		Path keyFile = keyDirectory.resolve("keys.json");
+		Files.writeString(keyFile, "{\"kid-1\": \"" + pem + "\"}");
+
+		FirebasePublicKeys publicKeys = new FirebasePublicKeys(new DefaultResourceLoader(), keyFile.toUri().toString());
+		publicKeys.load();
+		verifier = new FirebaseTokenVerifier(publicKeys, PROJECT);
+	}
+
+	@Test
+	void acceptsValidToken() throws Exception {
+		long now = System.currentTimeMillis() / 1000L;
+		String token = sign("kid-1", claims("https://securetoken.google.com/" + PROJECT, PROJECT, now, now + 3600));
+
+		VerifiedTokenCache.VerifiedToken verified = verifier.verify(token);
+
+		assertThat(verified.getFirebaseUid()).isEqualTo("uid-1");
+		assertThat(verified.getEmail()).isEqualTo("ada@example.com");
+		assertThat(verified.getDisplayName()).isEqualTo("Ada");
+		assertThat(verified.getExpiresAtMillis()).isEqualTo((now + 3600) * 1000L);
+	}
+
+	@Test
+	void rejectsWrongAudienceIssuerAndExpiry() throws Exception {
+		long now = System.currentTimeMillis() / 1000L;
+		String issuer = "https://securetoken.google.com/" + PROJECT;
+
+		assertThatThrownBy(() -> verifier.verify(sign("kid-1", claims(issuer, "other-project", now, now + 3600))))
+			.hasMessageContaining("audience");
+		assertThatThrownBy(() -> verifier.verify(sign("kid-1", claims("https://securetoken.google.com/other", PROJECT, now, now + 3600))))
+			.hasMessageContaining("issuer");
+		assertThatThrownBy(() -> verifier.verify(sign("kid-1", claims(issuer, PROJECT, now - 7200, now - 3600))))
+			.hasMessageContaining("expired");
+	}
+
+	@Test
+	void rejectsTamperedPayloadAndUnknownKey() throws Exception {
+		long now = System.currentTimeMillis() / 1000L;
+		String issuer = "https://securetoken.google.com/" + PROJECT;
+		String[] parts = sign("kid-1", claims(issuer, PROJECT, now, now + 3600)).split("\\.");
+		String forgedPayload = encode(claims(issuer, PROJECT, now, now + 3600).replace("uid-1", "uid-2"));
+
+		assertThatThrownBy(() -> verifier.verify(parts[0] + "." + forgedPayload + "." + parts[2]))
+			.hasMessageContaining("signature");
+		assertThatThrownBy(() -> verifier.verify(sign("kid-2", claims(issuer, PROJECT, now, now + 3600))))
+			.hasMessageContaining("unknown key");
+	}
+
+	private static String claims(String issuer, String audience, long issuedAt, long expiresAt) {
+		return "{\"iss\":\"" + issuer + "\",\"aud\":\"" + audience + "\",\"sub\":\"uid-1\",\"iat\":" + issuedAt
+			+ ",\"exp\":" + expiresAt + ",\"email\":\"ada@example.com\",\"name\":\"Ada\"}";
+	}
+
+	private String sign(String kid, String claims) throws Exception {
+		String signingInput = encode("{\"alg\":\"RS256\",\"kid\":\"" + kid + "\",\"typ\":\"JWT\"}") + "." + encode(claims);
+		Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initSign(signingKey);
+		signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+		return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+	}
+
+	private static String encode(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
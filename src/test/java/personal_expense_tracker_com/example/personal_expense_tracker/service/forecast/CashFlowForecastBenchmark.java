@@ -0,0 +1,68 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction.RecurrencePattern;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction.TransactionType;
+
+/**
+ * One user's projection from already-loaded templates, the in-memory part of a forecast
+ * request: a heap merge over the templates into per-day arrays, then the balance pass. Divide
+ * the score by {@code months} for the cost per month of horizon.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CashFlowForecastBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CashFlowForecastBenchmark {
+
+	@Param({"20", "100"})
+	int templates;
+
+	@Param({"1", "12", "24"})
+	int months;
+
+	private List<RecurringTransaction> active;
+	private LocalDate today;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		today = LocalDate.of(2026, 3, 1);
+		// Mostly monthly bills, some weekly, a few daily; one in ten is income, a few already overdue
+		RecurrencePattern[] patterns = {
+			RecurrencePattern.MONTHLY, RecurrencePattern.MONTHLY, RecurrencePattern.WEEKLY,
+			RecurrencePattern.MONTHLY, RecurrencePattern.DAILY
+		};
+		active = new ArrayList<>(templates);
+		for (int i = 0; i < templates; i++) {
+			active.add(new RecurringTransaction("Template " + i, 10.0 + i, today.plusDays(i % 28 - 3),
+				patterns[i % patterns.length], null, i % 10 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE, null));
+		}
+	}
+
+	@Benchmark
+	public CashFlowForecast project() {
+		return CashFlowForecastService.project(active, 1000.0, today, months);
+	}
+}
@@ -0,0 +1,79 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.forecast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction.RecurrencePattern;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction.TransactionType;
+
+class CashFlowForecastServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+	@Test
+	void mergesTemplatesInDateOrderWithTiesInTemplateOrder() {
+		List<RecurringTransaction> templates = List.of(
+			template("Rent", 900.0, TODAY.plusDays(9), RecurrencePattern.MONTHLY, TransactionType.EXPENSE),
+			template("Groceries", 60.0, TODAY.plusDays(2), RecurrencePattern.WEEKLY, TransactionType.EXPENSE),
+			template("Bonus", 500.0, TODAY.plusMonths(6), RecurrencePattern.YEARLY, TransactionType.INCOME));
+
+		List<ForecastOccurrence> occurrences = new ArrayList<>();
+		new RecurringOccurrenceIterator(templates, TODAY.plusDays(23)).forEachRemaining(occurrences::add);
+
+		assertThat(occurrences).extracting(ForecastOccurrence::getDate, ForecastOccurrence::getDescription)
+			.containsExactly(
+				tuple(TODAY.plusDays(2), "Groceries"),
+				tuple(TODAY.plusDays(9), "Rent"),
+				tuple(TODAY.plusDays(9), "Groceries"),
+				tuple(TODAY.plusDays(16), "Groceries"),
+				tuple(TODAY.plusDays(23), "Groceries"));
+	}
+
+	@Test
+	void collapsesOverdueOccurrencesOntoToday() {
+		List<RecurringTransaction> templates = List.of(
+			template("Gym", 40.0, TODAY.minusMonths(2), RecurrencePattern.MONTHLY, TransactionType.EXPENSE));
+
+		CashFlowForecast forecast = CashFlowForecastService.project(templates, 1000.0, TODAY, 1);
+
+		assertThat(forecast.getDays()).hasSize(32);
+		assertThat(forecast.getDays().get(0).getOutflow()).isEqualTo(120.0);
+		assertThat(forecast.getDays().get(0).getBalance()).isEqualTo(880.0);
+		assertThat(forecast.getDays().get(31).getDate()).isEqualTo(TODAY.plusMonths(1));
+		assertThat(forecast.getDays().get(31).getOutflow()).isEqualTo(40.0);
+		assertThat(forecast.getEndingBalance()).isEqualTo(840.0);
+	}
+
+	@Test
+	void addsIncomeAndSubtractsExpensesTrackingTheLowestPoint() {
+		List<RecurringTransaction> templates = List.of(
+			template("Salary", 2000.0, TODAY.plusDays(14), RecurrencePattern.MONTHLY, TransactionType.INCOME),
+			template("Rent", 1200.0, TODAY.plusDays(4), RecurrencePattern.MONTHLY, TransactionType.EXPENSE));
+
+		CashFlowForecast forecast = CashFlowForecastService.project(templates, 500.0, TODAY, 1);
+
+		ForecastDay rentDay = forecast.getDays().get(4);
+		ForecastDay payday = forecast.getDays().get(14);
+		assertThat(rentDay.getOutflow()).isEqualTo(1200.0);
+		assertThat(rentDay.getInflow()).isZero();
+		assertThat(rentDay.getBalance()).isEqualTo(-700.0);
+		assertThat(payday.getInflow()).isEqualTo(2000.0);
+		assertThat(payday.getBalance()).isEqualTo(1300.0);
+		assertThat(forecast.getLowestBalance()).isEqualTo(-700.0);
+		assertThat(forecast.getLowestBalanceDate()).isEqualTo(TODAY.plusDays(4));
+		assertThat(forecast.getSafeToSpend()).isZero();
+		assertThat(forecast.getEndingBalance()).isEqualTo(1300.0);
+	}
+
+	private static RecurringTransaction template(String description, double amount, LocalDate nextDueDate,
+												 RecurrencePattern pattern, TransactionType type) {
+		return new RecurringTransaction(description, amount, nextDueDate, pattern, null, type, null);
+	}
+}
@@ -0,0 +1,70 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvStatementParserTests {
+
+	@Test
+	void keepsCommasQuotesAndLineBreaksInsideQuotedFields() throws IOException {
+		List<StatementRecord> records = parse("""
+			Date,Description,Amount,Category
+			2026-03-02,"ACME, Inc. ""Store 12""\","1,234.56",Shopping
+			2026-03-03,"Two-line
+			memo",-4.50,
+			""");
+
+		assertThat(records).extracting(StatementRecord::getRecordNumber, StatementRecord::getDescription,
+				StatementRecord::getAmount, StatementRecord::getCategoryName)
+			.containsExactly(
+				tuple(1L, "ACME, Inc. \"Store 12\"", "1,234.56", "Shopping"),
+				tuple(2L, "Two-line\nmemo", "-4.50", ""));
+	}
+
+	@Test
+	void matchesHeaderAliasesAndSplitDebitCreditColumns() throws IOException {
+		// Excel's UTF-8 export starts with a byte order mark
+		List<StatementRecord> records = parse("\uFEFF" + """
+			Posted_Date,Payee,Withdrawal,Deposit
+
+			03/02/2026,Coffee,4.50,
+			03/03/2026,Salary,,2000.00
+			""");
+
+		assertThat(records).extracting(StatementRecord::getDate, StatementRecord::getDescription,
+				StatementRecord::getAmount, StatementRecord::getTypeHint)
+			.containsExactly(
+				tuple("03/02/2026", "Coffee", "4.50", "DEBIT"),
+				tuple("03/03/2026", "Salary", "2000.00", "CREDIT"));
+	}
+
+	@Test
+	void rejectsFilesItCannotRead() {
+		assertThatThrownBy(() -> parse("Description,Amount\nCoffee,1\n"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> parse(""))
+			.hasMessage("CSV file is empty");
+		assertThatThrownBy(() -> parse("Date,Amount\n2026-03-02,\"12.00\n"))
+			.hasMessage("Unterminated quoted field in CSV record 1");
+	}
+
+	private static List<StatementRecord> parse(String csv) throws IOException {
+		List<StatementRecord> records = new ArrayList<>();
+		try (CsvStatementParser parser = new CsvStatementParser(new BufferedReader(new StringReader(csv)))) {
+			StatementRecord record;
+			while ((record = parser.next()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+}
@@ -0,0 +1,85 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OfxStatementParserTests {
+
+	@Test
+	void readsSgmlLeafElementsWithoutClosingTags() throws IOException {
+		List<StatementRecord> records = parse("""
+			OFXHEADER:100
+			DATA:OFXSGML
+			VERSION:102
+
+			<OFX>
+			<BANKMSGSRSV1><STMTTRNRS><STMTRS>
+			<CURDEF>USD
+			<BANKTRANLIST>
+			<DTSTART>20260301
+			<STMTTRN>
+			<TRNTYPE>DEBIT
+			<DTPOSTED>20260302120000.000[-5:EST]
+			<TRNAMT>-4.50
+			<FITID>1001
+			<NAME>COFFEE &amp; CO
+			<MEMO>CARD 1234
+			</STMTTRN>
+			<STMTTRN>
+			<TRNTYPE>CREDIT
+			<DTPOSTED>20260303
+			<TRNAMT>2000.00
+			<NAME>PAYROLL
+			<MEMO>payroll
+			</STMTTRN>
+			</BANKTRANLIST>
+			</STMTRS></STMTTRNRS></BANKMSGSRSV1>
+			</OFX>
+			""");
+
+		assertThat(records).extracting(StatementRecord::getRecordNumber, StatementRecord::getDate,
+				StatementRecord::getAmount, StatementRecord::getDescription, StatementRecord::getTypeHint)
+			.containsExactly(
+				tuple(1L, "20260302", "-4.50", "COFFEE & CO - CARD 1234", "DEBIT"),
+				tuple(2L, "20260303", "2000.00", "PAYROLL", "CREDIT"));
+	}
+
+	@Test
+	void readsXmlElementsWithClosingTags() throws IOException {
+		List<StatementRecord> records = parse("""
+			<?xml version="1.0" encoding="UTF-8"?>
+			<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+			<STMTTRN><TRNTYPE>POS</TRNTYPE><DTPOSTED>20260304</DTPOSTED><TRNAMT>-12.00</TRNAMT><MEMO>Bakery</MEMO></STMTTRN>
+			</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+			""");
+
+		assertThat(records).extracting(StatementRecord::getDate, StatementRecord::getAmount, StatementRecord::getDescription)
+			.containsExactly(tuple("20260304", "-12.00", "Bakery"));
+	}
+
+	@Test
+	void rejectsAFileThatEndsInsideATransaction() {
+		assertThatThrownBy(() -> parse("<OFX><STMTTRN><TRNAMT>-1.00\n"))
+			.hasMessage("OFX file ends inside a STMTTRN block");
+	}
+
+	private static List<StatementRecord> parse(String ofx) throws IOException {
+		List<StatementRecord> records = new ArrayList<>();
+		try (OfxStatementParser parser = new OfxStatementParser(new BufferedReader(new StringReader(ofx)))) {
+			StatementRecord record;
+			while ((record = parser.next()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+}
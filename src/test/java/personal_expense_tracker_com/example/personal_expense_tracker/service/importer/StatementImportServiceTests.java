@@ -0,0 +1,125 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.ImportJob;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.importer.ImportJobRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionBatchService;
+
+/**
+ * The import pipeline with the repositories mocked: normalization, category lookup, duplicate
+ * detection against stored rows and the per-chunk checkpoint.
+ */
+class StatementImportServiceTests {
+
+	private static final String STATEMENT = """
+		Date,Description,Amount,Category
+		2026-03-02,Coffee  Shop,-4.50,dining
+		2026-03-02,Coffee Shop,-4.50,Dining
+		2026-03-02,coffee shop,-4.50,
+		not a date,Broken,-1.00,
+		2026-03-03,Salary,"2.000,00",
+		""";
+
+	private final ImportJobRepository importJobRepository = mock(ImportJobRepository.class);
+	private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+	private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+	private final TransactionBatchService transactionBatchService = mock(TransactionBatchService.class);
+	private final List<Object[]> stored = new ArrayList<>();
+	private final List<List<Transaction>> written = new ArrayList<>();
+
+	private StatementImportService importService;
+	private ImportJob job;
+	private User user;
+	private Category dining;
+
+	@BeforeEach
+	void setUp() {
+		importService = new StatementImportService(importJobRepository, categoryRepository, transactionRepository,
+			transactionBatchService, mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(importService, "chunkSize", 2);
+
+		user = new User("import-uid", "import@example.com", "Import");
+		dining = new Category("Dining", 0.0, user);
+		job = new ImportJob("statement.csv", "CSV", STATEMENT.length(), user);
+		ReflectionTestUtils.setField(job, "id", 9L);
+
+		when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(importJobRepository.findById(9L)).thenReturn(Optional.of(job));
+		when(importJobRepository.findByIdAndUser(9L, user)).thenReturn(Optional.of(job));
+		when(categoryRepository.findByUser(user)).thenReturn(List.of(dining));
+		doAnswer(invocation -> written.add(new ArrayList<>(invocation.getArgument(0))))
+			.when(transactionBatchService).persistInBatches(anyList(), anyBoolean());
+		// The stored rows plus everything this import has written so far
+		when(transactionRepository.findFingerprintsBetween(any(), any(), any())).thenAnswer(invocation -> {
+			List<Object[]> rows = new ArrayList<>(stored);
+			written.stream().flatMap(List::stream).forEach(transaction -> rows.add(new Object[] {
+				transaction.getDate(), transaction.getType(), transaction.getAmount(), transaction.getDescription()}));
+			return rows;
+		});
+	}
+
+	@Test
+	void dropsRowsAlreadyStoredOncePerStoredCopy() {
+		// One "Coffee Shop" for 4.50 is stored already; the statement has three, split over two chunks
+		stored.add(new Object[] {LocalDate.of(2026, 3, 2), "EXPENSE", 4.5, "COFFEE SHOP"});
+
+		ImportJob finished = importService.runImport(input(), "statement.csv", STATEMENT.length(), StatementFormat.CSV, 9L, user);
+
+		assertThat(finished.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+		assertThat(finished.getImported()).isEqualTo(3);
+		assertThat(finished.getDuplicates()).isEqualTo(1);
+		assertThat(finished.getRejected()).isEqualTo(1);
+		assertThat(finished.getCheckpointRecord()).isEqualTo(5);
+
+		List<Transaction> imported = written.stream().flatMap(List::stream).toList();
+		assertThat(imported).extracting(Transaction::getDescription, Transaction::getAmount, Transaction::getType)
+			.containsExactly(
+				tuple("Coffee Shop", 4.5, "EXPENSE"),
+				tuple("coffee shop", 4.5, "EXPENSE"),
+				tuple("Salary", 2000.0, "INCOME"));
+		assertThat(imported.get(0).getCategory()).isSameAs(dining);
+		assertThat(imported.get(1).getCategory()).isNull();
+	}
+
+	@Test
+	void writesOneChunkPerChunkSizeRecordsAndResumesAfterTheCheckpoint() {
+		job.recordChunk(2, 2, 0, 0);
+
+		ImportJob finished = importService.runImport(input(), "statement.csv", STATEMENT.length(), StatementFormat.CSV, 9L, user);
+
+		// Records 3-5 in chunks of two, counting the rejected record
+		assertThat(written).extracting(List::size).containsExactly(1, 1);
+		assertThat(finished.getImported()).isEqualTo(4);
+		assertThat(finished.getRejected()).isEqualTo(1);
+		assertThat(finished.getCheckpointRecord()).isEqualTo(5);
+	}
+
+	private static ByteArrayInputStream input() {
+		return new ByteArrayInputStream(STATEMENT.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,69 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.Test;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+
+class StatementNormalizerTests {
+
+	private final StatementNormalizer normalizer = new StatementNormalizer();
+
+	@ParameterizedTest(name = "{0} -> {1}")
+	@CsvSource(delimiter = '|', value = {
+		"1,234.56 | 1234.56",
+		"1.234,56 | 1234.56",
+		"12,50 | 12.5",
+		"1,234 | 1234",
+		"€ 1.234.567,89 | 1234567.89",
+		"$1,234,567.89 | 1234567.89"
+	})
+	void readsThousandsAndDecimalSeparatorsOfEitherConvention(String amount, double expected) {
+		assertThat(normalize("2026-03-02", amount, null).getAmount()).isEqualTo(expected);
+	}
+
+	@Test
+	void signsAndTypeHintsDecideBetweenExpenseAndIncome() {
+		assertThat(normalize("2026-03-02", "-12.00", null)).isInstanceOf(Expense.class);
+		assertThat(normalize("2026-03-02", "(12.00)", null)).isInstanceOf(Expense.class);
+		assertThat(normalize("2026-03-02", "12.00", " debit ")).isInstanceOf(Expense.class);
+		assertThat(normalize("2026-03-02", "12.00", "CREDIT")).isInstanceOf(Income.class);
+		assertThat(normalize("2026-03-02", "-12.00", null).getAmount()).isEqualTo(12.0);
+	}
+
+	@Test
+	void acceptsTheSupportedDateFormats() {
+		LocalDate expected = LocalDate.of(2026, 3, 2);
+		assertThat(normalize("2026-03-02", "1", null).getDate()).isEqualTo(expected);
+		assertThat(normalize("20260302", "1", null).getDate()).isEqualTo(expected);
+		assertThat(normalize("3/2/2026", "1", null).getDate()).isEqualTo(expected);
+		assertThat(normalize("2.3.2026", "1", null).getDate()).isEqualTo(expected);
+	}
+
+	@Test
+	void rejectsUnusableRecordsWithAReason() {
+		assertThatThrownBy(() -> normalize("2026-03-02", "0,00", null)).hasMessage("Amount is zero");
+		assertThatThrownBy(() -> normalize("2026-03-02", " ", null)).hasMessage("Amount is missing");
+		assertThatThrownBy(() -> normalize("2026-03-02", "n/a", null)).hasMessage("Unrecognized amount: n/a");
+		assertThatThrownBy(() -> normalize(null, "1", null)).hasMessage("Date is missing");
+		assertThatThrownBy(() -> normalize("02 March", "1", null)).hasMessage("Unrecognized date: 02 March");
+	}
+
+	@Test
+	void collapsesWhitespaceInDescriptions() {
+		assertThat(StatementNormalizer.normalizeDescription("  CARD\t PAYMENT\n ACME  ")).isEqualTo("CARD PAYMENT ACME");
+		assertThat(StatementNormalizer.normalizeDescription(null)).isEmpty();
+	}
+
+	private Transaction normalize(String date, String amount, String typeHint) {
+		return normalizer.normalize(new StatementRecord(1, date, amount, "Statement line", null, typeHint), null);
+	}
+}
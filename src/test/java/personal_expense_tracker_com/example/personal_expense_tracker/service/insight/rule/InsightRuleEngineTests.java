@@ -0,0 +1,102 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.insight.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.FinancialInsight;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.ledger.LedgerCacheService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionAggregationService;
+
+class InsightRuleEngineTests {
+
+	private final User user = new User("engine-uid", "engine@example.com", "Engine");
+	private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+	private final LedgerCacheService ledgerCache = mock(LedgerCacheService.class);
+	private final TransactionAggregationService aggregationService = mock(TransactionAggregationService.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void computesEachAggregateOnceAndIsolatesFailingRules() {
+		when(categoryRepository.findByUser(user)).thenReturn(List.of(new Category("Dining", 100.0, user)));
+		InsightRule first = rule("first", Set.of(InsightAggregate.CATEGORIES),
+			context -> List.of(insight(context.getCategories().iterator().next().getCategoryName())));
+		InsightRule failing = rule("failing", Set.of(InsightAggregate.CATEGORIES), context -> {
+			throw new IllegalStateException("boom");
+		});
+		InsightRule undeclared = rule("undeclared", Set.of(InsightAggregate.CATEGORIES),
+			context -> List.of(insight(String.valueOf(context.getCategoryTotals()))));
+		InsightRule second = rule("second", Set.of(InsightAggregate.CATEGORIES), context -> List.of(insight("second")));
+
+		InsightRuleEngine engine = engine("", first, failing, undeclared, second);
+		List<FinancialInsight> insights = engine.evaluate(user, LocalDate.of(2026, 3, 15), engine.getRules());
+
+		assertThat(insights).extracting(FinancialInsight::getTitle).containsExactly("Dining", "second");
+		verify(categoryRepository, times(1)).findByUser(user);
+		verifyNoInteractions(aggregationService, ledgerCache);
+		assertThat(meterRegistry.counter("insights.rule.emitted", "rule", "first").count()).isEqualTo(1.0);
+		assertThat(meterRegistry.counter("insights.rule.failures", "rule", "failing").count()).isEqualTo(1.0);
+		assertThat(meterRegistry.counter("insights.rule.failures", "rule", "undeclared").count()).isEqualTo(1.0);
+		assertThat(meterRegistry.timer("insights.rule.evaluation", "rule", "second").count()).isEqualTo(1);
+	}
+
+	@Test
+	void skipsDisabledRulesAndTheirAggregates() {
+		InsightRule enabled = rule("enabled", Set.of(), context -> List.of(insight("enabled")));
+		InsightRule disabled = rule("disabled", Set.of(InsightAggregate.LEDGER), context -> List.of(insight("disabled")));
+
+		InsightRuleEngine engine = engine(" disabled , other", enabled, disabled);
+
+		assertThat(engine.evaluate(user, LocalDate.of(2026, 3, 15), engine.getRules()))
+			.extracting(FinancialInsight::getTitle).containsExactly("enabled");
+		verifyNoInteractions(ledgerCache);
+	}
+
+	private InsightRuleEngine engine(String disabled, InsightRule... rules) {
+		return new InsightRuleEngine(List.of(rules), categoryRepository, ledgerCache, aggregationService, meterRegistry, disabled);
+	}
+
+	private static FinancialInsight insight(String title) {
+		return new FinancialInsight("TEST", title, "", 0.0, 0.0, "current", null, null);
+	}
+
+	private static InsightRule rule(String name, Set<InsightAggregate> requires,
+	                                Function<InsightContext, List<FinancialInsight>> body) {
+		return new InsightRule() {
+			@Override
+			public String name() {
+				return name;
+			}
+
+			@Override
+			public InsightRuleGroup group() {
+				return InsightRuleGroup.PERIODIC;
+			}
+
+			@Override
+			public Set<InsightAggregate> requires() {
+				return requires;
+			}
+
+			@Override
+			public List<FinancialInsight> evaluate(InsightContext context) {
+				return body.apply(context);
+			}
+		};
+	}
+}
@@ -0,0 +1,53 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.CronExpression;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.job.JobLeaseRepository;
+
+class JobLeaseServiceTests {
+
+	private static final Duration SKEW = Duration.ofSeconds(30);
+
+	private final JobLeaseService leaseService = new JobLeaseService(mock(JobLeaseRepository.class), 120, 30, "test-node");
+
+	@Test
+	void nodesWithSkewedClocksDeriveTheSameRunKey() {
+		CronExpression daily = CronExpression.parse("0 0 8 * * ?");
+		LocalDateTime eight = LocalDateTime.of(2026, 3, 2, 8, 0);
+
+		// On time; fired by a clock 2 s behind its peers, seen here as just before the minute;
+		// and fired 62 s late by a busy scheduler, after the minute boundary
+		String onTime = runKey(daily, eight.plusNanos(4_000_000));
+		String clockBehind = runKey(daily, eight.minusSeconds(2));
+		String late = runKey(daily, eight.plusSeconds(62));
+
+		assertThat(onTime).isEqualTo("spending-alerts@2026-03-02T08:00");
+		assertThat(clockBehind).isEqualTo(onTime);
+		assertThat(late).isEqualTo(onTime);
+	}
+
+	@Test
+	void consecutiveFiresGetDistinctRunKeys() {
+		CronExpression everySixHours = CronExpression.parse("0 0 */6 * * ?");
+		LocalDateTime noon = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+		assertThat(runKey(everySixHours, noon.plusSeconds(1))).isEqualTo("spending-alerts@2026-03-02T12:00");
+		assertThat(runKey(everySixHours, noon.plusHours(6).minusSeconds(1))).isEqualTo("spending-alerts@2026-03-02T18:00");
+		assertThat(runKey(everySixHours, noon.minusSeconds(45))).isEqualTo("spending-alerts@2026-03-02T06:00");
+
+		CronExpression weekly = CronExpression.parse("0 0 2 ? * SUN");
+		assertThat(JobLeaseService.scheduledFireTime(weekly, LocalDateTime.of(2026, 3, 7, 23, 0), SKEW))
+			.isEqualTo(LocalDateTime.of(2026, 3, 1, 2, 0));
+	}
+
+	private String runKey(CronExpression cron, LocalDateTime nodeClock) {
+		return leaseService.runKey("spending-alerts", JobLeaseService.scheduledFireTime(cron, nodeClock, SKEW));
+	}
+}
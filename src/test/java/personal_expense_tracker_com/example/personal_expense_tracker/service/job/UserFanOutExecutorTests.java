@@ -0,0 +1,157 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.JobLease;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.job.JobLeaseRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+class UserFanOutExecutorTests {
+
+	private static final LocalDateTime FIRED = LocalDateTime.of(2026, 3, 2, 8, 0);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final JobLeaseRepository leaseRepository = mock(JobLeaseRepository.class);
+	private final JobLeaseService leaseService = new JobLeaseService(leaseRepository, 2, 30, "test-node");
+	private final List<User> users = new ArrayList<>();
+	private UserFanOutExecutor executor;
+
+	@AfterEach
+	void shutDown() {
+		executor.shutdown();
+		leaseService.shutdown();
+	}
+
+	@Test
+	void countsFailuresAndTimeoutsWithoutStoppingTheOtherUsers() {
+		executor = executor(7, 200);
+		Set<Long> visited = ConcurrentHashMap.newKeySet();
+
+		JobRunSummary summary = executor.run("alerts", FIRED, this::findUsers, user -> {
+			visited.add(user.getId());
+			if (user.getId() == 3L) {
+				throw new IllegalStateException("Simulated failure");
+			}
+			if (user.getId() == 5L) {
+				sleep(5_000);
+			}
+		});
+
+		assertThat(visited).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+		assertThat(summary.getSucceeded()).isEqualTo(5);
+		assertThat(summary.getFailed()).isEqualTo(1);
+		assertThat(summary.getTimedOut()).isEqualTo(1);
+		assertThat(summary.getDurationMs()).isLessThan(5_000);
+		assertThat(meterRegistry.counter("jobs.users", "job", "alerts", "outcome", "timeout").count()).isEqualTo(1.0);
+		assertThat(meterRegistry.counter("jobs.users", "job", "alerts", "outcome", "success").count()).isEqualTo(5.0);
+	}
+
+	@Test
+	void skipsATriggerWhileThePreviousRunIsStillGoing() throws Exception {
+		executor = executor(2, 10_000);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<JobRunSummary> first = CompletableFuture.supplyAsync(() ->
+			executor.run("insights", FIRED, this::findUsers, user -> {
+				started.countDown();
+				await(release);
+			}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(executor.run("insights", FIRED.plusHours(1), this::findUsers, user -> { })).isNull();
+		// Another job is not held up by it
+		assertThat(executor.run("goals", FIRED, this::findUsers, user -> { }).getSucceeded()).isEqualTo(2);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS).getSucceeded()).isEqualTo(2);
+		assertThat(executor.run("insights", FIRED.plusHours(1), this::findUsers, user -> { })).isNotNull();
+	}
+
+	@Test
+	void leavesShardsAnotherNodeCompletedToThatNode() {
+		// Shards of two ids: (0, 2], (2, 4], (4, 6]; another node holds and completes the middle one
+		executor = executor(6, 10_000, 2);
+		String runKey = leaseService.runKey("alerts", FIRED);
+		when(leaseRepository.claim(eq(runKey + "#1"), anyString(), anyLong())).thenReturn(0);
+		when(leaseRepository.findByLeaseNameStartingWith(runKey + "#")).thenReturn(List.of(completedLease(runKey + "#1")));
+		Set<Long> visited = ConcurrentHashMap.newKeySet();
+
+		JobRunSummary summary = executor.run("alerts", FIRED, this::findUsers, user -> visited.add(user.getId()));
+
+		assertThat(visited).containsExactlyInAnyOrder(1L, 2L, 5L, 6L);
+		assertThat(summary.getSucceeded()).isEqualTo(4);
+		verify(leaseRepository).complete(runKey + "#0", "test-node");
+		verify(leaseRepository).complete(runKey + "#2", "test-node");
+	}
+
+	private UserFanOutExecutor executor(int userCount, long userTimeoutMs) {
+		return executor(userCount, userTimeoutMs, 5000);
+	}
+
+	// Pages of two users over two workers, so paging and the bounded queue are both exercised
+	private UserFanOutExecutor executor(int userCount, long userTimeoutMs, long shardWidth) {
+		for (long id = 1; id <= userCount; id++) {
+			User user = new User("fan-out-" + id, "fan-out@example.com", "Fan out");
+			ReflectionTestUtils.setField(user, "id", id);
+			users.add(user);
+		}
+		when(userRepository.findMaxId()).thenReturn((long) userCount);
+		when(leaseRepository.claim(anyString(), anyString(), anyLong())).thenReturn(1);
+		return new UserFanOutExecutor(userRepository, leaseService, meterRegistry, 2, 2, shardWidth, userTimeoutMs);
+	}
+
+	private List<User> findUsers(Long afterId, Long maxId, Pageable pageable) {
+		return users.stream()
+			.filter(user -> user.getId() > afterId && user.getId() <= maxId)
+			.limit(pageable.getPageSize())
+			.toList();
+	}
+
+	private static JobLease completedLease(String name) {
+		JobLease lease = new JobLease();
+		ReflectionTestUtils.setField(lease, "leaseName", name);
+		ReflectionTestUtils.setField(lease, "completedAt", FIRED);
+		return lease;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.ledger;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Statistics for the insight generators computed three ways over the same ledger: boxed
+ * entity-style streams (one stream per statistic, signed amounts), the per-statistic scans
+ * over {@link LedgerColumns}, and the fused single pass in {@link LedgerStatistics}.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=LedgerStatisticsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerStatisticsBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	int rows;
+
+	private List<Row> entities;
+	private LedgerColumns ledger;
+	private YearMonth currentMonth;
+
+	/**
+	 * Stand-in for an Expense or Income entity: expenses carry a negative amount.
+	 */
+	record Row(LocalDate date, double amount, Long categoryId) {
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		LocalDate start = LocalDate.of(2020, 1, 1);
+		// Roughly 30 rows a day, so the ledger spans years at 1M rows
+		int days = Math.max(1, rows / 30);
+		entities = new ArrayList<>(rows);
+		LedgerColumns.Builder builder = new LedgerColumns.Builder();
+		for (int i = 0; i < rows; i++) {
+			LocalDate date = start.plusDays((long) i * days / rows);
+			boolean income = random.nextInt(10) == 0;
+			double amount = Math.round(random.nextDouble(1.0, 500.0) * 100) / 100.0;
+			Long categoryId = income || random.nextInt(20) == 0 ? null : (long) random.nextInt(1, 25);
+			entities.add(new Row(date, income ? amount : -amount, categoryId));
+			builder.add(date, amount, categoryId, income ? "INCOME" : "EXPENSE");
+		}
+		ledger = builder.build();
+		currentMonth = YearMonth.from(start.plusDays(days - 1));
+	}
+
+	@Benchmark
+	public void entityStreams(Blackhole blackhole) {
+		Map<String, Double> byDayOfWeek = entities.stream()
+			.filter(t -> t.amount() < 0)
+			.collect(Collectors.groupingBy(t -> t.date().getDayOfWeek().toString(),
+				Collectors.summingDouble(t -> Math.abs(t.amount()))));
+		Map<Long, Double> byCategory = entities.stream()
+			.filter(t -> t.amount() < 0 && t.categoryId() != null)
+			.collect(Collectors.groupingBy(Row::categoryId, Collectors.summingDouble(t -> Math.abs(t.amount()))));
+		YearMonth previousMonth = currentMonth.minusMonths(1);
+		double current = entities.stream()
+			.filter(t -> t.amount() < 0 && YearMonth.from(t.date()).equals(currentMonth))
+			.mapToDouble(t -> Math.abs(t.amount()))
+			.sum();
+		double previous = entities.stream()
+			.filter(t -> t.amount() < 0 && YearMonth.from(t.date()).equals(previousMonth))
+			.mapToDouble(t -> Math.abs(t.amount()))
+			.sum();
+		double spending = entities.stream().filter(t -> t.amount() < 0).mapToDouble(t -> Math.abs(t.amount())).sum();
+		double income = entities.stream().filter(t -> t.amount() > 0).mapToDouble(Row::amount).sum();
+		double expenses = entities.stream().filter(t -> t.amount() < 0).mapToDouble(t -> Math.abs(t.amount())).sum();
+		blackhole.consume(byDayOfWeek);
+		blackhole.consume(byCategory);
+		blackhole.consume(current + previous + spending + income + expenses);
+	}
+
+	@Benchmark
+	public void columnScans(Blackhole blackhole) {
+		double[] byDayOfWeek = new double[7];
+		double[] byCategory = new double[ledger.categoryCount()];
+		for (int i = 0; i < ledger.size(); i++) {
+			if (ledger.typeAt(i) == LedgerColumns.EXPENSE) {
+				byDayOfWeek[Math.floorMod(ledger.epochDayAt(i) + 3, 7)] += ledger.amountAt(i);
+			}
+		}
+		for (int i = 0; i < ledger.size(); i++) {
+			if (ledger.typeAt(i) == LedgerColumns.EXPENSE && ledger.categoryIndexAt(i) >= 0) {
+				byCategory[ledger.categoryIndexAt(i)] += ledger.amountAt(i);
+			}
+		}
+		YearMonth previousMonth = currentMonth.minusMonths(1);
+		double current = ledger.sum(LedgerColumns.EXPENSE, currentMonth.atDay(1), currentMonth.atEndOfMonth());
+		double previous = ledger.sum(LedgerColumns.EXPENSE, previousMonth.atDay(1), previousMonth.atEndOfMonth());
+		double spending = ledger.sum(LedgerColumns.EXPENSE);
+		double income = ledger.sum(LedgerColumns.INCOME);
+		double expenses = ledger.sum(LedgerColumns.EXPENSE);
+		blackhole.consume(byDayOfWeek);
+		blackhole.consume(byCategory);
+		blackhole.consume(current + previous + spending + income + expenses);
+	}
+
+	@Benchmark
+	public void fusedPass(Blackhole blackhole) {
+		// Bypasses the memo on the ledger so every invocation pays for the pass
+		LedgerStatistics statistics = LedgerStatistics.of(ledger);
+		blackhole.consume(statistics.expenseIn(currentMonth) + statistics.expenseIn(currentMonth.minusMonths(1)));
+		blackhole.consume(statistics.getIncomeTotal() + statistics.getExpenseTotal());
+		blackhole.consume(statistics);
+	}
+}
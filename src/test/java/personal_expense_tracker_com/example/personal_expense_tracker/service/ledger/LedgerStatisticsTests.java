@@ -0,0 +1,45 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.Test;
+
+class LedgerStatisticsTests {
+
+	@Test
+	void fusedPassMatchesPerStatisticSums() {
+		LedgerColumns.Builder builder = new LedgerColumns.Builder();
+		LocalDate start = LocalDate.of(2024, 12, 28);
+		for (int i = 0; i < 120; i++) {
+			LocalDate date = start.plusDays(i / 2);
+			builder.add(date, 10.0 + i, i % 3 == 0 ? null : (long) (i % 4), i % 5 == 0 ? "INCOME" : "EXPENSE");
+		}
+		LedgerColumns ledger = builder.build();
+
+		LedgerStatistics statistics = ledger.statistics();
+
+		assertThat(statistics.getExpenseTotal()).isCloseTo(ledger.sum(LedgerColumns.EXPENSE), within(1e-9));
+		assertThat(statistics.getIncomeTotal()).isCloseTo(ledger.sum(LedgerColumns.INCOME), within(1e-9));
+		for (YearMonth month = YearMonth.of(2024, 11); !month.isAfter(YearMonth.of(2025, 3)); month = month.plusMonths(1)) {
+			assertThat(statistics.expenseIn(month))
+				.isCloseTo(ledger.sum(LedgerColumns.EXPENSE, month.atDay(1), month.atEndOfMonth()), within(1e-9));
+			assertThat(statistics.incomeIn(month))
+				.isCloseTo(ledger.sum(LedgerColumns.INCOME, month.atDay(1), month.atEndOfMonth()), within(1e-9));
+		}
+		for (int index = 0; index < ledger.categoryCount(); index++) {
+			assertThat(statistics.expenseForCategoryIndex(index))
+				.isCloseTo(ledger.sumForCategory(LedgerColumns.EXPENSE, ledger.categoryIdAt(index)), within(1e-9));
+		}
+		double byDay = 0.0;
+		for (DayOfWeek day : DayOfWeek.values()) {
+			byDay += statistics.expenseOn(day);
+		}
+		assertThat(byDay).isCloseTo(statistics.getExpenseTotal(), within(1e-9));
+		assertThat(ledger.statistics()).isSameAs(statistics);
+	}
+}
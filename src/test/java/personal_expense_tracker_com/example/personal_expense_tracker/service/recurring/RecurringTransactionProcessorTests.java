@@ -0,0 +1,134 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.recurring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.RecurringTransaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.recurring.RecurringTransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.transaction.TransactionBatchService;
+
+/**
+ * Runs the processor against H2: catching up several missed periods in one pass, skipping a
+ * template another run has already advanced, and rolling a failed chunk back as a whole.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class RecurringTransactionProcessorTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@MockitoSpyBean
+	private RecurringTransactionRepository recurringTransactionRepository;
+
+	@MockitoSpyBean
+	private TransactionBatchService transactionBatchService;
+
+	@Autowired
+	private RecurringTransactionProcessor processor;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private User user;
+	private RecurringTransaction template;
+
+	@BeforeEach
+	void createTemplate() {
+		user = userRepository.save(new User("recurring-uid-" + System.nanoTime(), "recurring@example.com", "Recurring"));
+		Category rent = categoryRepository.save(new Category("Rent", 0.0, user));
+		template = recurringTransactionRepository.save(new RecurringTransaction("Rent", 900.0, TODAY.minusMonths(2),
+			RecurringTransaction.RecurrencePattern.MONTHLY, rent, RecurringTransaction.TransactionType.EXPENSE, user));
+	}
+
+	@AfterEach
+	void deactivateTemplate() {
+		// Every run scans all due templates, so none may outlive its test
+		RecurringTransaction current = recurringTransactionRepository.findById(template.getId()).orElseThrow();
+		current.setActive(false);
+		recurringTransactionRepository.save(current);
+	}
+
+	@Test
+	void createsEveryMissedOccurrenceInOnePass() {
+		assertThat(processor.processDue(TODAY)).isEqualTo(3);
+
+		assertThat(transactionRepository.findByUser(user)).extracting(Transaction::getDate)
+			.containsExactlyInAnyOrder(TODAY.minusMonths(2), TODAY.minusMonths(1), TODAY);
+		assertThat(nextDueDate()).isEqualTo(TODAY.plusMonths(1));
+
+		assertThat(processor.processDue(TODAY)).isZero();
+		assertThat(transactionRepository.findByUser(user)).hasSize(3);
+	}
+
+	@Test
+	void skipsATemplateAnotherRunAlreadyAdvanced() {
+		// Read before the other run commits, so it still expects the old next_due_date
+		RecurringTransaction stale = recurringTransactionRepository.findById(template.getId()).orElseThrow();
+		assertThat(processor.processDue(TODAY)).isEqualTo(3);
+
+		doReturn(List.of(template.getId())).when(recurringTransactionRepository)
+			.findDueIdsAfter(eq(TODAY), eq(0L), any());
+		doReturn(List.of(stale)).when(recurringTransactionRepository).findDueByIdIn(anyCollection(), eq(TODAY));
+
+		assertThat(processor.processDue(TODAY)).isZero();
+		assertThat(transactionRepository.findByUser(user)).hasSize(3);
+		assertThat(nextDueDate()).isEqualTo(TODAY.plusMonths(1));
+	}
+
+	@Test
+	void rollsBackOccurrencesAndTheAdvanceWhenTheChunkFails() {
+		doAnswer(invocation -> {
+			invocation.callRealMethod();
+			throw new IllegalStateException("Simulated failure after the insert");
+		}).when(transactionBatchService).persistInBatches(anyList(), anyBoolean());
+
+		assertThatThrownBy(() -> processor.processDue(TODAY)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(transactionRepository.findByUser(user)).isEmpty();
+		assertThat(nextDueDate()).isEqualTo(TODAY.minusMonths(2));
+	}
+
+	private LocalDate nextDueDate() {
+		return recurringTransactionRepository.findById(template.getId()).orElseThrow().getNextDueDate();
+	}
+}
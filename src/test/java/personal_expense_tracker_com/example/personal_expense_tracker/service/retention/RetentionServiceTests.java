@@ -0,0 +1,61 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RetentionServiceTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 3, 0);
+
+	@Test
+	void appliesEachTypesMaxAgeWithTheCutoffItselfKept() {
+		RetentionProperties.Table table = new RetentionProperties.Table();
+		table.setDefaults(policy(null, 90));
+		table.getTypes().put("BUDGET_WARNING", policy(null, 30));
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(row(1, "BUDGET_WARNING", NOW.minusDays(30)));
+		rows.add(row(2, "BUDGET_WARNING", NOW.minusDays(30).minusNanos(1)));
+		rows.add(row(3, "UNUSUAL_SPENDING", NOW.minusDays(31)));
+		rows.add(row(4, "UNUSUAL_SPENDING", NOW.minusDays(90)));
+		rows.add(row(5, "UNUSUAL_SPENDING", NOW.minusDays(90).minusSeconds(1)));
+		rows.add(row(6, "UNUSUAL_SPENDING", null));
+
+		assertThat(RetentionService.selectExpired(rows, table, NOW)).containsExactlyInAnyOrder(2L, 5L, 6L);
+	}
+
+	@Test
+	void keepsTheLatestPerTypeAndEnforcesWhicheverLimitIsReachedFirst() {
+		RetentionProperties.Table table = new RetentionProperties.Table();
+		table.getTypes().put("WELCOME", policy(1, null));
+		table.getTypes().put("MONTHLY_SUMMARY", policy(2, 60));
+		List<Object[]> rows = new ArrayList<>();
+		// Same timestamp: the higher id counts as newer
+		rows.add(row(10, "WELCOME", NOW.minusDays(5)));
+		rows.add(row(11, "WELCOME", NOW.minusDays(5)));
+		rows.add(row(12, "WELCOME", null));
+		rows.add(row(20, "MONTHLY_SUMMARY", NOW.minusDays(1)));
+		rows.add(row(21, "MONTHLY_SUMMARY", NOW.minusDays(61)));
+		rows.add(row(22, "MONTHLY_SUMMARY", NOW.minusDays(2)));
+		rows.add(row(23, "MONTHLY_SUMMARY", NOW.minusDays(3)));
+		// No policy of its own and no defaults: kept however old
+		rows.add(row(30, "SPENDING_PATTERN", NOW.minusYears(3)));
+
+		assertThat(RetentionService.selectExpired(rows, table, NOW)).containsExactlyInAnyOrder(10L, 12L, 21L, 23L);
+	}
+
+	private static RetentionProperties.Policy policy(Integer keepLatest, Integer maxAgeDays) {
+		RetentionProperties.Policy policy = new RetentionProperties.Policy();
+		policy.setKeepLatest(keepLatest);
+		policy.setMaxAgeDays(maxAgeDays);
+		return policy;
+	}
+
+	private static Object[] row(long id, String type, LocalDateTime timestamp) {
+		return new Object[] {id, type, timestamp};
+	}
+}
@@ -0,0 +1,176 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.rollup.TransactionRollupRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+/**
+ * Drives the rollup the way writers do, one record* call after each row change, and checks the
+ * buckets against a fresh aggregation of the transactions after every step.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionRollupServiceTests {
+
+	private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private TransactionRollupService rollupService;
+
+	@Autowired
+	private TransactionRollupRepository rollupRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private User user;
+	private Category dining;
+	private Category groceries;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(new User("rollup-uid-" + System.nanoTime(), "rollup@example.com", "Rollup"));
+		dining = categoryRepository.save(new Category("Dining", 0.0, user));
+		groceries = categoryRepository.save(new Category("Groceries", 0.0, user));
+	}
+
+	@Test
+	void keepsBucketsInStepThroughAddsUpdatesAndDeletes() {
+		Transaction lunch = add(new Expense(12.0, "Lunch", MARCH.plusDays(2), dining, user));
+		add(new Expense(30.0, "Dinner", MARCH.plusDays(9), dining, user));
+		Transaction market = add(new Expense(45.0, "Market", MARCH.plusDays(4), groceries, user));
+		assertThat(bucketTotal(MARCH, dining)).contains(42.0);
+		assertThat(rollupService.verify(user).isConsistent()).isTrue();
+
+		// Moved to April: both months' buckets are recomputed
+		RollupKey before = RollupKey.of(lunch);
+		lunch.setDate(MARCH.plusMonths(1).plusDays(2));
+		lunch = update(lunch, before);
+		assertThat(bucketTotal(MARCH, dining)).contains(30.0);
+		assertThat(bucketTotal(MARCH.plusMonths(1), dining)).contains(12.0);
+		assertThat(rollupService.verify(user).isConsistent()).isTrue();
+
+		// Recategorized: the groceries bucket empties and its row goes
+		before = RollupKey.of(market);
+		market.setCategory(dining);
+		update(market, before);
+		assertThat(bucketTotal(MARCH, groceries)).isEmpty();
+		assertThat(bucketTotal(MARCH, dining)).contains(75.0);
+		assertThat(rollupService.verify(user).isConsistent()).isTrue();
+
+		// The last row of April's bucket goes with its row
+		before = RollupKey.of(lunch);
+		transactionRepository.deleteById(lunch.getId());
+		rollupService.recordRemoved(before);
+		assertThat(bucketTotal(MARCH.plusMonths(1), dining)).isEmpty();
+
+		RollupVerification verification = rollupService.verify(user);
+		assertThat(verification.isConsistent()).isTrue();
+		assertThat(verification.getBucketsChecked()).isEqualTo(1);
+	}
+
+	@Test
+	void verifyReportsDriftAndRebuildRepairsIt() {
+		add(new Expense(20.0, "Lunch", MARCH.plusDays(1), dining, user));
+		// Written without its rollup call, as a writer that bypasses the service would
+		transactionRepository.save(new Expense(5.0, "Coffee", MARCH.plusDays(3), dining, user));
+		transactionRepository.save(new Income(900.0, "Pay", MARCH.plusDays(5), null, user));
+
+		RollupVerification drifted = rollupService.verify(user);
+		assertThat(drifted.isConsistent()).isFalse();
+		assertThat(drifted.getMismatches()).hasSize(2)
+			.anyMatch(mismatch -> mismatch.endsWith("missing rollup row"))
+			.anyMatch(mismatch -> mismatch.contains("rollup has sum=20.00 count=1, transactions have sum=25.00 count=2"));
+
+		assertThat(rollupService.rebuild(user)).isEqualTo(2);
+		assertThat(rollupService.verify(user).isConsistent()).isTrue();
+		assertThat(bucketTotal(MARCH, dining)).contains(25.0);
+	}
+
+	@Test
+	void sumBetweenMatchesARawSumAcrossPartialEdgeMonths() {
+		LocalDate january = LocalDate.of(2026, 1, 1);
+		for (int day = 0; day < 120; day += 3) {
+			add(new Expense(10.0 + day, "Shop " + day, january.plusDays(day), day % 2 == 0 ? dining : groceries, user));
+			if (day % 15 == 0) {
+				add(new Income(500.0 + day, "Pay " + day, january.plusDays(day), null, user));
+			}
+		}
+
+		// Partial first and last months around whole ones, both edges inside one month, whole months only
+		LocalDate[][] ranges = {
+			{LocalDate.of(2026, 1, 10), LocalDate.of(2026, 4, 20)},
+			{LocalDate.of(2026, 2, 3), LocalDate.of(2026, 2, 25)},
+			{LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 31)},
+			{LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 1)}
+		};
+		for (LocalDate[] range : ranges) {
+			assertThat(rollupService.sumBetween(user, "EXPENSE", range[0], range[1]))
+				.as("expenses %s..%s", range[0], range[1])
+				.isEqualTo(rawSum("EXPENSE", range[0], range[1]));
+			assertThat(rollupService.sumBetween(user, "INCOME", range[0], range[1]))
+				.as("income %s..%s", range[0], range[1])
+				.isEqualTo(rawSum("INCOME", range[0], range[1]));
+		}
+		assertThat(rollupService.sumBetween(user, "EXPENSE", MARCH, MARCH.minusDays(1))).isZero();
+	}
+
+	private Transaction add(Transaction transaction) {
+		Transaction saved = transactionRepository.save(transaction);
+		rollupService.recordAdded(saved);
+		return saved;
+	}
+
+	private Transaction update(Transaction transaction, RollupKey before) {
+		Transaction saved = transactionRepository.save(transaction);
+		rollupService.recordUpdated(before, saved);
+		return saved;
+	}
+
+	private Optional<Double> bucketTotal(LocalDate monthStart, Category category) {
+		return rollupRepository.findBucketTotal(user.getId(), monthStart, category.getId(), "EXPENSE");
+	}
+
+	private double rawSum(String type, LocalDate start, LocalDate end) {
+		return jdbcTemplate.queryForObject(
+			"SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND transaction_type = ? AND date BETWEEN ? AND ?",
+			Double.class, user.getId(), type, start, end);
+	}
+}
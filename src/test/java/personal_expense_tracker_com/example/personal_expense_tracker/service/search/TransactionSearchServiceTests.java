@@ -0,0 +1,123 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.expense.ExpenseService;
+
+/**
+ * Indexes expenses through {@link ExpenseService} and searches them, checking that ranking,
+ * false-positive filtering and paging all happen before rows are loaded.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionSearchServiceTests {
+
+	private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private TransactionSearchService searchService;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private User user;
+	private Category category;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(new User("search-uid-" + System.nanoTime(), "search@example.com", "Search"));
+		category = categoryRepository.save(new Category("Food", 0.0, user));
+	}
+
+	@Test
+	void ranksExactWordsThenPrefixesThenSubstringsNewestFirst() {
+		add("Icedcoffee to go", 1);
+		add("Iced-coffee", 0);
+		add("Coffeehouse", 2);
+		add("Coffee beans", 3);
+		add("COFFEE, again", 4);
+		add("Tea", 5);
+
+		TransactionSearchPage page = searchService.search(user, "coffee", 0, 10);
+
+		assertThat(page.getTotal()).isEqualTo(5);
+		assertThat(page.getTransactions()).extracting(Transaction::getDescription)
+			.containsExactly("COFFEE, again", "Coffee beans", "Iced-coffee", "Coffeehouse", "Icedcoffee to go");
+	}
+
+	@Test
+	void filtersTrigramFalsePositivesAndMatchesShortTermsAsPrefixes() {
+		// Holds the grams of "abcd" without the word
+		add("abc bcd", 1);
+		add("abcd", 2);
+		add("Taco", 3);
+		add("Cola", 4);
+
+		assertThat(searchService.search(user, "abcd", 0, 10).getTransactions())
+			.extracting(Transaction::getDescription).containsExactly("abcd");
+		assertThat(searchService.search(user, "co", 0, 10).getTransactions())
+			.extracting(Transaction::getDescription).containsExactly("Cola");
+		assertThat(searchService.search(user, "cola abcd", 0, 10).getTotal()).isZero();
+	}
+
+	@Test
+	void pagesInTheDatabaseWithTheFullMatchCount() {
+		for (int day = 1; day <= 5; day++) {
+			add("Lunch " + day, day);
+		}
+
+		TransactionSearchPage second = searchService.search(user, "lunch", 1, 2);
+
+		assertThat(second.getTotal()).isEqualTo(5);
+		assertThat(second.getTransactions()).extracting(Transaction::getDescription)
+			.containsExactly("Lunch 3", "Lunch 2");
+		assertThat(searchService.search(user, "lunch", 3, 2).getTransactions()).isEmpty();
+	}
+
+	@Test
+	void returnsEveryMatchUnpagedForTheDescriptionEndpoints() {
+		for (int day = 1; day <= 3; day++) {
+			add("Uber-Coffee " + day, day);
+		}
+		add("Tea", 4);
+
+		assertThat(searchService.searchAll(user, "co")).extracting(Transaction::getDescription)
+			.containsExactly("Uber-Coffee 3", "Uber-Coffee 2", "Uber-Coffee 1");
+		assertThat(expenseService.getExpensesByDescription("uber coffee", user)).hasSize(3);
+		assertThat(searchService.searchAll(user, "x")).isEmpty();
+	}
+
+	private void add(String description, int day) {
+		expenseService.addExpense(new Expense(10.0, description, MARCH.plusDays(day), category, user));
+	}
+}
@@ -0,0 +1,151 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.transaction.TransactionRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+/**
+ * Bulk ingest against H2 with a JDBC batch of three rows, so a small request already spans
+ * several flush-and-clear rounds.
+ */
+@SpringBootTest(properties = {
+	"transactions.batch.jdbc-batch-size=3",
+	"transactions.batch.max-rows=10"
+})
+@ActiveProfiles("h2")
+class TransactionBatchServiceTests {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 2, 10);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private TransactionBatchService transactionBatchService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private User user;
+	private Category groceries;
+	private Category salary;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(new User("batch-uid-" + System.nanoTime(), "batch@example.com", "Batch"));
+		groceries = categoryRepository.save(new Category("Groceries", 0.0, user));
+		salary = categoryRepository.save(new Category("Salary", 0.0, user));
+	}
+
+	@Test
+	void persistsRowsAcrossSeveralJdbcBatches() {
+		List<Transaction> rows = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			rows.add(i % 3 == 2
+				? new Income(1000.0 + i, "Pay " + i, DAY.plusDays(i), salary, null)
+				: new Expense(10.0 + i, "Shop " + i, DAY.plusDays(i), groceries, null));
+		}
+
+		BatchIngestResult result = transactionBatchService.ingest(rows, user);
+
+		assertThat(result.getCreated()).isEqualTo(7);
+		assertThat(result.getRejected()).isZero();
+		List<Long> ids = result.getResults().stream().map(BatchRowResult::getId).toList();
+		// One pooled id block covers the request, handed out in request order
+		assertThat(ids).isSorted().doesNotHaveDuplicates();
+		assertThat(ids.get(6) - ids.get(0)).isEqualTo(6);
+
+		List<Transaction> stored = new ArrayList<>(transactionRepository.findByUser(user));
+		stored.sort(Comparator.comparing(Transaction::getId));
+		assertThat(stored).extracting(Transaction::getId, Transaction::getType, Transaction::getAmount,
+				transaction -> transaction.getCategory().getId())
+			.containsExactly(
+				tuple(ids.get(0), "EXPENSE", 10.0, groceries.getId()),
+				tuple(ids.get(1), "EXPENSE", 11.0, groceries.getId()),
+				tuple(ids.get(2), "INCOME", 1002.0, salary.getId()),
+				tuple(ids.get(3), "EXPENSE", 13.0, groceries.getId()),
+				tuple(ids.get(4), "EXPENSE", 14.0, groceries.getId()),
+				tuple(ids.get(5), "INCOME", 1005.0, salary.getId()),
+				tuple(ids.get(6), "EXPENSE", 16.0, groceries.getId()));
+	}
+
+	@Test
+	void rejectsInvalidRowsByPositionAndKeepsTheRest() {
+		User other = userRepository.save(new User("batch-other-" + System.nanoTime(), "other@example.com", "Other"));
+		Category foreign = categoryRepository.save(new Category("Groceries", 0.0, other));
+		List<Transaction> rows = Arrays.asList(
+			new Expense(12.0, "Kept", DAY, groceries, null),
+			null,
+			new Expense(12.0, "No category", DAY, null, null),
+			new Expense(12.0, "Someone else's category", DAY, foreign, null),
+			new Expense(12.0, "No date", null, groceries, null),
+			new Expense(0.0, "Zero", DAY, groceries, null),
+			new Expense(Double.NaN, "Not a number", DAY, groceries, null),
+			new Income(50.0, "Also kept", DAY, salary, null));
+
+		BatchIngestResult result = transactionBatchService.ingest(rows, user);
+
+		assertThat(result.getCreated()).isEqualTo(2);
+		assertThat(result.getRejected()).isEqualTo(6);
+		assertThat(result.getResults()).extracting(BatchRowResult::getIndex, BatchRowResult::getStatus, BatchRowResult::getError)
+			.containsExactly(
+				tuple(0, BatchRowResult.Status.CREATED, null),
+				tuple(1, BatchRowResult.Status.REJECTED, "Row is empty"),
+				tuple(2, BatchRowResult.Status.REJECTED, "No category provided"),
+				tuple(3, BatchRowResult.Status.REJECTED, "Category not found: " + foreign.getId()),
+				tuple(4, BatchRowResult.Status.REJECTED, "Date is required"),
+				tuple(5, BatchRowResult.Status.REJECTED, "Amount must be a positive number"),
+				tuple(6, BatchRowResult.Status.REJECTED, "Amount must be a positive number"),
+				tuple(7, BatchRowResult.Status.CREATED, null));
+		assertThat(transactionRepository.findByUser(user)).extracting(Transaction::getDescription)
+			.containsExactlyInAnyOrder("Kept", "Also kept");
+		assertThat(transactionRepository.findByUser(other)).isEmpty();
+	}
+
+	@Test
+	void refusesARequestOverTheRowLimit() {
+		List<Transaction> rows = new ArrayList<>();
+		for (int i = 0; i < 11; i++) {
+			rows.add(new Expense(5.0, "Row " + i, DAY, groceries, null));
+		}
+
+		assertThatThrownBy(() -> transactionBatchService.ingest(rows, user))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Batch has 11 rows; the limit is 10");
+		assertThat(transactionRepository.findByUser(user)).isEmpty();
+	}
+}
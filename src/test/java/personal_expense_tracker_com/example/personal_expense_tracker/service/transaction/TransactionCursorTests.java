@@ -0,0 +1,59 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+
+class TransactionCursorTests {
+
+	private final Expense last = expense(12.5, LocalDate.of(2026, 3, 2), 7L);
+
+	@Test
+	void ledgerCursorsKeepTheDateIdFormat() {
+		String encoded = TransactionCursor.after(last).encode();
+
+		assertThat(new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8)).isEqualTo("2026-03-02:7");
+		TransactionCursor decoded = TransactionCursor.decode(encoded, TransactionFilter.Sort.DATE_DESC);
+		assertThat(decoded.getDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+		assertThat(decoded.getId()).isEqualTo(7L);
+	}
+
+	@Test
+	void carriesTheSortKeyOfOtherOrders() {
+		TransactionCursor byAmount = TransactionCursor.decode(
+			TransactionCursor.after(last, TransactionFilter.Sort.AMOUNT_ASC).encode(), TransactionFilter.Sort.AMOUNT_ASC);
+		TransactionCursor byDate = TransactionCursor.decode(
+			TransactionCursor.after(last, TransactionFilter.Sort.DATE_ASC).encode(), TransactionFilter.Sort.DATE_ASC);
+
+		assertThat(byAmount.getValue()).isEqualTo(12.5);
+		assertThat(byAmount.getId()).isEqualTo(7L);
+		assertThat(byDate.getValue()).isEqualTo(LocalDate.of(2026, 3, 2));
+	}
+
+	@Test
+	void rejectsACursorFromAnotherOrder() {
+		String amountCursor = TransactionCursor.after(last, TransactionFilter.Sort.AMOUNT_DESC).encode();
+		String ledgerCursor = TransactionCursor.after(last).encode();
+
+		assertThatThrownBy(() -> TransactionCursor.decode(amountCursor))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TransactionCursor.decode(ledgerCursor, TransactionFilter.Sort.DATE_ASC))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> TransactionCursor.decode("not a cursor"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Expense expense(double amount, LocalDate date, Long id) {
+		Expense expense = new Expense(amount, "Lunch", date, null, null);
+		ReflectionTestUtils.setField(expense, "id", id);
+		return expense;
+	}
+}
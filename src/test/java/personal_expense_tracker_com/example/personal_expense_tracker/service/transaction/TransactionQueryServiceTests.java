@@ -0,0 +1,104 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Category;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Expense;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Income;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.Transaction;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.category.CategoryRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.expense.ExpenseService;
+import personal_expense_tracker_com.example.personal_expense_tracker.service.income.IncomeService;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionQueryServiceTests {
+
+	private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private TransactionQueryService queryService;
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private IncomeService incomeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private User user;
+	private Category category;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(new User("query-uid-" + System.nanoTime(), "query@example.com", "Query"));
+		category = categoryRepository.save(new Category("Food", 0.0, user));
+	}
+
+	@Test
+	void matchesShortTermsAtWordStartsAfterAnySeparator() {
+		expenseService.addExpense(new Expense(4.0, "Uber-Coffee", MARCH, category, user));
+		expenseService.addExpense(new Expense(5.0, "coffee", MARCH.plusDays(1), category, user));
+		expenseService.addExpense(new Expense(6.0, "Taco", MARCH.plusDays(2), category, user));
+		incomeService.addIncome(new Income(7.0, "Co-op dividend", MARCH.plusDays(3), category, user));
+
+		assertThat(queryService.query(filter("co", null), user).getTransactions())
+			.extracting(Transaction::getDescription).containsExactly("Co-op dividend", "coffee", "Uber-Coffee");
+		assertThat(queryService.query(filter("uber co", "EXPENSE"), user).getTransactions())
+			.extracting(Transaction::getDescription).containsExactly("Uber-Coffee");
+	}
+
+	@Test
+	void pagesTextMatchesByAmountWithTheCursor() {
+		for (int i = 1; i <= 5; i++) {
+			expenseService.addExpense(new Expense(10.0 * i, "Lunch/" + i, MARCH.plusDays(i), category, user));
+		}
+		TransactionFilter filter = filter("lunch", null);
+		filter.setSort(TransactionFilter.Sort.AMOUNT_ASC);
+		filter.setLimit(2);
+
+		List<Double> amounts = new ArrayList<>();
+		TransactionPage page;
+		do {
+			page = queryService.query(filter, user);
+			page.getTransactions().forEach(transaction -> amounts.add(transaction.getAmount()));
+			filter.setCursor(page.getNextCursor());
+		} while (page.getNextCursor() != null);
+
+		assertThat(amounts).containsExactly(10.0, 20.0, 30.0, 40.0, 50.0);
+	}
+
+	private static TransactionFilter filter(String text, String type) {
+		TransactionFilter filter = new TransactionFilter();
+		filter.setText(text);
+		filter.setType(type);
+		return filter;
+	}
+}
@@ -0,0 +1,44 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+
+class UserCacheTests {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final UserCache cache = new UserCache(2, Duration.ofSeconds(60), meterRegistry, clock::get);
+
+	@Test
+	void entriesExpireAfterTheTtlEvenWithoutLocalEviction() {
+		// Another node deactivates the user; this node's copy must not outlive the TTL
+		cache.put(new User("ttl-uid", "ttl@example.com", "Before"));
+
+		clock.set(Duration.ofSeconds(59).toNanos());
+		assertThat(cache.get("ttl-uid")).isNotNull();
+
+		clock.set(Duration.ofSeconds(60).toNanos());
+		assertThat(cache.get("ttl-uid")).isNull();
+		assertThat(cache.size()).isZero();
+		assertThat(meterRegistry.counter("users.cache", "result", "hit").count()).isEqualTo(1.0);
+		assertThat(meterRegistry.counter("users.cache", "result", "miss").count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void reloadingRestartsTheTtl() {
+		cache.put(new User("ttl-uid", "ttl@example.com", "Before"));
+		clock.set(Duration.ofSeconds(50).toNanos());
+		cache.put(new User("ttl-uid", "ttl@example.com", "After"));
+
+		clock.set(Duration.ofSeconds(100).toNanos());
+		assertThat(cache.get("ttl-uid").getDisplayName()).isEqualTo("After");
+	}
+}
@@ -0,0 +1,100 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+/**
+ * The change marker against H2: marked users are processed once, and a mark survives a failed
+ * run or a write that lands while the run is in progress.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserChangeTrackerTests {
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private UserChangeTracker changeTracker;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private User user;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(new User("change-uid-" + System.nanoTime(), "change@example.com", "Change"));
+	}
+
+	@Test
+	void skipsUnmarkedUsersAndProcessesAMarkOnce() {
+		List<User> processed = new ArrayList<>();
+
+		assertThat(changeTracker.processIfChanged(user, processed::add)).isFalse();
+
+		changeTracker.markChanged(user);
+		changeTracker.markChanged(user);
+		assertThat(changeTracker.processIfChanged(user, processed::add)).isTrue();
+		assertThat(changeTracker.processIfChanged(user, processed::add)).isFalse();
+		assertThat(processed).hasSize(1);
+	}
+
+	@Test
+	void keepsTheMarkWhenAWriteArrivesDuringTheRun() {
+		changeTracker.markChanged(user);
+
+		assertThat(changeTracker.processIfChanged(user, processing -> changeTracker.markChanged(processing))).isTrue();
+
+		assertThat(changeTracker.processIfChanged(user, processing -> { })).isTrue();
+		assertThat(changeTracker.processIfChanged(user, processing -> { })).isFalse();
+	}
+
+	@Test
+	void keepsTheMarkWhenTheRunFails() {
+		changeTracker.markChanged(user);
+
+		assertThatThrownBy(() -> changeTracker.processIfChanged(user, processing -> {
+			throw new IllegalStateException("Simulated failure");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(changeTracker.processIfChanged(user, processing -> { })).isTrue();
+	}
+
+	@Test
+	void listsOnlyMarkedActiveUsersInTheRange() {
+		userRepository.save(new User("change-unmarked-" + System.nanoTime(), "unmarked@example.com", "Unmarked"));
+		User inactive = userRepository.save(new User("change-inactive-" + System.nanoTime(), "inactive@example.com", "Inactive"));
+		inactive.setActive(false);
+		userRepository.save(inactive);
+		User later = userRepository.save(new User("change-later-" + System.nanoTime(), "later@example.com", "Later"));
+		changeTracker.markChanged(user);
+		changeTracker.markChanged(inactive);
+		changeTracker.markChanged(later);
+
+		assertThat(changeTracker.findChangedActiveUsers(user.getId() - 1, later.getId(), PageRequest.of(0, 10)))
+			.extracting(User::getId).containsExactly(user.getId(), later.getId());
+		assertThat(changeTracker.findChangedActiveUsers(user.getId() - 1, later.getId() - 1, PageRequest.of(0, 10)))
+			.extracting(User::getId).containsExactly(user.getId());
+	}
+}
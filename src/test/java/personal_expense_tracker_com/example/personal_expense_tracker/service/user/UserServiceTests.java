@@ -0,0 +1,115 @@
+package personal_expense_tracker_com.example.personal_expense_tracker.service.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseConfig;
+import personal_expense_tracker_com.example.personal_expense_tracker.FirebaseInitializer;
+import personal_expense_tracker_com.example.personal_expense_tracker.entity.User;
+import personal_expense_tracker_com.example.personal_expense_tracker.repository.user.UserRepository;
+
+/**
+ * First logins against H2: racing requests on two application instances, each inside a caller
+ * transaction that has already looked the user up, end with one row and one id.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserServiceTests {
+
+	// Both need a service-account file that is not on the test classpath
+	@MockitoBean
+	private FirebaseConfig firebaseConfig;
+
+	@MockitoBean
+	private FirebaseInitializer firebaseInitializer;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void concurrentFirstLoginsOnTwoInstancesCreateOneUser() throws Exception {
+		String uid = "first-login-uid-" + System.nanoTime();
+		UserService[] instances = {userService, otherInstance()};
+		TransactionTemplate callerTransaction = new TransactionTemplate(transactionManager);
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		List<Future<User>> logins = new ArrayList<>();
+		try {
+			for (int i = 0; i < 8; i++) {
+				UserService instance = instances[i % 2];
+				logins.add(pool.submit(() -> callerTransaction.execute(status -> {
+					userRepository.findByFirebaseUid(uid);
+					await(start);
+					return instance.getOrCreateUser(uid, "first@example.com", "First");
+				})));
+			}
+			start.countDown();
+
+			List<Long> ids = new ArrayList<>();
+			for (Future<User> login : logins) {
+				ids.add(login.get().getId());
+			}
+			assertThat(ids).containsOnly(ids.get(0));
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(userRepository.findAll()).filteredOn(user -> uid.equals(user.getFirebaseUid())).hasSize(1);
+	}
+
+	@Test
+	void keepsTheNewUserWhenTheCallerRollsBack() {
+		String uid = "rollback-uid-" + System.nanoTime();
+
+		User created = new TransactionTemplate(transactionManager).execute(status -> {
+			User user = userService.getOrCreateUser(uid, "rollback@example.com", "Rollback");
+			status.setRollbackOnly();
+			return user;
+		});
+
+		// The cache already holds this user, so the row must still be there
+		assertThat(userRepository.findByFirebaseUid(uid)).get().extracting(User::getId).isEqualTo(created.getId());
+	}
+
+	private UserService otherInstance() {
+		UserService other = new UserService();
+		ReflectionTestUtils.setField(other, "userRepository", userRepository);
+		ReflectionTestUtils.setField(other, "userCache",
+			new UserCache(100, Duration.ofSeconds(60), new SimpleMeterRegistry(), System::nanoTime));
+		ReflectionTestUtils.setField(other, "transactionManager", transactionManager);
+		return other;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
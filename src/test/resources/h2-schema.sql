@@ -0,0 +1,9 @@
+DROP TABLE IF EXISTS transaction_search_grams;
+CREATE TABLE transaction_search_grams (
+    user_id BIGINT NOT NULL,
+    gram VARCHAR(3) NOT NULL,
+    transaction_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, gram, transaction_id),
+    FOREIGN KEY (transaction_id) REFERENCES transactions(id) ON DELETE CASCADE
+);
+CREATE INDEX idx_search_grams_transaction ON transaction_search_grams (transaction_id);